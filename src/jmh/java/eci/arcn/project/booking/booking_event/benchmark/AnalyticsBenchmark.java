@@ -0,0 +1,114 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.analytics.BookingAnalytics;
+import eci.arcn.project.booking.booking_event.analytics.BookingStats;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+
+/**
+ * Benchmarks a month of analytics over every room, read from the running aggregates,
+ * against the same totals computed by scanning the store.
+ *
+ * The store holds storeSize one-night bookings over {@value BookingFixtures#ROOMS} rooms,
+ * a tenth of them cancelled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class AnalyticsBenchmark {
+
+    private static final Instant FIRST_DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    private static final int QUERY_DAYS = 30;
+
+    @Param({"100000", "1000000"})
+    public int storeSize;
+
+    private BookingRepository bookingRepository;
+
+    private BookingAnalytics analytics;
+
+    private int days;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingRepository = BookingFixtures.newRepository("in-memory");
+        for (int i = 0; i < storeSize; i++) {
+            Booking booking = BookingFixtures.booking(i, storeSize);
+            if (i % 10 == 0) {
+                booking.setBookingState(BookingState.CANCELLED);
+                booking.setRefundAmount(booking.getAmount());
+            }
+            bookingRepository.save(booking);
+        }
+        analytics = new BookingAnalytics();
+        for (BookingState state : BookingState.values()) {
+            analytics.load(bookingRepository.findByState(state));
+        }
+        days = Math.max(1, storeSize / BookingFixtures.ROOMS - QUERY_DAYS);
+    }
+
+    @Benchmark
+    public BookingStats summaryFromAggregates() {
+        Instant from = randomDay();
+        return analytics.summary(null, from, from.plus(Duration.ofDays(QUERY_DAYS)));
+    }
+
+    @Benchmark
+    public Map<LocalDate, BookingStats> dailyFromAggregates() {
+        Instant from = randomDay();
+        return analytics.statsByDay(null, from, from.plus(Duration.ofDays(QUERY_DAYS)));
+    }
+
+    /**
+     * The revenue and occupied nights of the month, computed by scanning every booking.
+     */
+    @Benchmark
+    public double[] summaryByScanning() {
+        Instant from = randomDay();
+        Instant to = from.plus(Duration.ofDays(QUERY_DAYS));
+        double[] totals = new double[2];
+        for (BookingState state : BookingState.values()) {
+            for (Booking booking : bookingRepository.findByState(state)) {
+                if (!booking.getStartDate().isBefore(from) && booking.getStartDate().isBefore(to)) {
+                    if (state == BookingState.CONFIRMED || state == BookingState.CANCELLED) {
+                        totals[0] += booking.getAmount()
+                                - (booking.getRefundAmount() == null ? 0 : booking.getRefundAmount());
+                    }
+                    if (state.holdsRoom()) {
+                        totals[1]++;
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    private Instant randomDay() {
+        return FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(days)));
+    }
+}
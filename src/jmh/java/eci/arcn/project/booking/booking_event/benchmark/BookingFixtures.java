@@ -0,0 +1,109 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.repository.columnar.ColumnarBookingRepository;
+
+/**
+ * Shared data set used by the benchmarks.
+ *
+ * Bookings are spread over {@value #ROOMS} rooms with consecutive one-day stays, and
+ * every user owns {@value #BOOKINGS_PER_USER} of them.
+ */
+public final class BookingFixtures {
+
+    public static final int ROOMS = 1_000;
+
+    public static final int BOOKINGS_PER_USER = 10;
+
+    private static final Instant FIRST_DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    private BookingFixtures() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates an empty repository of the given implementation.
+     *
+     * @param name the implementation name used as benchmark parameter
+     * @return a new repository
+     */
+    public static BookingRepository newRepository(String name) {
+        switch (name) {
+            case "in-memory":
+                return new InMemoryBookingRepository();
+            case "columnar":
+                return new ColumnarBookingRepository();
+            default:
+                throw new IllegalArgumentException("Unknown repository: " + name);
+        }
+    }
+
+    /**
+     * Fills a repository with bookings 0 to size - 1.
+     *
+     * @param repository the repository to fill
+     * @param size the number of bookings
+     */
+    public static void populate(BookingRepository repository, int size) {
+        for (int i = 0; i < size; i++) {
+            repository.save(booking(i, size));
+        }
+    }
+
+    /**
+     * Builds the i-th booking of a data set.
+     *
+     * @param i the booking number
+     * @param size the size of the data set, used to derive the number of users
+     * @return a pending booking
+     */
+    public static Booking booking(int i, int size) {
+        int user = i % Math.max(1, size / BOOKINGS_PER_USER);
+        Instant start = FIRST_DAY.plus(Duration.ofDays(i / ROOMS));
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId(i));
+        booking.setCreatedDate(FIRST_DAY);
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofDays(1)));
+        booking.setRoomId("room-" + i % ROOMS);
+        booking.setAmount(100.0 + i % 50);
+        booking.setClient(client(user));
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+
+    /**
+     * Returns the ID of the i-th booking of a data set.
+     *
+     * @param i the booking number
+     * @return the booking ID
+     */
+    public static String bookingId(int i) {
+        return new UUID(0L, i).toString();
+    }
+
+    /**
+     * Builds the client of the given user number.
+     *
+     * @param user the user number
+     * @return the client
+     */
+    public static Client client(int user) {
+        Client client = new Client();
+        client.setUserId("user-" + user);
+        client.setName("User " + user);
+        client.setUserEmail("user-" + user + "@example.com");
+        client.setUserPersonalId(user + 1);
+        client.setCellphone(300_000_000 + user);
+        return client;
+    }
+}
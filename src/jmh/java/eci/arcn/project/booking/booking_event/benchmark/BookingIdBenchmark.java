@@ -0,0 +1,76 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.id.BookingIdGenerator;
+import eci.arcn.project.booking.booking_event.id.RandomBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+
+/**
+ * Compares the booking ID generators: raw generation rate, and insert rate into an
+ * ordered index already holding {@code indexSize} IDs (a skip list standing in for
+ * the primary key B-tree, keyed by the canonical string like the VARCHAR column).
+ *
+ * Run with several thread counts through the JMH "-t" option to observe contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingIdBenchmark {
+
+    @Param({"random", "time-ordered"})
+    public String generator;
+
+    @Param({"1000000"})
+    public int indexSize;
+
+    private BookingIdGenerator idGenerator;
+
+    private ConcurrentSkipListMap<String, Boolean> index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        idGenerator = "random".equals(generator)
+                ? new RandomBookingIdGenerator()
+                : new TimeOrderedBookingIdGenerator();
+    }
+
+    /**
+     * Rebuilds the index every iteration so that its size stays close to indexSize.
+     */
+    @Setup(Level.Iteration)
+    public void fillIndex() {
+        index = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < indexSize; i++) {
+            index.put(idGenerator.nextId().toString(), Boolean.TRUE);
+        }
+    }
+
+    @Benchmark
+    public UUID nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    public Boolean insertIntoIndex() {
+        return index.put(idGenerator.nextId().toString(), Boolean.TRUE);
+    }
+}
@@ -0,0 +1,75 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import eci.arcn.project.booking.booking_event.dto.BookingResponse;
+import eci.arcn.project.booking.booking_event.facade.BookingJsonWriter;
+import eci.arcn.project.booking.booking_event.facade.BookingMapper;
+import eci.arcn.project.booking.booking_event.model.Booking;
+
+/**
+ * Benchmarks the response path of the list endpoints: mapping bookings to DTOs and
+ * serializing them with Jackson, configured like the Spring Boot default mapper, against
+ * writing the same JSON straight from the bookings with {@link BookingJsonWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int listSize;
+
+    private List<Booking> bookings;
+
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookings = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            bookings.add(BookingFixtures.booking(i, listSize));
+        }
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public List<BookingResponse> toBookingResponseList() {
+        return BookingMapper.toBookingResponseList(bookings);
+    }
+
+    @Benchmark
+    public byte[] toBookingResponseListAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(BookingMapper.toBookingResponseList(bookings));
+    }
+
+    @Benchmark
+    public byte[] writeBookingList() {
+        return BookingJsonWriter.toJson(bookings);
+    }
+}
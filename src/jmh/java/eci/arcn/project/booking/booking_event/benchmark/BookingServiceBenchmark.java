@@ -0,0 +1,122 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import eci.arcn.project.booking.booking_event.id.PassThroughBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks the write paths of BookingServiceImpl against a pre-filled store.
+ *
+ * Run with several thread counts through the JMH "-t" option to observe contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class BookingServiceBenchmark {
+
+    private static final Instant NEW_BOOKINGS_START = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int storeSize;
+
+    @Param({"in-memory", "columnar"})
+    public String repository;
+
+    private BookingRepository bookingRepository;
+
+    private BookingServiceImpl bookingService;
+
+    private final AtomicLong createdCount = new AtomicLong();
+
+    private final AtomicInteger cancellingThreads = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingRepository = BookingFixtures.newRepository(repository);
+        BookingFixtures.populate(bookingRepository, storeSize);
+        bookingService = new BookingServiceImpl(bookingRepository, event -> { },
+                new BookingMetrics(new SimpleMeterRegistry()), new TimeOrderedBookingIdGenerator(),
+                new PassThroughBookingIdFilter());
+    }
+
+    /**
+     * Creates bookings on free slots: every call gets its own room and day.
+     */
+    @Benchmark
+    public String createBooking() {
+        long n = createdCount.getAndIncrement();
+        Instant start = NEW_BOOKINGS_START.plus(Duration.ofDays(n / BookingFixtures.ROOMS));
+
+        Booking booking = new Booking();
+        booking.setRoomId("room-" + n % BookingFixtures.ROOMS);
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofDays(1)));
+        booking.setAmount(120.0);
+        booking.setClient(BookingFixtures.client((int) (n % 1_000)));
+        return bookingService.createBooking(booking);
+    }
+
+    /**
+     * Cancels a random booking of the pre-filled store, taken from the range of the
+     * calling thread so that concurrent threads never cancel the same booking. A
+     * cancelled booking cannot be cancelled again, so the booking is first saved back as
+     * pending; that save is part of the score.
+     */
+    @Benchmark
+    public void cancelBooking(CancelRange range) {
+        int i = range.next();
+        bookingRepository.save(BookingFixtures.booking(i, storeSize));
+        bookingService.cancelBooking(BookingFixtures.bookingId(i));
+    }
+
+    /**
+     * Disjoint slice of the pre-filled bookings owned by one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class CancelRange {
+
+        private int from;
+
+        private int size;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingServiceBenchmark benchmark, BenchmarkParams params) {
+            int threads = params.getThreads();
+            int index = benchmark.cancellingThreads.getAndIncrement();
+            size = benchmark.storeSize / threads;
+            from = index * size;
+        }
+
+        int next() {
+            return from + ThreadLocalRandom.current().nextInt(size);
+        }
+    }
+}
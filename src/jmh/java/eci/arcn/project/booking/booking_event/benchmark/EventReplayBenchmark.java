@@ -0,0 +1,111 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.eventlog.BookingEventLog;
+import eci.arcn.project.booking.booking_event.eventlog.BookingProjection;
+import eci.arcn.project.booking.booking_event.eventlog.BookingStateProjection;
+import eci.arcn.project.booking.booking_event.eventlog.UserBookingsProjection;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Measures how fast the projections are rebuilt from an event log of
+ * {@code bookings} created bookings, every other one confirmed and every fourth one
+ * cancelled afterwards. The score counts full replays per second; the events counter
+ * gives the replay throughput in events per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EventReplayBenchmark {
+
+    @Param({"1000000"})
+    public int bookings;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    @Param({"state", "user"})
+    public String projection;
+
+    private Path directory;
+
+    private BookingEventLog eventLog;
+
+    /**
+     * Events replayed during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Replayed {
+
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("booking-events");
+        eventLog = new BookingEventLog(directory, 64 * 1024 * 1024, 50, 4096);
+        for (int i = 0; i < bookings; i++) {
+            Booking booking = BookingFixtures.booking(i, bookings);
+            eventLog.append(BookingEvent.of(BookingEventType.CREATED, booking));
+            if (i % 2 == 0) {
+                booking.setBookingState(BookingState.CONFIRMED);
+                eventLog.append(BookingEvent.of(BookingEventType.CONFIRMED, booking));
+            }
+            if (i % 4 == 0) {
+                booking.setBookingState(BookingState.CANCELLED);
+                booking.setRefundAmount(booking.getAmount());
+                eventLog.append(BookingEvent.of(BookingEventType.CANCELLED, booking));
+            }
+        }
+        eventLog.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public BookingProjection replay(Replayed replayed) {
+        BookingProjection target = "user".equals(projection)
+                ? new UserBookingsProjection()
+                : new BookingStateProjection();
+        replayed.events += eventLog.replay(target, parallelism).events();
+        return target;
+    }
+}
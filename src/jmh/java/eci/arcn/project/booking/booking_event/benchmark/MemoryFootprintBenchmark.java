@@ -0,0 +1,79 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+
+/**
+ * Measures the heap retained by each repository implementation once filled with
+ * {@code storeSize} bookings, reported by the retainedMegabytes and bytesPerBooking
+ * counters. The score itself is the time taken to fill the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class MemoryFootprintBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int storeSize;
+
+    @Param({"in-memory", "columnar"})
+    public String repository;
+
+    /**
+     * Heap retained by the store filled in the last iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedMegabytes;
+
+        public long bytesPerBooking;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedMegabytes = 0;
+            bytesPerBooking = 0;
+        }
+    }
+
+    @Benchmark
+    public BookingRepository fill(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        BookingRepository store = BookingFixtures.newRepository(repository);
+        BookingFixtures.populate(store, storeSize);
+        long retained = usedHeapAfterGc() - before;
+
+        footprint.retainedMegabytes = retained >> 20;
+        footprint.bytesPerBooking = retained / storeSize;
+        return store;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,63 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+
+/**
+ * Benchmarks the per-user queries of the repository implementations.
+ *
+ * Every user owns {@value BookingFixtures#BOOKINGS_PER_USER} bookings whatever the store
+ * size, so the cost of a lookup should not grow with the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class RepositoryQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int storeSize;
+
+    @Param({"in-memory", "columnar"})
+    public String repository;
+
+    private BookingRepository bookingRepository;
+
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingRepository = BookingFixtures.newRepository(repository);
+        BookingFixtures.populate(bookingRepository, storeSize);
+        users = Math.max(1, storeSize / BookingFixtures.BOOKINGS_PER_USER);
+    }
+
+    @Benchmark
+    public List<Booking> findByUserId() {
+        return bookingRepository.findByUserId("user-" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public List<Booking> findByUserEmail() {
+        return bookingRepository.findByUserEmail("user-" + ThreadLocalRandom.current().nextInt(users) + "@example.com");
+    }
+}
@@ -0,0 +1,91 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+
+/**
+ * Benchmarks the room availability searches over a year of bookings where every room
+ * is occupied about half of the nights, in stays of 1 to 5 nights.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class RoomSearchBenchmark {
+
+    private static final Instant FIRST_DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    private static final int DAYS = 365;
+
+    private static final int SEARCH_DAYS = 30;
+
+    @Param({"1000", "5000"})
+    public int rooms;
+
+    @Param({"in-memory", "columnar"})
+    public String repository;
+
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingRepository = BookingFixtures.newRepository(repository);
+        Random random = new Random(42);
+        int id = 0;
+        for (int room = 0; room < rooms; room++) {
+            int day = random.nextInt(5);
+            while (day < DAYS) {
+                int nights = 1 + random.nextInt(5);
+                Booking booking = BookingFixtures.booking(id, rooms);
+                booking.setBookingId(BookingFixtures.bookingId(id++));
+                booking.setRoomId("room-" + room);
+                booking.setStartDate(FIRST_DAY.plus(Duration.ofDays(day)));
+                booking.setFinishDate(FIRST_DAY.plus(Duration.ofDays(Math.min(DAYS, day + nights))));
+                bookingRepository.save(booking);
+                day += nights + random.nextInt(2 * nights);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> findAvailableRoomsForAMonth() {
+        Instant start = FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(DAYS - SEARCH_DAYS)));
+        return bookingRepository.findAvailableRooms(null, start, start.plus(Duration.ofDays(SEARCH_DAYS)));
+    }
+
+    @Benchmark
+    public List<String> findAvailableRoomsForAWeekend() {
+        Instant start = FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(DAYS - 2)));
+        return bookingRepository.findAvailableRooms(null, start, start.plus(Duration.ofDays(2)));
+    }
+
+    @Benchmark
+    public List<TimeWindow> findReservedPeriodsForAMonth() {
+        Instant start = FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(DAYS - SEARCH_DAYS)));
+        return bookingRepository.findReservedPeriods("room-" + ThreadLocalRandom.current().nextInt(rooms),
+                start, start.plus(Duration.ofDays(SEARCH_DAYS)));
+    }
+}
@@ -0,0 +1,160 @@
+package eci.arcn.project.booking.booking_event.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import eci.arcn.project.booking.booking_event.id.PassThroughBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares request handling on a Tomcat-sized platform thread pool with one virtual
+ * thread per request, when every create waits on a blocking repository (e.g. a
+ * database round trip).
+ *
+ * Each invocation handles a burst of {@code concurrentRequests} creates and waits for
+ * all of them. The "virtual" executor needs a Java 21 runtime: run the benchmark with
+ * JAVA_HOME pointing to a JDK 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadingModelBenchmark {
+
+    /**
+     * Default maximum number of Tomcat request threads.
+     */
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final Instant NEW_BOOKINGS_START = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"1", "10"})
+    public int repositoryLatencyMillis;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    private AsyncTaskExecutor requestExecutor;
+
+    private ExecutorService platformThreads;
+
+    private BookingServiceImpl bookingService;
+
+    private final AtomicLong createdCount = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(executor)) {
+            SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("request-");
+            virtualThreads.setVirtualThreads(true);
+            requestExecutor = virtualThreads;
+        } else {
+            platformThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            requestExecutor = new TaskExecutorAdapter(platformThreads);
+        }
+        bookingService = new BookingServiceImpl(
+                new BlockingBookingRepository(repositoryLatencyMillis),
+                event -> { },
+                new BookingMetrics(new SimpleMeterRegistry()),
+                new TimeOrderedBookingIdGenerator(),
+                new PassThroughBookingIdFilter());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformThreads != null) {
+            platformThreads.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int burstOfCreates() throws Exception {
+        List<Future<String>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(requestExecutor.submit(() -> bookingService.createBooking(newBooking())));
+        }
+        for (Future<String> response : responses) {
+            response.get();
+        }
+        return responses.size();
+    }
+
+    private Booking newBooking() {
+        long n = createdCount.getAndIncrement();
+        Instant start = NEW_BOOKINGS_START.plus(Duration.ofDays(n / BookingFixtures.ROOMS));
+
+        Booking booking = new Booking();
+        booking.setRoomId("room-" + n % BookingFixtures.ROOMS);
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofDays(1)));
+        booking.setAmount(120.0);
+        booking.setClient(BookingFixtures.client((int) (n % 1_000)));
+        return booking;
+    }
+
+    /**
+     * In-memory repository adding a fixed blocking delay to reads and writes, standing for I/O.
+     */
+    private static final class BlockingBookingRepository extends InMemoryBookingRepository {
+
+        private final long latencyMillis;
+
+        BlockingBookingRepository(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public boolean saveIfAvailable(Booking booking) {
+            block();
+            return super.saveIfAvailable(booking);
+        }
+
+        @Override
+        public Booking findById(String bookingId) {
+            block();
+            return super.findById(bookingId);
+        }
+
+        private void block() {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
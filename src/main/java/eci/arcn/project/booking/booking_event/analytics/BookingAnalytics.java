@@ -0,0 +1,279 @@
+package eci.arcn.project.booking.booking_event.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Occupancy and revenue aggregates of the bookings, per room and per day.
+ *
+ * Each room keeps one {@link DayStats} per day, updated from the published booking
+ * events: the last contribution of every booking is remembered, so a state change
+ * moves its counts from the old state to the new one instead of rescanning anything.
+ * Queries read the days of the range from each room's skip list; the rooms are scanned
+ * in parallel on the common fork-join pool and the partial sums merged.
+ *
+ * Days are UTC days. A booking counts on the day its stay starts, and holds the nights
+ * from its start day to its finish day (at least one) while pending or confirmed.
+ * Queries see every event applied before they start; an event applied concurrently
+ * may be seen partially.
+ */
+public class BookingAnalytics {
+
+    /**
+     * Longest range a query may cover.
+     */
+    static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    /**
+     * Day aggregates per room, keyed by epoch day.
+     */
+    private final Map<String, NavigableMap<Long, DayStats>> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * What each booking currently adds to the aggregates.
+     */
+    private final Map<String, Contribution> contributions = new ConcurrentHashMap<>();
+
+    /**
+     * Adds stored bookings, e.g. on startup. A booking already known from an event keeps
+     * the event's state.
+     *
+     * @param bookings the stored bookings
+     */
+    public void load(Collection<Booking> bookings) {
+        bookings.forEach(this::load);
+    }
+
+    /**
+     * Counts a stored booking, see {@link #load(Collection)}.
+     *
+     * @param booking the stored booking
+     */
+    public void load(Booking booking) {
+        Contribution next = Contribution.of(booking.getRoomId(), booking.getStartDate(), booking.getFinishDate(),
+                booking.getBookingState(), booking.getAmount(), booking.getRefundAmount());
+        if (next != null) {
+            contributions.computeIfAbsent(booking.getBookingId(), id -> {
+                apply(next, 1);
+                return next;
+            });
+        }
+    }
+
+    /**
+     * Moves a booking's counts to its new state.
+     *
+     * @param event the published booking event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        Contribution next = Contribution.of(event.roomId(), event.startDate(), event.finishDate(),
+                event.bookingState(), event.amount(), event.refundAmount());
+        contributions.compute(event.bookingId(), (id, previous) -> {
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            if (next != null) {
+                apply(next, 1);
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Aggregates some rooms over a range.
+     *
+     * @param roomIds the rooms, or null or empty for every booked room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the totals of the rooms over the range
+     * @throws IllegalArgumentException if the range is missing, reversed or too long
+     */
+    public BookingStats summary(List<String> roomIds, Instant from, Instant to) {
+        DayRange range = DayRange.of(from, to);
+        List<String> selected = selectRooms(roomIds);
+        StatsAccumulator total = selected.parallelStream().collect(StatsAccumulator::new,
+                (accumulator, roomId) -> forEachDay(roomId, range, (day, stats) -> stats.addTo(accumulator)),
+                StatsAccumulator::merge);
+        return total.toStats((long) selected.size() * range.days());
+    }
+
+    /**
+     * Aggregates each room over a range.
+     *
+     * @param roomIds the rooms, or null or empty for every booked room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the totals of each room, by room ID
+     * @throws IllegalArgumentException if the range is missing, reversed or too long
+     */
+    public Map<String, BookingStats> statsByRoom(List<String> roomIds, Instant from, Instant to) {
+        DayRange range = DayRange.of(from, to);
+        Map<String, BookingStats> stats = selectRooms(roomIds).parallelStream()
+                .collect(Collectors.toConcurrentMap(roomId -> roomId, roomId -> {
+                    StatsAccumulator accumulator = new StatsAccumulator();
+                    forEachDay(roomId, range, (day, dayStats) -> dayStats.addTo(accumulator));
+                    return accumulator.toStats(range.days());
+                }));
+        return new TreeMap<>(stats);
+    }
+
+    /**
+     * Aggregates some rooms day by day over a range.
+     *
+     * @param roomIds the rooms, or null or empty for every booked room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the totals of the rooms for each day of the range, in order
+     * @throws IllegalArgumentException if the range is missing, reversed or too long
+     */
+    public Map<LocalDate, BookingStats> statsByDay(List<String> roomIds, Instant from, Instant to) {
+        DayRange range = DayRange.of(from, to);
+        List<String> selected = selectRooms(roomIds);
+        StatsAccumulator[] daily = selected.parallelStream().collect(() -> newAccumulators(range.days()),
+                (accumulators, roomId) -> forEachDay(roomId, range,
+                        (day, stats) -> stats.addTo(accumulators[(int) (day - range.first())])),
+                BookingAnalytics::merge);
+
+        Map<LocalDate, BookingStats> stats = new LinkedHashMap<>();
+        for (int i = 0; i < daily.length; i++) {
+            stats.put(LocalDate.ofEpochDay(range.first() + i), daily[i].toStats(selected.size()));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the number of bookings counted in the aggregates.
+     *
+     * @return the number of tracked bookings
+     */
+    public int bookingCount() {
+        return contributions.size();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Adds (sign 1) or removes (sign -1) a contribution from the day aggregates.
+     */
+    private void apply(Contribution contribution, int sign) {
+        NavigableMap<Long, DayStats> days = rooms.computeIfAbsent(contribution.roomId(),
+                id -> new ConcurrentSkipListMap<>());
+        day(days, contribution.firstNight())
+                .addStart(contribution.state(), contribution.amount(), contribution.refundAmount(), sign);
+        if (contribution.state().holdsRoom()) {
+            for (long night = contribution.firstNight(); night < contribution.endNight(); night++) {
+                day(days, night).addNight(sign);
+            }
+        }
+    }
+
+    private static DayStats day(NavigableMap<Long, DayStats> days, long epochDay) {
+        return days.computeIfAbsent(epochDay, day -> new DayStats());
+    }
+
+    private List<String> selectRooms(List<String> roomIds) {
+        if (roomIds == null || roomIds.isEmpty()) {
+            return new ArrayList<>(rooms.keySet());
+        }
+        if (roomIds.stream().anyMatch(roomId -> roomId == null || roomId.isBlank())) {
+            throw new IllegalArgumentException("Room IDs cannot be empty");
+        }
+        return roomIds.stream().distinct().toList();
+    }
+
+    private void forEachDay(String roomId, DayRange range, BiConsumer<Long, DayStats> action) {
+        NavigableMap<Long, DayStats> days = rooms.get(roomId);
+        if (days != null) {
+            days.subMap(range.first(), true, range.end(), false).forEach(action);
+        }
+    }
+
+    private static StatsAccumulator[] newAccumulators(int days) {
+        StatsAccumulator[] accumulators = new StatsAccumulator[days];
+        for (int i = 0; i < days; i++) {
+            accumulators[i] = new StatsAccumulator();
+        }
+        return accumulators;
+    }
+
+    private static void merge(StatsAccumulator[] target, StatsAccumulator[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i].merge(other[i]);
+        }
+    }
+
+    private static long epochDay(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), TimeUnit.DAYS.toSeconds(1));
+    }
+
+    /**
+     * What a booking adds to the aggregates of its room.
+     *
+     * @param roomId the booked room
+     * @param firstNight epoch day the stay starts
+     * @param endNight epoch day after the last night held
+     * @param state the booking state
+     * @param amount the booking amount
+     * @param refundAmount the refund, 0 if none
+     */
+    private record Contribution(String roomId, long firstNight, long endNight, BookingState state, double amount,
+                                double refundAmount) {
+
+        /**
+         * Builds the contribution of a booking, or null if it has no room or no period.
+         */
+        static Contribution of(String roomId, Instant startDate, Instant finishDate, BookingState state,
+                               double amount, Double refundAmount) {
+            if (roomId == null || startDate == null || finishDate == null) {
+                return null;
+            }
+            long firstNight = epochDay(startDate);
+            return new Contribution(roomId, firstNight, Math.max(epochDay(finishDate), firstNight + 1),
+                    state == null ? BookingState.PENDING : state, amount, refundAmount == null ? 0 : refundAmount);
+        }
+    }
+
+    /**
+     * Days [first, end) covered by a query.
+     */
+    private record DayRange(long first, long end) {
+
+        static DayRange of(Instant from, Instant to) {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Both ends of the range are required");
+            }
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("Range start must be before its end");
+            }
+            if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+                throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE.toDays() + " days");
+            }
+            // The last day counts if the range reaches into it
+            return new DayRange(epochDay(from), epochDay(to.minusNanos(1)) + 1);
+        }
+
+        int days() {
+            return (int) (end - first);
+        }
+    }
+}
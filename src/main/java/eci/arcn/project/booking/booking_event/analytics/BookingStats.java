@@ -0,0 +1,48 @@
+package eci.arcn.project.booking.booking_event.analytics;
+
+import java.util.Map;
+
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Aggregated bookings of a set of rooms over a range of days.
+ *
+ * Bookings, amounts and refunds are counted on the day a stay starts; occupancy counts
+ * the nights held by pending and confirmed bookings.
+ *
+ * @param bookingsByState number of bookings starting in the range, per state
+ * @param amountByState sum of the amounts of those bookings, per state
+ * @param refundAmount sum of the refunds of those bookings
+ * @param occupiedNights room nights held in the range
+ * @param availableNights room nights in the range
+ */
+public record BookingStats(Map<BookingState, Long> bookingsByState, Map<BookingState, Double> amountByState,
+                           double refundAmount, long occupiedNights, long availableNights) {
+
+    /**
+     * Returns the number of bookings starting in the range, whatever their state.
+     *
+     * @return the number of bookings
+     */
+    public long bookings() {
+        return bookingsByState.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns the amount kept: confirmed bookings, plus cancelled ones minus their refunds.
+     *
+     * @return the revenue
+     */
+    public double revenue() {
+        return amountByState.get(BookingState.CONFIRMED) + amountByState.get(BookingState.CANCELLED) - refundAmount;
+    }
+
+    /**
+     * Returns the share of the room nights held by bookings.
+     *
+     * @return the occupancy rate, between 0 and 1
+     */
+    public double occupancyRate() {
+        return availableNights == 0 ? 0 : (double) occupiedNights / availableNights;
+    }
+}
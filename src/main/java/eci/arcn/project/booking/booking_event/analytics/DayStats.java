@@ -0,0 +1,66 @@
+package eci.arcn.project.booking.booking_event.analytics;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Running aggregates of one room on one day, updated as bookings change state.
+ *
+ * Updated from the booking event listener, on the request path, so it is guarded by a
+ * ReentrantLock rather than by synchronized methods, which would pin virtual threads.
+ */
+final class DayStats {
+
+    private static final int STATES = BookingState.values().length;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long[] bookings = new long[STATES];
+
+    private final double[] amounts = new double[STATES];
+
+    private double refundAmount;
+
+    private long occupiedNights;
+
+    /**
+     * Adds (sign 1) or removes (sign -1) a booking starting on this day.
+     */
+    void addStart(BookingState state, double amount, double refund, int sign) {
+        lock.lock();
+        try {
+            bookings[state.ordinal()] += sign;
+            amounts[state.ordinal()] += sign * amount;
+            refundAmount += sign * refund;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) a night held on this day.
+     */
+    void addNight(int sign) {
+        lock.lock();
+        try {
+            occupiedNights += sign;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void addTo(StatsAccumulator accumulator) {
+        lock.lock();
+        try {
+            for (int i = 0; i < STATES; i++) {
+                accumulator.bookings[i] += bookings[i];
+                accumulator.amounts[i] += amounts[i];
+            }
+            accumulator.refundAmount += refundAmount;
+            accumulator.occupiedNights += occupiedNights;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
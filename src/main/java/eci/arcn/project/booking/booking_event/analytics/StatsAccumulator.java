@@ -0,0 +1,41 @@
+package eci.arcn.project.booking.booking_event.analytics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Mutable sum of {@link DayStats}, filled by one scan thread and merged with the others.
+ */
+final class StatsAccumulator {
+
+    private static final BookingState[] STATES = BookingState.values();
+
+    final long[] bookings = new long[STATES.length];
+
+    final double[] amounts = new double[STATES.length];
+
+    double refundAmount;
+
+    long occupiedNights;
+
+    void merge(StatsAccumulator other) {
+        for (int i = 0; i < STATES.length; i++) {
+            bookings[i] += other.bookings[i];
+            amounts[i] += other.amounts[i];
+        }
+        refundAmount += other.refundAmount;
+        occupiedNights += other.occupiedNights;
+    }
+
+    BookingStats toStats(long availableNights) {
+        Map<BookingState, Long> bookingsByState = new EnumMap<>(BookingState.class);
+        Map<BookingState, Double> amountByState = new EnumMap<>(BookingState.class);
+        for (BookingState state : STATES) {
+            bookingsByState.put(state, bookings[state.ordinal()]);
+            amountByState.put(state, amounts[state.ordinal()]);
+        }
+        return new BookingStats(bookingsByState, amountByState, refundAmount, occupiedNights, availableNights);
+    }
+}
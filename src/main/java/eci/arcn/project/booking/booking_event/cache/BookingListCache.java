@@ -0,0 +1,215 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.facade.BookingJsonWriter;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-level read-through cache of the serialized booking lists of each user, in front
+ * of {@link BookingService#getBookingsByUserId(String)} and
+ * {@link BookingService#getBookingsByUserEmail(String)}.
+ *
+ * The first level is in-process. Its size is bounded in bytes and its eviction is
+ * Caffeine's W-TinyLFU: a newcomer only replaces entries read less often than itself,
+ * so a few users with very long histories cannot flush everybody else. The optional
+ * second level is a {@link SharedCacheTier} common to every instance, read on a local
+ * miss and filled by local loads; its failures are treated as misses.
+ *
+ * Every {@link BookingEvent} invalidates the lists of its user, by user ID and by
+ * email. With a single level the local entry is dropped, after any load of it in
+ * progress. With a shared tier, each list has a generation counter in that tier, which
+ * an invalidation increments; entries of both levels are stored under the generation
+ * read before their list was loaded, and a read only looks up the current generation.
+ * A list loaded before a save, by any instance, is therefore never served after the
+ * invalidation of that save, and entries of older generations are left to eviction.
+ * Every read then costs one counter read in the shared tier, even on a local hit.
+ *
+ * Hit, miss and eviction counts of the first level are published as the cache.*
+ * metrics, tagged cache=bookingLists; the second level as booking.list.cache.shared.gets.
+ */
+@Slf4j
+public class BookingListCache {
+
+    private static final String USER_ID_PREFIX = "bookings:user:";
+
+    private static final String USER_EMAIL_PREFIX = "bookings:email:";
+
+    private static final String GENERATION_PREFIX = "generation:";
+
+    private final BookingService bookingService;
+
+    private final Cache<String, byte[]> local;
+
+    private final SharedCacheTier shared;
+
+    private final Counter sharedHits;
+
+    private final Counter sharedMisses;
+
+    /**
+     * Creates a cache.
+     *
+     * @param bookingService service loading the lists on a miss
+     * @param maximumBytes maximum total size of the lists kept in process
+     * @param expireAfterWrite time after which a list kept in process is reloaded
+     * @param shared the tier shared between instances, or null for a single level
+     * @param meterRegistry registry receiving the cache statistics
+     */
+    public BookingListCache(BookingService bookingService, long maximumBytes, Duration expireAfterWrite,
+                            SharedCacheTier shared, MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, byte[] body) -> body.length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.shared = shared;
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "bookingLists");
+        this.sharedHits = sharedGets(meterRegistry, "hit");
+        this.sharedMisses = sharedGets(meterRegistry, "miss");
+    }
+
+    /**
+     * Returns the serialized bookings of a user ID, loading them on a miss.
+     *
+     * @param userId the user ID
+     * @return the JSON array of BookingResponse documents; must not be modified
+     * @throws IllegalArgumentException if the user ID is missing
+     */
+    public byte[] getByUserId(String userId) {
+        return get(USER_ID_PREFIX + userId, () -> bookingService.getBookingsByUserId(userId));
+    }
+
+    /**
+     * Returns the serialized bookings of a user email, loading them on a miss.
+     *
+     * @param userEmail the user email
+     * @return the JSON array of BookingResponse documents; must not be modified
+     * @throws IllegalArgumentException if the user email is missing
+     */
+    public byte[] getByUserEmail(String userEmail) {
+        return get(USER_EMAIL_PREFIX + userEmail, () -> bookingService.getBookingsByUserEmail(userEmail));
+    }
+
+    /**
+     * Drops the cached lists of a user.
+     *
+     * @param userId the user ID, may be null
+     * @param userEmail the user email, may be null
+     */
+    public void invalidate(String userId, String userEmail) {
+        if (userId != null) {
+            invalidate(USER_ID_PREFIX + userId);
+        }
+        if (userEmail != null) {
+            invalidate(USER_EMAIL_PREFIX + userEmail);
+        }
+    }
+
+    /**
+     * Invalidates the lists of the user whose booking has just been saved.
+     *
+     * Runs before the other listeners, so that a failing listener cannot leave a stale
+     * entry behind.
+     *
+     * @param event the published booking event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingEvent(BookingEvent event) {
+        invalidate(event.userId(), event.userEmail());
+    }
+
+    // ====== Private helper methods ======
+
+    private byte[] get(String key, Supplier<List<Booking>> loader) {
+        if (shared == null) {
+            return local.get(key, k -> BookingJsonWriter.toJson(loader.get()));
+        }
+        Long generation = generation(key);
+        if (generation == null) {
+            // Without the generation a cached list cannot be told from a stale one
+            return BookingJsonWriter.toJson(loader.get());
+        }
+        return local.get(key + '@' + generation, k -> {
+            byte[] body = getShared(k);
+            if (body == null) {
+                body = BookingJsonWriter.toJson(loader.get());
+                putShared(k, body);
+            }
+            return body;
+        });
+    }
+
+    private void invalidate(String key) {
+        if (shared == null) {
+            // Waits for a load in progress
+            local.invalidate(key);
+            return;
+        }
+        try {
+            shared.increment(GENERATION_PREFIX + key);
+        } catch (RuntimeException e) {
+            log.warn("Cannot invalidate {} in the shared cache, it stays until it expires", key, e);
+        }
+    }
+
+    private Long generation(String key) {
+        try {
+            return shared.getCounter(GENERATION_PREFIX + key);
+        } catch (RuntimeException e) {
+            log.warn("Cannot read the generation of {} from the shared cache", key, e);
+            sharedMisses.increment();
+            return null;
+        }
+    }
+
+    private byte[] getShared(String key) {
+        if (shared == null) {
+            return null;
+        }
+        byte[] body = null;
+        try {
+            body = shared.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Cannot read {} from the shared cache", key, e);
+        }
+        (body == null ? sharedMisses : sharedHits).increment();
+        return body;
+    }
+
+    private void putShared(String key, byte[] body) {
+        if (shared == null) {
+            return;
+        }
+        try {
+            shared.put(key, body);
+        } catch (RuntimeException e) {
+            log.warn("Cannot write {} to the shared cache", key, e);
+        }
+    }
+
+    private static Counter sharedGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.list.cache.shared.gets")
+                .description("Reads of the shared booking list cache tier by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+import java.time.Duration;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.facade.BookingJsonWriter;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of serialized bookings, in front of {@link BookingService#getBookingById(String)}.
+ *
+ * A hit skips the lookup and the JSON serialization, and the stored entity
+ * tag lets pollers get a 304 without any payload. Entries are bounded in number and
+ * time, and invalidated by every {@link BookingEvent}, i.e. every saved state change.
+ *
+ * Loads and invalidations of the same booking are serialized by the cache: an
+ * invalidation arriving while the booking is being loaded waits for the load and then
+ * removes its result, so a response read before a save is never left behind.
+ *
+ * Hit, miss and eviction counts are published as the cache.* metrics, tagged
+ * cache=bookingResponses.
+ */
+public class BookingResponseCache {
+
+    private final BookingService bookingService;
+
+    private final Cache<String, CachedBookingResponse> cache;
+
+    /**
+     * Creates a cache.
+     *
+     * @param bookingService service loading the bookings on a miss
+     * @param maximumSize maximum number of cached bookings
+     * @param expireAfterWrite time after which an entry is reloaded
+     * @param meterRegistry registry receiving the cache statistics
+     */
+    public BookingResponseCache(BookingService bookingService, long maximumSize, Duration expireAfterWrite,
+                                MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bookingResponses");
+    }
+
+    /**
+     * Returns the serialized booking, loading it on a miss.
+     *
+     * @param bookingId the ID of the booking
+     * @return the JSON body and its entity tag
+     * @throws IllegalArgumentException if the booking ID is missing
+     * @throws IllegalStateException if the booking does not exist
+     */
+    public CachedBookingResponse get(String bookingId) {
+        return cache.get(bookingId, this::load);
+    }
+
+    /**
+     * Drops the cached response of a booking.
+     *
+     * @param bookingId the ID of the booking
+     */
+    public void invalidate(String bookingId) {
+        cache.invalidate(bookingId);
+    }
+
+    /**
+     * Invalidates the booking whose state has just been saved.
+     *
+     * Runs before the other listeners, so that a failing listener cannot leave a stale
+     * entry behind.
+     *
+     * @param event the published booking event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingEvent(BookingEvent event) {
+        invalidate(event.bookingId());
+    }
+
+    // ====== Private helper methods ======
+
+    private CachedBookingResponse load(String bookingId) {
+        byte[] body = BookingJsonWriter.toJson(bookingService.getBookingById(bookingId));
+        return new CachedBookingResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+}
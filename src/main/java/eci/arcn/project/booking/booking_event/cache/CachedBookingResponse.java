@@ -0,0 +1,29 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+/**
+ * A booking serialized as a BookingResponse JSON document, with its entity tag.
+ *
+ * @param body the JSON bytes; must not be modified
+ * @param etag the quoted strong entity tag of the body
+ */
+public record CachedBookingResponse(byte[] body, String etag) {
+
+    /**
+     * Checks an If-None-Match header against the entity tag.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @return true if the client already holds this exact body
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process stand-in for a {@link SharedCacheTier}, for tests and single-node setups.
+ *
+ * Entries are bounded in total bytes and expire a fixed time after they were written,
+ * like a Redis instance with maxmemory and a TTL on every key. Counters are kept apart,
+ * out of the size bound, and expire the same time after their last increment.
+ */
+public class LocalSharedCacheTier implements SharedCacheTier {
+
+    private final Cache<String, byte[]> cache;
+
+    private final Cache<String, AtomicLong> counters;
+
+    /**
+     * Creates an empty tier.
+     *
+     * @param maximumBytes maximum total size of the stored values
+     * @param timeToLive time after which an entry is dropped
+     */
+    public LocalSharedCacheTier(long maximumBytes, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, byte[] value) -> value.length)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.counters = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(String key, byte[] value) {
+        cache.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCounter(String key) {
+        AtomicLong counter = counters.getIfPresent(key);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long increment(String key) {
+        // Written back so that the counter lives a full time-to-live after each increment
+        return counters.asMap().compute(key, (k, counter) -> {
+            AtomicLong next = counter == null ? new AtomicLong() : counter;
+            next.incrementAndGet();
+            return next;
+        }).get();
+    }
+}
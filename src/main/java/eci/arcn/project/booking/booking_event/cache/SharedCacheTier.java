@@ -0,0 +1,54 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+/**
+ * Cache shared by the instances of the service, such as Redis or Memcached, holding
+ * serialized responses under string keys.
+ *
+ * Implementations bound their own size and entry lifetime. Any of the operations may
+ * fail; callers treat a failure as a miss.
+ *
+ * Counters (Redis INCR) live beside the entries and version them. A counter must not
+ * be evicted for size and must outlive every entry written while it had a given value,
+ * e.g. by giving it the entry time-to-live again on every increment.
+ */
+public interface SharedCacheTier {
+
+    /**
+     * Reads an entry.
+     *
+     * @param key the key
+     * @return the stored bytes, or null if absent
+     */
+    byte[] get(String key);
+
+    /**
+     * Stores an entry, replacing any previous one.
+     *
+     * @param key the key
+     * @param value the bytes to store; must not be modified afterwards
+     */
+    void put(String key, byte[] value);
+
+    /**
+     * Removes an entry, if present.
+     *
+     * @param key the key
+     */
+    void remove(String key);
+
+    /**
+     * Reads a counter.
+     *
+     * @param key the counter key
+     * @return the counter value, 0 if it was never incremented
+     */
+    long getCounter(String key);
+
+    /**
+     * Atomically increments a counter.
+     *
+     * @param key the counter key
+     * @return the new value
+     */
+    long increment(String key);
+}
@@ -0,0 +1,220 @@
+package eci.arcn.project.booking.booking_event.cancellation;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import eci.arcn.project.booking.booking_event.service.CancellationResult;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancels every active booking of some rooms over a date range, such as a closed room
+ * or a cancelled event, as a background job.
+ *
+ * The bookings are looked up when the job starts and split by
+ * {@link BookingService#partitionForCancellation(List, int)} into chunks, which a
+ * dedicated ForkJoinPool cancels in parallel through
+ * {@link BookingService#cancelBookings(List)}: one batch, one saveAll and one lock
+ * acquisition per chunk instead of per booking. Refunds follow the single cancellation
+ * rules.
+ *
+ * A job can be stopped between chunks and resumed later with the chunks left, and a job
+ * that fails (e.g. the database is down) can be resumed the same way. Jobs are kept in
+ * memory only; after a restart, submitting the same criteria again cancels the bookings
+ * the interrupted job did not reach, since the cancelled ones no longer hold their room.
+ */
+@Slf4j
+public class BulkCancellationService implements AutoCloseable {
+
+    /**
+     * Number of finished jobs kept for progress queries.
+     */
+    static final int MAX_RETAINED_JOBS = 100;
+
+    private final BookingService bookingService;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final Map<String, CancellationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a service and its worker pool.
+     *
+     * @param bookingService the service cancelling the bookings
+     * @param parallelism number of chunks cancelled at once
+     * @param chunkSize number of bookings cancelled per batch
+     */
+    public BulkCancellationService(BookingService bookingService, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Cancellation parallelism and chunk size must be positive");
+        }
+        this.bookingService = bookingService;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("booking-cancellation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Starts cancelling the active bookings of some rooms over a date range.
+     *
+     * @param roomIds the rooms, or null or empty for every room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the started job
+     * @throws IllegalArgumentException if the range is missing, reversed or too long
+     */
+    public CancellationJob start(List<String> roomIds, Instant from, Instant to) {
+        List<String> bookingIds = bookingService.findActiveBookingIds(roomIds, from, to);
+        CancellationJob job = new CancellationJob(UUID.randomUUID().toString(), roomIds, from, to,
+                bookingService.partitionForCancellation(bookingIds, chunkSize));
+        pruneFinishedJobs();
+        jobs.put(job.getJobId(), job);
+        log.info("Cancellation job {} started for {} bookings", job.getJobId(), job.getTotalBookings());
+        run(job);
+        return job;
+    }
+
+    /**
+     * Retrieves a job.
+     *
+     * @param jobId the job ID
+     * @return the job
+     * @throws IllegalArgumentException if no such job is known
+     */
+    public CancellationJob get(String jobId) {
+        CancellationJob job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Cancellation job not found");
+        }
+        return job;
+    }
+
+    /**
+     * Asks a running job to stop once its chunks in progress are done.
+     *
+     * @param jobId the job ID
+     * @return the job
+     * @throws IllegalArgumentException if no such job is known
+     */
+    public CancellationJob stop(String jobId) {
+        CancellationJob job = get(jobId);
+        job.requestStop();
+        return job;
+    }
+
+    /**
+     * Resumes a stopped or failed job with the chunks it has not done.
+     *
+     * @param jobId the job ID
+     * @return the job
+     * @throws IllegalArgumentException if no such job is known
+     * @throws IllegalStateException if the job is still running or already completed
+     */
+    public CancellationJob resume(String jobId) {
+        CancellationJob job = get(jobId);
+        job.restart();
+        log.info("Cancellation job {} resumed at {}/{} bookings", jobId, job.getProcessedBookings(),
+                job.getTotalBookings());
+        run(job);
+        return job;
+    }
+
+    /**
+     * Returns the number of jobs currently running.
+     *
+     * @return the number of running jobs
+     */
+    public int runningCount() {
+        return (int) jobs.values().stream().filter(job -> !job.isFinished()).count();
+    }
+
+    /**
+     * Stops the running jobs and waits briefly for their chunks in progress.
+     */
+    @Override
+    public void close() {
+        jobs.values().forEach(CancellationJob::requestStop);
+        pool.shutdown();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ====== Private helper methods ======
+
+    private void run(CancellationJob job) {
+        pool.execute(ForkJoinTask.adapt(() -> {
+            try {
+                new ChunkRangeTask(job, 0, job.chunkCount()).invoke();
+            } finally {
+                job.finish();
+                log.info("Cancellation job {} {}: {} cancelled, {} failed, {} refunded", job.getJobId(),
+                        job.getStatus(), job.getCancelledBookings(), job.getFailedBookings(), job.getRefundTotal());
+            }
+        }));
+    }
+
+    /**
+     * Forgets the oldest finished jobs beyond MAX_RETAINED_JOBS.
+     */
+    private void pruneFinishedJobs() {
+        List<CancellationJob> finished = jobs.values().stream()
+                .filter(CancellationJob::isFinished)
+                .sorted(Comparator.comparing(CancellationJob::getCreatedDate))
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_RETAINED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+
+    /**
+     * Cancels the chunks of a job in [start, end), splitting the range in halves down
+     * to single chunks.
+     */
+    private final class ChunkRangeTask extends RecursiveAction {
+
+        private final CancellationJob job;
+
+        private final int start;
+
+        private final int end;
+
+        ChunkRangeTask(CancellationJob job, int start, int end) {
+            this.job = job;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ChunkRangeTask(job, start, middle), new ChunkRangeTask(job, middle, end));
+            } else if (end > start && !job.isChunkDone(start) && !job.isStopRequested()) {
+                try {
+                    List<CancellationResult> results = bookingService.cancelBookings(job.chunk(start));
+                    job.complete(start, results);
+                } catch (RuntimeException e) {
+                    log.error("Cancellation job {} failed on chunk {}", job.getJobId(), start, e);
+                    job.fail(e);
+                }
+            }
+        }
+    }
+}
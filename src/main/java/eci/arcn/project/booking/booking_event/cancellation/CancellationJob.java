@@ -0,0 +1,250 @@
+package eci.arcn.project.booking.booking_event.cancellation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import eci.arcn.project.booking.booking_event.service.CancellationResult;
+
+/**
+ * Progress of a bulk cancellation run by {@link BulkCancellationService}.
+ *
+ * The bookings to cancel are fixed when the job starts and split into chunks. Each
+ * chunk is marked done once its batch has been cancelled, so a stopped or failed job
+ * resumes with the chunks not done yet. Counters are updated as chunks complete and
+ * can be read at any time.
+ */
+public class CancellationJob {
+
+    /**
+     * Maximum number of failed bookings reported by a job; the others are only counted.
+     */
+    static final int MAX_REPORTED_FAILURES = 100;
+
+    /**
+     * Lifecycle of a job.
+     */
+    public enum Status {
+        RUNNING, STOPPED, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+
+    private final List<String> roomIds;
+
+    private final Instant from;
+
+    private final Instant to;
+
+    private final Instant createdDate;
+
+    private final List<List<String>> chunks;
+
+    private final int totalBookings;
+
+    private final AtomicIntegerArray chunkDone;
+
+    private final LongAdder processed = new LongAdder();
+
+    private final LongAdder cancelled = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final DoubleAdder refundTotal = new DoubleAdder();
+
+    private final Queue<CancellationResult> failures = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger reportedFailures = new AtomicInteger();
+
+    private volatile boolean stopRequested;
+
+    private Status status = Status.RUNNING;
+
+    private String error;
+
+    private Instant finishedDate;
+
+    CancellationJob(String jobId, List<String> roomIds, Instant from, Instant to, List<List<String>> chunks) {
+        this.jobId = jobId;
+        this.roomIds = roomIds == null ? List.of() : List.copyOf(roomIds);
+        this.from = from;
+        this.to = to;
+        this.createdDate = Instant.now();
+        this.chunks = chunks;
+        this.totalBookings = chunks.stream().mapToInt(List::size).sum();
+        this.chunkDone = new AtomicIntegerArray(chunks.size());
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Returns the rooms whose bookings are cancelled.
+     *
+     * @return the room IDs, empty for every room
+     */
+    public List<String> getRoomIds() {
+        return roomIds;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the time the last run of the job ended.
+     *
+     * @return the finish time, null while running
+     */
+    public synchronized Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    /**
+     * Returns the cause of the failure of a FAILED job.
+     *
+     * @return the error message, null unless the job failed
+     */
+    public synchronized String getError() {
+        return error;
+    }
+
+    public int getTotalBookings() {
+        return totalBookings;
+    }
+
+    public long getProcessedBookings() {
+        return processed.sum();
+    }
+
+    public long getCancelledBookings() {
+        return cancelled.sum();
+    }
+
+    public long getFailedBookings() {
+        return failed.sum();
+    }
+
+    public double getRefundTotal() {
+        return refundTotal.sum();
+    }
+
+    /**
+     * Returns the first bookings that could not be cancelled.
+     *
+     * @return at most MAX_REPORTED_FAILURES failed bookings
+     */
+    public List<CancellationResult> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    // ====== Methods used by BulkCancellationService ======
+
+    int chunkCount() {
+        return chunks.size();
+    }
+
+    List<String> chunk(int index) {
+        return chunks.get(index);
+    }
+
+    boolean isChunkDone(int index) {
+        return chunkDone.get(index) == 1;
+    }
+
+    boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    /**
+     * Records the outcome of a chunk and marks it done.
+     */
+    void complete(int index, List<CancellationResult> results) {
+        if (!chunkDone.compareAndSet(index, 0, 1)) {
+            return;
+        }
+        for (CancellationResult result : results) {
+            if (result.cancelled()) {
+                cancelled.increment();
+                refundTotal.add(result.refundAmount());
+            } else {
+                failed.increment();
+                if (reportedFailures.getAndIncrement() < MAX_REPORTED_FAILURES) {
+                    failures.add(result);
+                }
+            }
+        }
+        processed.add(results.size());
+    }
+
+    /**
+     * Records an unexpected failure; the job ends FAILED once its running chunks finish.
+     */
+    synchronized void fail(Throwable cause) {
+        if (error == null) {
+            error = cause.getMessage() == null ? cause.getClass().getName() : cause.getMessage();
+        }
+        stopRequested = true;
+    }
+
+    synchronized void requestStop() {
+        if (status == Status.RUNNING) {
+            stopRequested = true;
+        }
+    }
+
+    /**
+     * Ends a run of the job: COMPLETED once every chunk is done, otherwise FAILED or STOPPED.
+     */
+    synchronized void finish() {
+        boolean allDone = true;
+        for (int i = 0; i < chunkDone.length() && allDone; i++) {
+            allDone = chunkDone.get(i) == 1;
+        }
+        if (allDone) {
+            status = Status.COMPLETED;
+            error = null;
+        } else {
+            status = error != null ? Status.FAILED : Status.STOPPED;
+        }
+        finishedDate = Instant.now();
+    }
+
+    /**
+     * Prepares a stopped or failed job to run its remaining chunks.
+     *
+     * @throws IllegalStateException if the job is running or completed
+     */
+    synchronized void restart() {
+        if (status == Status.RUNNING || status == Status.COMPLETED) {
+            throw new IllegalStateException("Cannot resume a " + status + " cancellation job");
+        }
+        status = Status.RUNNING;
+        stopRequested = false;
+        error = null;
+        finishedDate = null;
+    }
+
+    synchronized boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+}
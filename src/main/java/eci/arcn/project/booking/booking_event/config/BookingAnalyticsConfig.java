@@ -0,0 +1,34 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.analytics.BookingAnalytics;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration of the booking analytics.
+ *
+ * The aggregates are loaded from the store by a single scan when they are created,
+ * before the application accepts requests, and then follow the published events.
+ */
+@Slf4j
+@Configuration
+public class BookingAnalyticsConfig {
+
+    @Bean
+    public BookingAnalytics bookingAnalytics(BookingRepository bookingRepository, MeterRegistry meterRegistry) {
+        BookingAnalytics analytics = new BookingAnalytics();
+        long begin = System.nanoTime();
+        bookingRepository.forEach(analytics::load);
+        log.info("Loaded the analytics of {} bookings in {} ms", analytics.bookingCount(),
+                (System.nanoTime() - begin) / 1_000_000);
+        Gauge.builder("booking.analytics.bookings", analytics, BookingAnalytics::bookingCount)
+                .description("Bookings counted in the analytics aggregates")
+                .register(meterRegistry);
+        return analytics;
+    }
+}
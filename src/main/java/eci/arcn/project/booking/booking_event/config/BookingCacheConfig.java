@@ -0,0 +1,24 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.cache.BookingResponseCache;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the cache in front of GET /api/bookings/{bookingId}.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingCacheProperties.class)
+public class BookingCacheConfig {
+
+    @Bean
+    public BookingResponseCache bookingResponseCache(BookingCacheProperties properties, BookingService bookingService,
+                                                     MeterRegistry meterRegistry) {
+        return new BookingResponseCache(bookingService, properties.getMaximumSize(), properties.getExpireAfterWrite(),
+                meterRegistry);
+    }
+}
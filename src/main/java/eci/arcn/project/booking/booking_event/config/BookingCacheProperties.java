@@ -0,0 +1,26 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the serialized booking response cache ("booking.cache.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.cache")
+public class BookingCacheProperties {
+
+    /**
+     * Maximum number of cached bookings; the least valuable entries are evicted beyond it.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Time after which a cached booking is reloaded, as a safety net for changes that
+     * were not announced by a booking event.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,30 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.cancellation.BulkCancellationService;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the bulk cancellation jobs.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingCancellationProperties.class)
+public class BookingCancellationConfig {
+
+    @Bean
+    public BulkCancellationService bulkCancellationService(BookingCancellationProperties properties,
+                                                           BookingService bookingService,
+                                                           MeterRegistry meterRegistry) {
+        BulkCancellationService service = new BulkCancellationService(bookingService, properties.getParallelism(),
+                properties.getChunkSize());
+        Gauge.builder("booking.cancellation.jobs.running", service, BulkCancellationService::runningCount)
+                .description("Bulk cancellation jobs currently running")
+                .register(meterRegistry);
+        return service;
+    }
+}
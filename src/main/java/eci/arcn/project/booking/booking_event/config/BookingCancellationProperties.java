@@ -0,0 +1,23 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the bulk cancellation jobs ("booking.cancellation.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.cancellation")
+public class BookingCancellationProperties {
+
+    /**
+     * Number of chunks cancelled at once.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of bookings cancelled per batch, at most 1000.
+     */
+    private int chunkSize = 500;
+}
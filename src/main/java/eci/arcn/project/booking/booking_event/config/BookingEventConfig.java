@@ -0,0 +1,68 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eci.arcn.project.booking.booking_event.event.BatchingBookingEventPublisher;
+import eci.arcn.project.booking.booking_event.event.BookingEventTransport;
+import eci.arcn.project.booking.booking_event.event.RabbitBookingEventTransport;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the RabbitMQ booking event publisher, enabled with booking.events.enabled=true.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingEventProperties.class)
+@ConditionalOnProperty(prefix = "booking.events", name = "enabled", havingValue = "true")
+public class BookingEventConfig {
+
+    @Bean
+    public TopicExchange bookingEventsExchange(BookingEventProperties properties) {
+        return new TopicExchange(properties.getExchange());
+    }
+
+    @Bean
+    public MessageConverter bookingEventMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public BookingEventTransport bookingEventTransport(RabbitTemplate rabbitTemplate, BookingEventProperties properties) {
+        return new RabbitBookingEventTransport(rabbitTemplate, properties.getExchange(),
+                properties.getConfirmTimeout().toMillis());
+    }
+
+    @Bean
+    public BatchingBookingEventPublisher bookingEventPublisher(BookingEventTransport transport,
+                                                               BookingEventProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        BatchingBookingEventPublisher publisher = new BatchingBookingEventPublisher(transport,
+                properties.getBufferCapacity(), properties.getBatchSize(), properties.getLinger().toMillis(),
+                properties.getOfferTimeout().toMillis(), properties.getMaxAttempts());
+        FunctionCounter.builder("booking.events.published", publisher,
+                        BatchingBookingEventPublisher::getPublishedCount)
+                .description("Booking events confirmed by the broker")
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.events.dropped", publisher, BatchingBookingEventPublisher::getDroppedCount)
+                .description("Booking events dropped because the publisher buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.events.failed", publisher, BatchingBookingEventPublisher::getFailedCount)
+                .description("Booking events given up after failed send attempts")
+                .register(meterRegistry);
+        Gauge.builder("booking.events.buffered", publisher, BatchingBookingEventPublisher::getBufferedCount)
+                .description("Booking events waiting to be sent")
+                .register(meterRegistry);
+        publisher.start();
+        return publisher;
+    }
+}
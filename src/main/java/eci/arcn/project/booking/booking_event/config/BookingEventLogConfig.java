@@ -0,0 +1,67 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.eventlog.BookingEventLog;
+import eci.arcn.project.booking.booking_event.eventlog.BookingProjection;
+import eci.arcn.project.booking.booking_event.eventlog.BookingStateProjection;
+import eci.arcn.project.booking.booking_event.eventlog.UserBookingsProjection;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration of the booking event log, enabled with booking.eventlog.enabled=true.
+ *
+ * The projections are only created with booking.eventlog.projections-enabled=true:
+ * the service answers every request from the repository, so they would otherwise hold
+ * every booking a second time with no reader. They are rebuilt from the log when they
+ * are created, before the application accepts requests, and then follow the published
+ * events.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BookingEventLogProperties.class)
+@ConditionalOnProperty(prefix = "booking.eventlog", name = "enabled", havingValue = "true")
+public class BookingEventLogConfig {
+
+    @Bean
+    public BookingEventLog bookingEventLog(BookingEventLogProperties properties, MeterRegistry meterRegistry) {
+        BookingEventLog eventLog = new BookingEventLog(Path.of(properties.getDirectory()),
+                properties.getSegmentSize(), properties.getFlushInterval().toMillis(),
+                properties.getFlushBatchSize());
+        FunctionCounter.builder("booking.eventlog.append.failures", eventLog, BookingEventLog::appendFailedCount)
+                .description("Booking events that could not be appended to the event log")
+                .register(meterRegistry);
+        return eventLog;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "booking.eventlog", name = "projections-enabled", havingValue = "true")
+    public BookingStateProjection bookingStateProjection(BookingEventLog eventLog,
+                                                         BookingEventLogProperties properties) {
+        return rebuild(new BookingStateProjection(), eventLog, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "booking.eventlog", name = "projections-enabled", havingValue = "true")
+    public UserBookingsProjection userBookingsProjection(BookingEventLog eventLog,
+                                                         BookingEventLogProperties properties) {
+        return rebuild(new UserBookingsProjection(), eventLog, properties);
+    }
+
+    // ====== Private helper methods ======
+
+    private static <P extends BookingProjection> P rebuild(P projection, BookingEventLog eventLog,
+                                                           BookingEventLogProperties properties) {
+        BookingEventLog.ReplayResult result = eventLog.replay(projection, properties.getReplayParallelism());
+        log.info("Rebuilt {} from {} events in {} ms ({} events/s)", projection.getClass().getSimpleName(),
+                result.events(), result.elapsedNanos() / 1_000_000, Math.round(result.eventsPerSecond()));
+        return projection;
+    }
+}
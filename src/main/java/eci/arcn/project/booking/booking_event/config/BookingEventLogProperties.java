@@ -0,0 +1,51 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the booking event log ("booking.eventlog.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.eventlog")
+public class BookingEventLogProperties {
+
+    /**
+     * Whether every booking state change is appended to the event log.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the log segments.
+     */
+    private String directory = "data/events";
+
+    /**
+     * Size of a memory-mapped log segment in bytes.
+     */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * Maximum time between two flushes of appended events.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Number of pending events that triggers a flush immediately.
+     */
+    private int flushBatchSize = 1024;
+
+    /**
+     * Whether the state and per-user projections are rebuilt on startup and kept
+     * current. Nothing reads them, so they are off by default.
+     */
+    private boolean projectionsEnabled = false;
+
+    /**
+     * Number of threads rebuilding the projections on startup.
+     */
+    private int replayParallelism = Runtime.getRuntime().availableProcessors();
+}
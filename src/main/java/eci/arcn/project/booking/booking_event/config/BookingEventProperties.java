@@ -0,0 +1,55 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the booking event publisher ("booking.events.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.events")
+public class BookingEventProperties {
+
+    /**
+     * Whether booking events are published to RabbitMQ.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Topic exchange receiving the events.
+     */
+    private String exchange = "booking.events";
+
+    /**
+     * Maximum number of events waiting to be sent.
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Maximum number of events per batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long the sender waits for a batch to fill up.
+     */
+    private Duration linger = Duration.ofMillis(20);
+
+    /**
+     * How long a request may wait for room in a full buffer before its event is dropped.
+     */
+    private Duration offerTimeout = Duration.ZERO;
+
+    /**
+     * How long to wait for the broker to confirm a batch.
+     */
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How many times a batch is sent before it is given up.
+     */
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,34 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.expiry.PendingBookingExpirer;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the expiry of pending bookings, disabled with booking.hold.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingHoldProperties.class)
+@ConditionalOnProperty(prefix = "booking.hold", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingHoldConfig {
+
+    @Bean
+    public PendingBookingExpirer pendingBookingExpirer(BookingHoldProperties properties, BookingService bookingService,
+                                                       BookingRepository bookingRepository,
+                                                       MeterRegistry meterRegistry) {
+        PendingBookingExpirer expirer = new PendingBookingExpirer(bookingService, bookingRepository,
+                properties.getTimeout(), properties.getTick(), properties.getWheelSize());
+        Gauge.builder("booking.hold.scheduled", expirer, PendingBookingExpirer::scheduledCount)
+                .description("Pending bookings waiting for their hold deadline")
+                .register(meterRegistry);
+        expirer.start();
+        return expirer;
+    }
+}
@@ -0,0 +1,36 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the expiry of pending bookings ("booking.hold.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.hold")
+public class BookingHoldProperties {
+
+    /**
+     * Whether pending bookings expire.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a booking may stay pending before it expires and releases its room.
+     */
+    private Duration timeout = Duration.ofMinutes(15);
+
+    /**
+     * Resolution of the timing wheel: a booking expires at most one tick late.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Number of buckets of the timing wheel; timeouts up to tick x wheel size are
+     * visited only once.
+     */
+    private int wheelSize = 1024;
+}
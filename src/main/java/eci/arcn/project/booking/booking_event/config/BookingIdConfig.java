@@ -0,0 +1,25 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.id.BookingIdGenerator;
+import eci.arcn.project.booking.booking_event.id.RandomBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+
+/**
+ * Configuration of the booking ID generator, selected with booking.id.generator.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingIdProperties.class)
+public class BookingIdConfig {
+
+    @Bean
+    public BookingIdGenerator bookingIdGenerator(BookingIdProperties properties) {
+        return switch (properties.getGenerator()) {
+            case RANDOM -> new RandomBookingIdGenerator();
+            case TIME_ORDERED -> new TimeOrderedBookingIdGenerator();
+        };
+    }
+}
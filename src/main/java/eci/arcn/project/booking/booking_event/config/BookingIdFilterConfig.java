@@ -0,0 +1,53 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.id.BloomBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.BookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.PassThroughBookingIdFilter;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration of the filter of unknown booking IDs, enabled with booking.id-filter.enabled.
+ *
+ * The filter is rebuilt from a scan of the stored IDs when it is created, before the
+ * application accepts requests; the service then adds the ID of every booking it
+ * creates. It is disabled by default under the "postgres" profile, whose database may
+ * be shared by several instances.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BookingIdFilterProperties.class)
+public class BookingIdFilterConfig {
+
+    @Bean
+    public BookingIdFilter bookingIdFilter(BookingIdFilterProperties properties, BookingRepository bookingRepository,
+                                           MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return new PassThroughBookingIdFilter();
+        }
+        BloomBookingIdFilter filter = new BloomBookingIdFilter(properties.getExpectedInsertions(),
+                properties.getFalsePositiveRate());
+        long begin = System.nanoTime();
+        long[] loaded = new long[1];
+        bookingRepository.forEachId(bookingId -> {
+            filter.add(bookingId);
+            loaded[0]++;
+        });
+        log.info("Loaded {} booking IDs into a {} KB filter ({} hashes) in {} ms", loaded[0],
+                filter.bitCount() / 8 / 1024, filter.hashCount(), (System.nanoTime() - begin) / 1_000_000);
+        if (loaded[0] > properties.getExpectedInsertions()) {
+            log.warn("The store holds more bookings than booking.id-filter.expected-insertions ({}),"
+                    + " the filter lets through more unknown IDs than configured", properties.getExpectedInsertions());
+        }
+        Gauge.builder("booking.id.filter.false.positive.rate", filter, BloomBookingIdFilter::expectedFalsePositiveRate)
+                .description("Estimated rate of unknown booking IDs let through to the store by the filter")
+                .register(meterRegistry);
+        return filter;
+    }
+}
@@ -0,0 +1,30 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the filter of unknown booking IDs ("booking.id-filter.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.id-filter")
+public class BookingIdFilterProperties {
+
+    /**
+     * Whether lookups of IDs absent from the filter skip the store. Only valid when this
+     * instance creates every booking of the store; off in application-postgres.properties.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of booking IDs the filter is sized for.
+     */
+    private long expectedInsertions = 10_000_000;
+
+    /**
+     * Target rate of unknown IDs let through to the store, once the expected number of
+     * IDs has been added.
+     */
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,34 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the booking ID generation ("booking.id.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.id")
+public class BookingIdProperties {
+
+    /**
+     * Kinds of booking IDs.
+     */
+    public enum Generator {
+        /**
+         * Random UUIDs (version 4), unguessable: safe when knowing an ID is enough to
+         * read or cancel its booking.
+         */
+        RANDOM,
+        /**
+         * Time-ordered UUIDs (version 7), increasing on each node. They reveal their
+         * creation time and their random bits are not cryptographically strong.
+         */
+        TIME_ORDERED
+    }
+
+    /**
+     * Kind of IDs given to new bookings.
+     */
+    private Generator generator = Generator.RANDOM;
+}
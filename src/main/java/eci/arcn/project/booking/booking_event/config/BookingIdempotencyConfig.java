@@ -0,0 +1,21 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the Idempotency-Key support of the booking write endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingIdempotencyProperties.class)
+public class BookingIdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(BookingIdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return new IdempotencyStore(properties.getMaximumSize(), properties.getTtl(), meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the Idempotency-Key support ("booking.idempotency.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.idempotency")
+public class BookingIdempotencyProperties {
+
+    /**
+     * Maximum number of remembered keys; the least valuable ones are evicted beyond it.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Time during which a key is remembered, and a retry gets the original response.
+     */
+    private Duration ttl = Duration.ofHours(24);
+}
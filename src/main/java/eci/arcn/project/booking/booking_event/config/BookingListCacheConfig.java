@@ -0,0 +1,31 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.cache.BookingListCache;
+import eci.arcn.project.booking.booking_event.cache.SharedCacheTier;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the cache in front of the full booking lists of
+ * GET /api/bookings/user/{userId} and GET /api/bookings/user/email/{userEmail}.
+ *
+ * The shared tier is used when the context defines a {@link SharedCacheTier} bean;
+ * otherwise the cache has a single, in-process level.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingListCacheProperties.class)
+public class BookingListCacheConfig {
+
+    @Bean
+    public BookingListCache bookingListCache(BookingListCacheProperties properties, BookingService bookingService,
+                                             ObjectProvider<SharedCacheTier> sharedCacheTier,
+                                             MeterRegistry meterRegistry) {
+        return new BookingListCache(bookingService, properties.getMaximumSize().toBytes(),
+                properties.getExpireAfterWrite(), sharedCacheTier.getIfAvailable(), meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Settings of the per-user booking list cache ("booking.list-cache.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.list-cache")
+public class BookingListCacheProperties {
+
+    /**
+     * Maximum total size of the serialized lists kept in process; the least valuable
+     * entries are evicted beyond it.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Time after which a list kept in process is reloaded. Without a shared tier, it
+     * bounds how long an instance serves a list changed through another instance.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
@@ -0,0 +1,27 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.repository.wal.WalBookingJournal;
+
+/**
+ * Configuration of the in-memory repository durability mode, enabled with
+ * booking.persistence.wal.enabled=true.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingPersistenceProperties.class)
+@ConditionalOnProperty(prefix = "booking.persistence.wal", name = "enabled", havingValue = "true")
+public class BookingPersistenceConfig {
+
+    @Bean
+    public WalBookingJournal bookingJournal(BookingPersistenceProperties properties) {
+        return new WalBookingJournal(Path.of(properties.getDirectory()), properties.getSegmentSize(),
+                properties.getFlushInterval().toMillis(), properties.getFlushBatchSize(),
+                properties.isSyncOnSave(), properties.getSnapshotInterval());
+    }
+}
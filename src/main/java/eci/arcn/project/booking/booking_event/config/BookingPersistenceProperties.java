@@ -0,0 +1,50 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the in-memory repository durability mode ("booking.persistence.wal.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.persistence.wal")
+public class BookingPersistenceProperties {
+
+    /**
+     * Whether saves are journaled to a write-ahead log and restored on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the log segments and snapshots.
+     */
+    private String directory = "data/wal";
+
+    /**
+     * Size of a memory-mapped log segment in bytes.
+     */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * Maximum time between two group commits (fsync of pending records).
+     */
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    /**
+     * Number of pending records that triggers a group commit immediately.
+     */
+    private int flushBatchSize = 256;
+
+    /**
+     * Whether a save returns only once its record has been flushed to disk.
+     */
+    private boolean syncOnSave = true;
+
+    /**
+     * Time between two snapshots.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,44 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import eci.arcn.project.booking.booking_event.ratelimit.ClientRateLimiter;
+import eci.arcn.project.booking.booking_event.ratelimit.ConcurrencyLimiter;
+import eci.arcn.project.booking.booking_event.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the rate limiting and load shedding of the /api endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(BookingRateLimitProperties.class)
+public class BookingRateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(BookingRateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new ClientRateLimiter(properties.getPermitsPerSecond(), properties.getBurst(),
+                properties.getMaximumClients(), meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(BookingRateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new ConcurrencyLimiter(properties.getMaxConcurrentRequests(), properties.getMaxQueueTime(),
+                properties.getOverloadRetryAfter(), meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(ClientRateLimiter clientRateLimiter,
+                                                ConcurrencyLimiter concurrencyLimiter) {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(clientRateLimiter, concurrencyLimiter);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the rate limiting and load shedding of the API ("booking.ratelimit.*" properties).
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.ratelimit")
+public class BookingRateLimitProperties {
+
+    /**
+     * Sustained request rate allowed per client (user ID or API key); 0 disables the limit.
+     */
+    private double permitsPerSecond = 5;
+
+    /**
+     * Number of requests a client may send at once before being limited to the sustained rate.
+     */
+    private int burst = 20;
+
+    /**
+     * Maximum number of clients tracked at once.
+     */
+    private long maximumClients = 100_000;
+
+    /**
+     * Number of API requests processed at once.
+     */
+    private int maxConcurrentRequests = 150;
+
+    /**
+     * Queueing latency target: a request waiting longer than this for a slot is shed with a 503.
+     */
+    private Duration maxQueueTime = Duration.ofMillis(100);
+
+    /**
+     * Retry-After sent with a 503.
+     */
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,71 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import eci.arcn.project.booking.booking_event.metrics.MeteredBookingRepository;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.repository.columnar.ColumnarBookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics configuration.
+ *
+ * HTTP latency comes from Spring MVC's http.server.requests timers (one per endpoint,
+ * histograms enabled in application.properties). This configuration adds the timings
+ * of the repository and, for the in-memory stores, their size.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps the BookingRepository bean so that its operations are timed.
+     *
+     * @param registryProvider provider of the meter registry
+     * @return the post-processor decorating the repository
+     */
+    @Bean
+    public static BeanPostProcessor bookingRepositoryMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof BookingRepository repository) || bean instanceof MeteredBookingRepository) {
+                    return bean;
+                }
+                MeterRegistry registry = registryProvider.getObject();
+                if (repository instanceof InMemoryBookingRepository inMemory) {
+                    bindIndexSizes(inMemory, registry);
+                } else if (repository instanceof ColumnarBookingRepository columnar) {
+                    Gauge.builder("booking.repository.size", columnar, ColumnarBookingRepository::size)
+                            .description("Bookings stored in memory")
+                            .register(registry);
+                }
+                return new MeteredBookingRepository(repository, registry);
+            }
+        };
+    }
+
+    // ====== Private helper methods ======
+
+    private static void bindIndexSizes(InMemoryBookingRepository repository, MeterRegistry registry) {
+        Gauge.builder("booking.repository.size", repository, InMemoryBookingRepository::size)
+                .description("Bookings stored in memory")
+                .register(registry);
+        Gauge.builder("booking.index.size", repository, InMemoryBookingRepository::reservationCount)
+                .description("Entries of the in-memory indexes")
+                .tag("index", "room_availability")
+                .register(registry);
+        Gauge.builder("booking.index.size", repository, InMemoryBookingRepository::userIdKeyCount)
+                .description("Entries of the in-memory indexes")
+                .tag("index", "user_id")
+                .register(registry);
+        Gauge.builder("booking.index.size", repository, InMemoryBookingRepository::userEmailKeyCount)
+                .description("Entries of the in-memory indexes")
+                .tag("index", "user_email")
+                .register(registry);
+    }
+}
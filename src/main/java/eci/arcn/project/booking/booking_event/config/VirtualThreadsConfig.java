@@ -0,0 +1,30 @@
+package eci.arcn.project.booking.booking_event.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warns when virtual threads are requested on a runtime that does not support them.
+ *
+ * With spring.threads.virtual.enabled=true on Java 21+, Spring Boot runs Tomcat request
+ * handling (and with it every service and repository call) and the application task
+ * executor on virtual threads. On older runtimes the property is silently ignored and
+ * the platform thread pools stay in use.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@ConditionalOnJava(range = ConditionalOnJava.Range.OLDER_THAN, value = JavaVersion.TWENTY_ONE)
+public class VirtualThreadsConfig {
+
+    @PostConstruct
+    void warnUnsupportedRuntime() {
+        log.warn("spring.threads.virtual.enabled=true requires Java 21+, running on {}: using platform threads",
+                Runtime.version());
+    }
+}
@@ -0,0 +1,95 @@
+package eci.arcn.project.booking.booking_event.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import eci.arcn.project.booking.booking_event.analytics.BookingAnalytics;
+import eci.arcn.project.booking.booking_event.dto.BookingStatsResponse;
+import eci.arcn.project.booking.booking_event.facade.BookingMapper;
+import lombok.RequiredArgsConstructor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controller that exposes the occupancy and revenue analytics.
+ *
+ * Statistics cover the given rooms, or every booked room, over a range of at most 366
+ * UTC days. They are read from running aggregates, so a query does not scan the bookings.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final BookingAnalytics bookingAnalytics;
+
+    /**
+     * Aggregates the rooms over a range.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param roomIds the rooms; every booked room if absent
+     * @return the totals over the range
+     */
+    @Operation(summary = "Booking statistics", description = "Returns the bookings per state, amounts, refunds, revenue and occupancy of the rooms over the range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid rooms or range provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<BookingStatsResponse> getSummary(@RequestParam Instant from,
+                                                           @RequestParam Instant to,
+                                                           @RequestParam(value = "roomId", required = false)
+                                                           List<String> roomIds) {
+        return ResponseEntity.ok(BookingMapper.toBookingStatsResponse(bookingAnalytics.summary(roomIds, from, to)));
+    }
+
+    /**
+     * Aggregates each room over a range.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param roomIds the rooms; every booked room if absent
+     * @return the totals of each room, by room ID
+     */
+    @Operation(summary = "Booking statistics per room", description = "Returns the statistics of each room over the range, ordered by room ID.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid rooms or range provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/rooms")
+    public ResponseEntity<List<BookingStatsResponse>> getStatsByRoom(@RequestParam Instant from,
+                                                                     @RequestParam Instant to,
+                                                                     @RequestParam(value = "roomId", required = false)
+                                                                     List<String> roomIds) {
+        return ResponseEntity.ok(BookingMapper.toRoomStatsResponseList(bookingAnalytics.statsByRoom(roomIds, from, to)));
+    }
+
+    /**
+     * Aggregates the rooms day by day over a range.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param roomIds the rooms; every booked room if absent
+     * @return the totals for each day of the range, in chronological order
+     */
+    @Operation(summary = "Daily booking statistics", description = "Returns the statistics of the rooms for each UTC day of the range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid rooms or range provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<List<BookingStatsResponse>> getStatsByDay(@RequestParam Instant from,
+                                                                    @RequestParam Instant to,
+                                                                    @RequestParam(value = "roomId", required = false)
+                                                                    List<String> roomIds) {
+        return ResponseEntity.ok(BookingMapper.toDailyStatsResponseList(bookingAnalytics.statsByDay(roomIds, from, to)));
+    }
+}
@@ -1,67 +1,199 @@
 package eci.arcn.project.booking.booking_event.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eci.arcn.project.booking.booking_event.cache.BookingListCache;
+import eci.arcn.project.booking.booking_event.cache.BookingResponseCache;
+import eci.arcn.project.booking.booking_event.cache.CachedBookingResponse;
 import eci.arcn.project.booking.booking_event.dto.BookingResponse;
+import eci.arcn.project.booking.booking_event.dto.BookingResultResponse;
+import eci.arcn.project.booking.booking_event.dto.BulkCreateBookingRequest;
 import eci.arcn.project.booking.booking_event.dto.CreateBookingRequest;
+import eci.arcn.project.booking.booking_event.facade.BookingJsonWriter;
 import eci.arcn.project.booking.booking_event.facade.BookingMapper;
+import eci.arcn.project.booking.booking_event.idempotency.IdempotencyStore;
 import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.ratelimit.ChargedOnExecution;
+import eci.arcn.project.booking.booking_event.ratelimit.ClientRateLimiter;
+import eci.arcn.project.booking.booking_event.ratelimit.RateLimitInterceptor;
+import eci.arcn.project.booking.booking_event.service.BookingPage;
+import eci.arcn.project.booking.booking_event.service.BookingResult;
 import eci.arcn.project.booking.booking_event.service.BookingService;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controller that exposes the REST API endpoints for Booking management.
  * 
- * Provides operations to create, cancel, reject, and retrieve bookings by different criteria.
+ * Provides operations to create, confirm, cancel, reject, and retrieve bookings by different criteria.
+ * User booking queries can be paginated with a keyset cursor, or streamed as NDJSON
+ * when the client accepts application/x-ndjson. Creations and cancellations sent with
+ * an Idempotency-Key header are executed once per key and caller (the X-API-Key header;
+ * without one, the user ID of the booking, or the remote address when it has none);
+ * retries get the first response.
+ * Creations are also rate limited per user ID, on top of the per-client limit; a retry
+ * answered from the idempotency store counts against neither. A bulk creation is
+ * charged like as many single creations.
  */
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
 public class BookingController {
 
+    /**
+     * Page size used when a cursor is given without a limit.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
+    private final ObjectMapper objectMapper;
+
+    private final BookingResponseCache bookingResponseCache;
+
+    private final BookingListCache bookingListCache;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final ClientRateLimiter clientRateLimiter;
+
     /**
      * Creates a new booking.
      *
      * @param request the booking details including client information
+     * @param idempotencyKey key identifying the request across retries, if any
+     * @param servletRequest the HTTP request, carrying the API key of the calling application, if any
      * @return the generated booking ID
      */
-    @Operation(summary = "Create a new booking", description = "Creates a new booking with client and room details.")
+    @Operation(summary = "Create a new booking", description = "Creates a new booking with client and room details. A retry with the same Idempotency-Key returns the first response.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Booking created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid booking details"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "400", description = "Invalid booking details, or Idempotency-Key reused for another request"),
+        @ApiResponse(responseCode = "429", description = "Too many requests from this user, see Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Service overloaded, see Retry-After")
     })
     @PostMapping
-    public ResponseEntity<String> createBooking(@RequestBody CreateBookingRequest request) {
-        Booking booking = BookingMapper.toBooking(request);
-        String bookingId = bookingService.createBooking(booking);
-        return ResponseEntity.ok(bookingId);
+    @ChargedOnExecution
+    public ResponseEntity<String> createBooking(@RequestBody CreateBookingRequest request,
+                                                @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false)
+                                                String idempotencyKey,
+                                                HttpServletRequest servletRequest) {
+        String userId = request.getClient() == null ? null : request.getClient().getUserId();
+        String userKey = userKey(userId);
+        return idempotencyStore.execute("create", caller(servletRequest, userId), idempotencyKey, request, () -> {
+            // Only charged when the request runs: a replayed retry is not limited
+            chargeClient(idempotencyKey, servletRequest);
+            clientRateLimiter.acquire(userKey);
+            Booking booking = BookingMapper.toBooking(request);
+            String bookingId = bookingService.createBooking(booking);
+            return ResponseEntity.ok(bookingId);
+        });
+    }
+
+    /**
+     * Creates several bookings in one batch.
+     *
+     * The batch is charged one permit per booking to the calling client, and to the user
+     * ID of each booking, before anything is created.
+     *
+     * @param request the bookings to create and whether the batch is all-or-nothing
+     * @param servletRequest the HTTP request, carrying the API key of the calling application, if any
+     * @return the outcome of each booking, in request order
+     */
+    @Operation(summary = "Create bookings in bulk", description = "Validates, checks and saves a batch of bookings, either all-or-nothing or keeping the successful ones.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the outcome of each booking"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch, or atomic batch not saved"),
+        @ApiResponse(responseCode = "429", description = "Too many bookings from this client or user, see Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/bulk")
+    @ChargedOnExecution(always = true)
+    public ResponseEntity<List<BookingResultResponse>> createBookings(@RequestBody BulkCreateBookingRequest request,
+                                                                      HttpServletRequest servletRequest) {
+        chargeBatch(request, servletRequest);
+        if (request.getBookings() == null) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
+        List<Booking> bookings = request.getBookings().stream()
+                .map(item -> item == null ? null : BookingMapper.toBooking(item))
+                .toList();
+        List<BookingResult> results = bookingService.createBookings(bookings, request.isAtomic());
+        boolean rejected = request.isAtomic() && !results.stream().allMatch(BookingResult::isCreated);
+        return ResponseEntity.status(rejected ? HttpStatus.BAD_REQUEST : HttpStatus.OK)
+                .body(BookingMapper.toBookingResultResponseList(results));
+    }
+
+    /**
+     * Confirms a pending booking by its booking ID.
+     *
+     * @param bookingId the ID of the booking to confirm
+     * @return a HTTP 200 OK response if successful
+     */
+    @Operation(summary = "Confirm a booking", description = "Confirms a pending booking before its hold expires.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Booking confirmed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid booking ID, or booking not pending"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{bookingId}/confirm")
+    public ResponseEntity<Void> confirmBooking(@PathVariable String bookingId) {
+        bookingService.confirmBooking(bookingId);
+        return ResponseEntity.ok().build();
     }
 
     /**
      * Cancels an existing booking by its booking ID.
      *
      * @param bookingId the ID of the booking to cancel
+     * @param idempotencyKey key identifying the request across retries, if any
+     * @param servletRequest the HTTP request, carrying the API key of the calling application, if any
      * @return a HTTP 200 OK response if successful
      */
-    @Operation(summary = "Cancel a booking", description = "Cancels an existing booking using the booking ID.")
+    @Operation(summary = "Cancel a booking", description = "Cancels an existing booking using the booking ID. A retry with the same Idempotency-Key returns the first response.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Booking cancelled successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid booking ID provided"),
+        @ApiResponse(responseCode = "400", description = "Invalid booking ID provided, or Idempotency-Key reused for another request"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/{bookingId}/cancel")
-    public ResponseEntity<Void> cancelBooking(@PathVariable String bookingId) {
-        bookingService.cancelBooking(bookingId);
-        return ResponseEntity.ok().build();
+    @ChargedOnExecution
+    public ResponseEntity<Void> cancelBooking(@PathVariable String bookingId,
+                                              @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false)
+                                              String idempotencyKey,
+                                              HttpServletRequest servletRequest) {
+        String caller = idempotencyKey == null
+                ? RateLimitInterceptor.clientKey(servletRequest)
+                : caller(servletRequest, bookingOwner(bookingId, servletRequest));
+        return idempotencyStore.execute("cancel", caller, idempotencyKey, bookingId, () -> {
+            chargeClient(idempotencyKey, servletRequest);
+            bookingService.cancelBooking(bookingId);
+            return ResponseEntity.ok().build();
+        });
     }
 
     /**
@@ -85,54 +217,234 @@ public class BookingController {
     /**
      * Retrieves a booking by its booking ID.
      *
+     * The serialized response comes from the booking response cache and carries an
+     * ETag; a request whose If-None-Match matches it gets a 304 without body.
+     *
      * @param bookingId the ID of the booking
-     * @return the booking details wrapped in a BookingResponse object
+     * @param ifNoneMatch the entity tags already held by the client, if any
+     * @return the booking details as a BookingResponse JSON document
      */
     @Operation(summary = "Retrieve a booking by ID", description = "Fetches a booking using its unique booking ID.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Booking retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Booking unchanged since the given ETag"),
         @ApiResponse(responseCode = "400", description = "Invalid booking ID provided"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/{bookingId}")
-    public ResponseEntity<BookingResponse> getBookingById(@PathVariable String bookingId) {
-        Booking booking = bookingService.getBookingById(bookingId);
-        return ResponseEntity.ok(BookingMapper.toBookingResponse(booking));
+    @GetMapping(value = "/{bookingId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getBookingById(@PathVariable String bookingId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        CachedBookingResponse response = bookingResponseCache.get(bookingId);
+        if (response.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
     }
 
     /**
-     * Retrieves all bookings associated with a specific user ID.
+     * Retrieves the bookings associated with a specific user ID.
+     *
+     * Without cursor nor limit every booking is returned at once, from the booking list
+     * cache. Otherwise a page is returned, and the cursor of the next one (if any) is sent
+     * in the X-Next-Cursor header.
      *
      * @param userId the user ID to search for
+     * @param cursor the X-Next-Cursor of the previous page, absent for the first page
+     * @param limit the maximum number of bookings in the page
      * @return a list of bookings for the given user ID
      */
-    @Operation(summary = "Retrieve bookings by user ID", description = "Fetches all bookings associated with a specific user ID.")
+    @Operation(summary = "Retrieve bookings by user ID", description = "Fetches the bookings associated with a specific user ID, all at once or page by page.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid user ID provided"),
+        @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = BookingResponse.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid user ID or page size provided"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByUserId(@PathVariable String userId) {
-        List<Booking> bookings = bookingService.getBookingsByUserId(userId);
-        return ResponseEntity.ok(BookingMapper.toBookingResponseList(bookings));
+    public ResponseEntity<byte[]> getBookingsByUserId(@PathVariable String userId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(bookingListCache.getByUserId(userId));
+        }
+        return toPageResponse(bookingService.getBookingsByUserId(userId, cursor, pageSize(limit)));
+    }
+
+    /**
+     * Streams all bookings associated with a specific user ID as newline-delimited JSON.
+     *
+     * @param userId the user ID to search for
+     * @return one booking per line, written as they are loaded
+     */
+    @Operation(summary = "Stream bookings by user ID", description = "Streams all bookings of a user ID as NDJSON, with constant memory usage.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bookings streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid user ID provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByUserId(@PathVariable String userId) {
+        Stream<Booking> bookings = bookingService.streamBookingsByUserId(userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(bookings, out));
     }
 
     /**
-     * Retrieves all bookings associated with a specific user email.
+     * Retrieves the bookings associated with a specific user email.
+     *
+     * Without cursor nor limit every booking is returned at once, from the booking list
+     * cache. Otherwise a page is returned, and the cursor of the next one (if any) is sent
+     * in the X-Next-Cursor header.
      *
      * @param userEmail the user's email to search for
+     * @param cursor the X-Next-Cursor of the previous page, absent for the first page
+     * @param limit the maximum number of bookings in the page
      * @return a list of bookings for the given email
      */
-    @Operation(summary = "Retrieve bookings by user email", description = "Fetches all bookings associated with a specific user email address.")
+    @Operation(summary = "Retrieve bookings by user email", description = "Fetches the bookings associated with a specific user email address, all at once or page by page.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid user email provided"),
+        @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = BookingResponse.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid user email or page size provided"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/user/email/{userEmail}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByUserEmail(@PathVariable String userEmail) {
-        List<Booking> bookings = bookingService.getBookingsByUserEmail(userEmail);
-        return ResponseEntity.ok(BookingMapper.toBookingResponseList(bookings));
+    public ResponseEntity<byte[]> getBookingsByUserEmail(@PathVariable String userEmail,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(bookingListCache.getByUserEmail(userEmail));
+        }
+        return toPageResponse(bookingService.getBookingsByUserEmail(userEmail, cursor, pageSize(limit)));
+    }
+
+    /**
+     * Streams all bookings associated with a specific user email as newline-delimited JSON.
+     *
+     * @param userEmail the user's email to search for
+     * @return one booking per line, written as they are loaded
+     */
+    @Operation(summary = "Stream bookings by user email", description = "Streams all bookings of a user email as NDJSON, with constant memory usage.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bookings streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid user email provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/user/email/{userEmail}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByUserEmail(@PathVariable String userEmail) {
+        Stream<Booking> bookings = bookingService.streamBookingsByUserEmail(userEmail);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(bookings, out));
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Charges the per-client rate limit of an idempotent request that is executed. Requests
+     * without an Idempotency-Key were already charged by the RateLimitInterceptor.
+     *
+     * @param idempotencyKey the Idempotency-Key header, or null
+     * @param servletRequest the HTTP request
+     */
+    private void chargeClient(String idempotencyKey, HttpServletRequest servletRequest) {
+        if (idempotencyKey != null) {
+            clientRateLimiter.acquire(RateLimitInterceptor.clientKey(servletRequest));
+        }
+    }
+
+    /**
+     * Charges a bulk creation one permit per booking: to the calling client for the whole
+     * batch, and to each user ID for its own bookings.
+     *
+     * @param request the bulk creation request
+     * @param servletRequest the HTTP request
+     */
+    private void chargeBatch(BulkCreateBookingRequest request, HttpServletRequest servletRequest) {
+        List<CreateBookingRequest> items = request.getBookings() == null ? List.of() : request.getBookings();
+        clientRateLimiter.acquire(RateLimitInterceptor.clientKey(servletRequest), Math.max(1, items.size()));
+        items.stream()
+                .filter(item -> item != null && item.getClient() != null && item.getClient().getUserId() != null)
+                .collect(Collectors.groupingBy(item -> item.getClient().getUserId(), Collectors.counting()))
+                .forEach((userId, count) -> clientRateLimiter.acquire(userKey(userId), count.intValue()));
+    }
+
+    /**
+     * Returns the caller an idempotent request is scoped to: its API key, otherwise the
+     * given user ID, otherwise its remote address.
+     *
+     * @param servletRequest the HTTP request
+     * @param userId the user the request acts for, or null
+     * @return the caller, never null
+     */
+    private static String caller(HttpServletRequest servletRequest, String userId) {
+        return servletRequest.getHeader(RateLimitInterceptor.API_KEY_HEADER) != null || userId == null
+                ? RateLimitInterceptor.clientKey(servletRequest)
+                : userKey(userId);
+    }
+
+    /**
+     * Finds the user ID of a booking to scope a cancellation sent without an API key.
+     *
+     * @param bookingId the ID of the booking being cancelled
+     * @param servletRequest the HTTP request
+     * @return the user ID, or null if the request has an API key or the booking has no user
+     */
+    private String bookingOwner(String bookingId, HttpServletRequest servletRequest) {
+        if (servletRequest.getHeader(RateLimitInterceptor.API_KEY_HEADER) != null) {
+            return null;
+        }
+        try {
+            Booking booking = bookingService.getBookingById(bookingId);
+            return booking.getClient() == null ? null : booking.getClient().getUserId();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Unknown booking: the cancellation fails anyway, scoped to the remote address
+            return null;
+        }
+    }
+
+    private static String userKey(String userId) {
+        return userId == null ? null : "user:" + userId;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : limit;
+    }
+
+    private static ResponseEntity<byte[]> toPageResponse(BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(BookingJsonWriter.toJson(page.bookings()));
+    }
+
+    /**
+     * Writes the bookings one at a time, one JSON document per line.
+     *
+     * @param bookings the bookings to write; closed once written
+     * @param out the response body
+     * @throws IOException if the response cannot be written
+     */
+    private void writeNdjson(Stream<Booking> bookings, OutputStream out) throws IOException {
+        try (bookings; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingJsonWriter.write(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
     }
 }
@@ -0,0 +1,104 @@
+package eci.arcn.project.booking.booking_event.controller;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import eci.arcn.project.booking.booking_event.cancellation.BulkCancellationService;
+import eci.arcn.project.booking.booking_event.cancellation.CancellationJob;
+import eci.arcn.project.booking.booking_event.dto.BulkCancellationRequest;
+import eci.arcn.project.booking.booking_event.dto.CancellationJobResponse;
+import eci.arcn.project.booking.booking_event.facade.BookingMapper;
+import lombok.RequiredArgsConstructor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controller that exposes the bulk cancellation jobs.
+ *
+ * A job cancels, in the background, every active booking of some rooms (or of every
+ * room) overlapping a date range and refunds them like single cancellations. Its
+ * progress is polled from the URL returned in the Location header.
+ */
+@RestController
+@RequestMapping("/api/bookings/cancellations")
+@RequiredArgsConstructor
+public class BulkCancellationController {
+
+    private final BulkCancellationService bulkCancellationService;
+
+    /**
+     * Starts a bulk cancellation.
+     *
+     * @param request the rooms and the date range whose bookings are cancelled
+     * @return the started job, with its URL in the Location header
+     */
+    @Operation(summary = "Start a bulk cancellation", description = "Cancels in the background every active booking of the given rooms (every room if none) overlapping the range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Cancellation job started"),
+        @ApiResponse(responseCode = "400", description = "Invalid rooms or range provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping
+    public ResponseEntity<CancellationJobResponse> startCancellation(@RequestBody BulkCancellationRequest request) {
+        CancellationJob job = bulkCancellationService.start(request.getRoomIds(), request.getFrom(), request.getTo());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/bookings/cancellations/" + job.getJobId()))
+                .body(BookingMapper.toCancellationJobResponse(job));
+    }
+
+    /**
+     * Retrieves the progress of a bulk cancellation.
+     *
+     * @param jobId the job ID
+     * @return the progress and results of the job
+     */
+    @Operation(summary = "Retrieve a bulk cancellation", description = "Returns the progress, refund total and failed bookings of a cancellation job.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cancellation job retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown job ID"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<CancellationJobResponse> getCancellation(@PathVariable String jobId) {
+        return ResponseEntity.ok(BookingMapper.toCancellationJobResponse(bulkCancellationService.get(jobId)));
+    }
+
+    /**
+     * Stops a bulk cancellation once its chunks in progress are done.
+     *
+     * @param jobId the job ID
+     * @return the job, still RUNNING until it has stopped
+     */
+    @Operation(summary = "Stop a bulk cancellation", description = "Stops a cancellation job between chunks; it can be resumed later.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Stop requested"),
+        @ApiResponse(responseCode = "400", description = "Unknown job ID"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{jobId}/stop")
+    public ResponseEntity<CancellationJobResponse> stopCancellation(@PathVariable String jobId) {
+        return ResponseEntity.accepted()
+                .body(BookingMapper.toCancellationJobResponse(bulkCancellationService.stop(jobId)));
+    }
+
+    /**
+     * Resumes a stopped or failed bulk cancellation.
+     *
+     * @param jobId the job ID
+     * @return the resumed job
+     */
+    @Operation(summary = "Resume a bulk cancellation", description = "Resumes a stopped or failed cancellation job with the bookings it has not processed.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Cancellation job resumed"),
+        @ApiResponse(responseCode = "400", description = "Unknown job ID, or job running or completed"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<CancellationJobResponse> resumeCancellation(@PathVariable String jobId) {
+        return ResponseEntity.accepted()
+                .body(BookingMapper.toCancellationJobResponse(bulkCancellationService.resume(jobId)));
+    }
+}
@@ -1,9 +1,17 @@
 package eci.arcn.project.booking.booking_event.controller;
 
+import java.time.Duration;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import eci.arcn.project.booking.booking_event.ratelimit.RateLimitExceededException;
+import eci.arcn.project.booking.booking_event.ratelimit.ServiceOverloadedException;
+
 /**
  * Global exception handler for the Booking Event API.
  * 
@@ -35,6 +43,44 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    /**
+     * Handles OptimisticLockingFailureException thrown when a booking is saved from an
+     * outdated read.
+     *
+     * @param ex the thrown OptimisticLockingFailureException
+     * @return a HTTP 409 Conflict response with the exception message
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Handles RateLimitExceededException thrown when a client exceeds its rate limit.
+     *
+     * @param ex the thrown RateLimitExceededException
+     * @return a HTTP 429 Too Many Requests response with a Retry-After header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles ServiceOverloadedException thrown when a request is shed under overload.
+     *
+     * @param ex the thrown ServiceOverloadedException
+     * @return a HTTP 503 Service Unavailable response with a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ex.getMessage());
+    }
+
     /**
      * Handles any unexpected exceptions not explicitly handled elsewhere.
      *
@@ -45,4 +91,14 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleGenericException(Exception ex) {
         return ResponseEntity.internalServerError().body("Internal Server Error: " + ex.getMessage());
     }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Formats a delay as a Retry-After value: whole seconds, rounded up, at least 1.
+     */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        long millis = Math.max(1, retryAfter.toMillis());
+        return Long.toString((millis + 999) / 1000);
+    }
 }
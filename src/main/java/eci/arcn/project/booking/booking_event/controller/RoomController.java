@@ -0,0 +1,73 @@
+package eci.arcn.project.booking.booking_event.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import eci.arcn.project.booking.booking_event.dto.TimeWindowResponse;
+import eci.arcn.project.booking.booking_event.facade.BookingMapper;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import lombok.RequiredArgsConstructor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controller that exposes the room availability search.
+ *
+ * Lets clients find free rooms or free windows before creating a booking, instead of
+ * probing rooms with creation requests. Dates are ISO-8601 instants and periods are
+ * half-open [start, finish).
+ */
+@RestController
+@RequestMapping("/api/rooms")
+@RequiredArgsConstructor
+public class RoomController {
+
+    private final BookingService bookingService;
+
+    /**
+     * Finds the rooms free for a whole period.
+     *
+     * @param start start of the period (inclusive)
+     * @param finish end of the period (exclusive)
+     * @param roomIds the candidate rooms; every booked room if absent
+     * @return the IDs of the free rooms
+     */
+    @Operation(summary = "Search free rooms", description = "Returns the rooms having no active booking during the given period.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Free rooms retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/available")
+    public ResponseEntity<List<String>> findAvailableRooms(@RequestParam Instant start,
+                                                           @RequestParam Instant finish,
+                                                           @RequestParam(value = "roomId", required = false)
+                                                           List<String> roomIds) {
+        return ResponseEntity.ok(bookingService.findAvailableRooms(start, finish, roomIds));
+    }
+
+    /**
+     * Finds the free windows of a room within a range.
+     *
+     * @param roomId the room identifier
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the free windows, in chronological order
+     */
+    @Operation(summary = "Search free windows of a room", description = "Returns the periods during which a room has no active booking within the given range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Free windows retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid room or range provided"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{roomId}/free-windows")
+    public ResponseEntity<List<TimeWindowResponse>> findFreeWindows(@PathVariable String roomId,
+                                                                    @RequestParam Instant from,
+                                                                    @RequestParam Instant to) {
+        return ResponseEntity.ok(BookingMapper.toTimeWindowResponseList(bookingService.findFreeWindows(roomId, from, to)));
+    }
+}
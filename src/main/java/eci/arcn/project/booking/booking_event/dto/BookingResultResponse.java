@@ -0,0 +1,30 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one booking of a bulk creation.
+ */
+@Data
+public class BookingResultResponse {
+
+    /**
+     * Position of the booking in the request.
+     */
+    private int index;
+
+    /**
+     * The ID of the created booking, null if it was not created.
+     */
+    private String bookingId;
+
+    /**
+     * CREATED, INVALID, UNAVAILABLE_ROOM or ABORTED.
+     */
+    private String outcome;
+
+    /**
+     * The reason of the failure, null if the booking was created.
+     */
+    private String message;
+}
@@ -0,0 +1,58 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * DTO representing the occupancy and revenue of a set of rooms over a range, or of a
+ * single room or day of it.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingStatsResponse {
+
+    /**
+     * The room, for per-room statistics.
+     */
+    private String roomId;
+
+    /**
+     * The UTC day, for daily statistics.
+     */
+    private LocalDate day;
+
+    /**
+     * Number of bookings starting in the range.
+     */
+    private long bookings;
+
+    private Map<String, Long> bookingsByState;
+
+    /**
+     * Sum of the booking amounts, per state.
+     */
+    private Map<String, Double> amountByState;
+
+    private double refundAmount;
+
+    /**
+     * Confirmed amounts, plus cancelled amounts minus their refunds.
+     */
+    private double revenue;
+
+    /**
+     * Room nights held by pending and confirmed bookings.
+     */
+    private long occupiedNights;
+
+    private long availableNights;
+
+    /**
+     * Occupied nights over available nights, between 0 and 1.
+     */
+    private double occupancyRate;
+}
@@ -0,0 +1,28 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) selecting the bookings cancelled by a bulk cancellation.
+ */
+@Data
+public class BulkCancellationRequest {
+
+    /**
+     * The rooms whose bookings are cancelled, null or empty for every room.
+     */
+    private List<String> roomIds;
+
+    /**
+     * Start of the range (inclusive); bookings overlapping the range are cancelled.
+     */
+    private Instant from;
+
+    /**
+     * End of the range (exclusive).
+     */
+    private Instant to;
+}
@@ -0,0 +1,22 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a batch of bookings to create at once.
+ */
+@Data
+public class BulkCreateBookingRequest {
+
+    /**
+     * Whether the batch is all-or-nothing. When false, the valid and available
+     * bookings are created and the others reported as failed.
+     */
+    private boolean atomic;
+
+    /**
+     * The bookings to create.
+     */
+    private List<CreateBookingRequest> bookings;
+}
@@ -0,0 +1,17 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import lombok.Data;
+
+/**
+ * DTO representing a booking that a bulk cancellation could not cancel.
+ */
+@Data
+public class CancellationFailureResponse {
+
+    private String bookingId;
+
+    /**
+     * The reason of the failure.
+     */
+    private String message;
+}
@@ -0,0 +1,62 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * DTO representing the progress and results of a bulk cancellation job.
+ */
+@Data
+public class CancellationJobResponse {
+
+    private String jobId;
+
+    /**
+     * RUNNING, STOPPED, COMPLETED or FAILED.
+     */
+    private String status;
+
+    /**
+     * The rooms whose bookings are cancelled, empty for every room.
+     */
+    private List<String> roomIds;
+
+    private Instant from;
+
+    private Instant to;
+
+    private Instant createdDate;
+
+    /**
+     * End of the last run, null while running.
+     */
+    private Instant finishedDate;
+
+    /**
+     * Number of bookings selected when the job started.
+     */
+    private int totalBookings;
+
+    private long processedBookings;
+
+    private long cancelledBookings;
+
+    private long failedBookings;
+
+    /**
+     * Sum of the refunds of the cancelled bookings.
+     */
+    private double refundTotal;
+
+    /**
+     * Cause of the failure of a FAILED job.
+     */
+    private String error;
+
+    /**
+     * The first bookings that could not be cancelled.
+     */
+    private List<CancellationFailureResponse> failures;
+}
@@ -0,0 +1,22 @@
+package eci.arcn.project.booking.booking_event.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * DTO representing a time window of a room, such as a free window.
+ */
+@Data
+public class TimeWindowResponse {
+
+    /**
+     * Start of the window (inclusive).
+     */
+    private Instant start;
+
+    /**
+     * End of the window (exclusive).
+     */
+    private Instant finish;
+}
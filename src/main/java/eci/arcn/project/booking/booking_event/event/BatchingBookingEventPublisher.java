@@ -0,0 +1,248 @@
+package eci.arcn.project.booking.booking_event.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forwards booking events to the broker off the request thread.
+ *
+ * Events are put in a bounded in-process buffer and a single sender thread drains it
+ * in batches: a batch is sent as soon as it is full or when the linger time since its
+ * first event has elapsed. When the broker is slow and the buffer fills up, new events
+ * are dropped (and counted) after at most the offer timeout, so the REST call never
+ * waits on the broker.
+ */
+@Slf4j
+public class BatchingBookingEventPublisher implements AutoCloseable {
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Minimum time between two warnings about dropped events.
+     */
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final BookingEventTransport transport;
+
+    private final BlockingQueue<BookingEvent> buffer;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final long offerTimeoutMillis;
+
+    private final int maxAttempts;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong lastDropWarningNanos = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    private final Thread sender;
+
+    private volatile boolean running;
+
+    /**
+     * Creates a publisher. Call {@link #start()} to begin sending.
+     *
+     * @param transport the transport sending batches to the broker
+     * @param bufferCapacity maximum number of events waiting to be sent
+     * @param batchSize maximum number of events per batch
+     * @param lingerMillis how long to wait for a batch to fill up
+     * @param offerTimeoutMillis how long a producer may wait for room in a full buffer
+     * @param maxAttempts how many times a batch is sent before it is given up
+     */
+    public BatchingBookingEventPublisher(BookingEventTransport transport, int bufferCapacity, int batchSize,
+                                         long lingerMillis, long offerTimeoutMillis, int maxAttempts) {
+        this.transport = transport;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.sender = new Thread(this::runSender, "booking-event-publisher");
+        this.sender.setDaemon(true);
+    }
+
+    /**
+     * Starts the sender thread.
+     */
+    public void start() {
+        running = true;
+        sender.start();
+    }
+
+    /**
+     * Receives the booking events published by the service.
+     *
+     * @param event the booking event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        publish(event);
+    }
+
+    /**
+     * Queues an event for sending.
+     *
+     * @param event the event to send
+     * @return true if the event was queued, false if it was dropped because the buffer is full
+     */
+    public boolean publish(BookingEvent event) {
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMillis <= 0
+                    ? buffer.offer(event)
+                    : buffer.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            long dropped = droppedCount.incrementAndGet();
+            warnDropped(dropped, event);
+        }
+        return accepted;
+    }
+
+    /**
+     * Stops accepting work and sends the events still in the buffer, waiting up to 10
+     * seconds for the sender. If the calling thread is interrupted meanwhile, the sender
+     * is interrupted too and the interrupt flag is restored.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sender.isAlive()) {
+            sender.interrupt();
+        }
+    }
+
+    /**
+     * @return the number of events confirmed by the broker
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * @return the number of events dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of events given up after failed send attempts
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of events waiting in the buffer
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Logs a dropped event at warn level, at most once per DROP_WARNING_INTERVAL_NANOS
+     * so that a saturated broker does not flood the log.
+     */
+    private void warnDropped(long dropped, BookingEvent event) {
+        long now = System.nanoTime();
+        long last = lastDropWarningNanos.get();
+        if (now - last >= DROP_WARNING_INTERVAL_NANOS && lastDropWarningNanos.compareAndSet(last, now)) {
+            log.warn("Event buffer full, dropped {} event for booking {} ({} events dropped so far)",
+                    event.type(), event.bookingId(), dropped);
+        }
+    }
+
+    /**
+     * Sender loop: waits for a first event, gathers a batch and sends it.
+     */
+    private void runSender() {
+        List<BookingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                BookingEvent first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds buffered events to the batch until it is full or the linger time is over.
+     *
+     * @param batch the batch holding its first event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void fillBatch(List<BookingEvent> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            BookingEvent next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Sends a batch, retrying with a linear backoff.
+     *
+     * @param batch the events to send
+     * @throws InterruptedException if interrupted during the backoff
+     */
+    private void send(List<BookingEvent> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                transport.send(batch);
+                publishedCount.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish {} booking events (attempt {}/{})", batch.size(), attempt, maxAttempts, e);
+                if (attempt < maxAttempts) {
+                    Thread.sleep(POLL_MILLIS * attempt);
+                }
+            }
+        }
+        failedCount.addAndGet(batch.size());
+        log.error("Giving up on {} booking events after {} attempts", batch.size(), maxAttempts);
+    }
+}
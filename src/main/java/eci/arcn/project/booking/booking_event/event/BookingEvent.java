@@ -0,0 +1,53 @@
+package eci.arcn.project.booking.booking_event.event;
+
+import java.time.Instant;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Immutable notification of a booking state change.
+ *
+ * Published by the service as a Spring application event after the change has been
+ * saved, and forwarded to the message broker when event publishing is enabled.
+ *
+ * @param type the kind of change
+ * @param bookingId the ID of the booking
+ * @param roomId the booked room
+ * @param userId the user ID of the client
+ * @param userEmail the email of the client
+ * @param startDate start of the booked period
+ * @param finishDate end of the booked period
+ * @param bookingState the state of the booking after the change
+ * @param amount the total amount of the booking
+ * @param refundAmount the refund amount, null unless cancelled
+ * @param occurredAt when the change happened
+ */
+public record BookingEvent(
+        BookingEventType type,
+        String bookingId,
+        String roomId,
+        String userId,
+        String userEmail,
+        Instant startDate,
+        Instant finishDate,
+        BookingState bookingState,
+        double amount,
+        Double refundAmount,
+        Instant occurredAt) {
+
+    /**
+     * Builds an event from the current state of a booking.
+     *
+     * @param type the kind of change
+     * @param booking the booking after the change
+     * @return the event
+     */
+    public static BookingEvent of(BookingEventType type, Booking booking) {
+        String userId = booking.getClient() == null ? null : booking.getClient().getUserId();
+        String userEmail = booking.getClient() == null ? null : booking.getClient().getUserEmail();
+        return new BookingEvent(type, booking.getBookingId(), booking.getRoomId(), userId, userEmail,
+                booking.getStartDate(), booking.getFinishDate(), booking.getBookingState(),
+                booking.getAmount(), booking.getRefundAmount(), Instant.now());
+    }
+}
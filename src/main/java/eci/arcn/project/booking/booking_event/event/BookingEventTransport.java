@@ -0,0 +1,17 @@
+package eci.arcn.project.booking.booking_event.event;
+
+import java.util.List;
+
+/**
+ * Sends batches of booking events to the message broker.
+ */
+public interface BookingEventTransport {
+
+    /**
+     * Sends a batch of events and waits until the broker has acknowledged all of them.
+     *
+     * @param events the events to send, in publication order
+     * @throws RuntimeException if the batch could not be sent or was not confirmed
+     */
+    void send(List<BookingEvent> events);
+}
@@ -0,0 +1,32 @@
+package eci.arcn.project.booking.booking_event.event;
+
+/**
+ * Enumeration of the booking state changes published to downstream systems.
+ */
+public enum BookingEventType {
+
+    /**
+     * A booking has been created and holds its room.
+     */
+    CREATED,
+
+    /**
+     * A booking has been cancelled and its refund computed.
+     */
+    CANCELLED,
+
+    /**
+     * A booking has been rejected.
+     */
+    REJECTED,
+
+    /**
+     * A pending booking has been confirmed.
+     */
+    CONFIRMED,
+
+    /**
+     * A pending booking has expired and released its room.
+     */
+    EXPIRED
+}
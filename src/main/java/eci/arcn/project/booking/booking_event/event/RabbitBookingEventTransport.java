@@ -0,0 +1,51 @@
+package eci.arcn.project.booking.booking_event.event;
+
+import java.util.List;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * RabbitMQ transport publishing every batch on a single channel with publisher confirms.
+ *
+ * Events are routed as "booking.&lt;type&gt;" (e.g. booking.created) on the configured
+ * topic exchange. The connection factory must use the SIMPLE publisher confirm type.
+ */
+public class RabbitBookingEventTransport implements BookingEventTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    private final long confirmTimeoutMillis;
+
+    /**
+     * Creates a transport.
+     *
+     * @param rabbitTemplate the template used to publish
+     * @param exchange the topic exchange receiving the events
+     * @param confirmTimeoutMillis how long to wait for the broker to confirm a batch
+     */
+    public RabbitBookingEventTransport(RabbitTemplate rabbitTemplate, String exchange, long confirmTimeoutMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(List<BookingEvent> events) {
+        rabbitTemplate.invoke(operations -> {
+            for (BookingEvent event : events) {
+                operations.convertAndSend(exchange, routingKey(event), event);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+
+    private static String routingKey(BookingEvent event) {
+        return "booking." + event.type().name().toLowerCase();
+    }
+}
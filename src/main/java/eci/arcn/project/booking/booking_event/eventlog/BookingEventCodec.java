@@ -0,0 +1,175 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Compact binary encoding of a booking event, one event per log record.
+ *
+ * Like the WAL records, a leading bit set marks which nullable fields are present and
+ * enums are stored by ordinal. The booking ID and the user ID come first so that the
+ * replay can route a record to its partition without decoding it.
+ */
+final class BookingEventCodec {
+
+    private static final int BOOKING_ID = 1;
+    private static final int USER_ID = 1 << 1;
+    private static final int USER_EMAIL = 1 << 2;
+    private static final int ROOM_ID = 1 << 3;
+    private static final int START_DATE = 1 << 4;
+    private static final int FINISH_DATE = 1 << 5;
+    private static final int STATE = 1 << 6;
+    private static final int REFUND = 1 << 7;
+    private static final int OCCURRED_AT = 1 << 8;
+
+    /**
+     * Size of the flags and the event type preceding the booking ID.
+     */
+    private static final int HEADER_SIZE = 3;
+
+    private static final BookingEventType[] TYPES = BookingEventType.values();
+
+    private static final BookingState[] STATES = BookingState.values();
+
+    private BookingEventCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Encodes an event.
+     *
+     * @param event the event
+     * @return the record payload
+     */
+    static byte[] encode(BookingEvent event) {
+        int flags = flag(event.bookingId(), BOOKING_ID)
+                | flag(event.userId(), USER_ID)
+                | flag(event.userEmail(), USER_EMAIL)
+                | flag(event.roomId(), ROOM_ID)
+                | flag(event.startDate(), START_DATE)
+                | flag(event.finishDate(), FINISH_DATE)
+                | flag(event.bookingState(), STATE)
+                | flag(event.refundAmount(), REFUND)
+                | flag(event.occurredAt(), OCCURRED_AT);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(flags);
+            out.writeByte(event.type().ordinal());
+            writeString(out, event.bookingId());
+            writeString(out, event.userId());
+            writeString(out, event.userEmail());
+            writeString(out, event.roomId());
+            writeInstant(out, event.startDate());
+            writeInstant(out, event.finishDate());
+            if (event.bookingState() != null) {
+                out.writeByte(event.bookingState().ordinal());
+            }
+            out.writeDouble(event.amount());
+            if (event.refundAmount() != null) {
+                out.writeDouble(event.refundAmount());
+            }
+            writeInstant(out, event.occurredAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode booking event", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an event written by {@link #encode(BookingEvent)}.
+     *
+     * @param payload the record payload
+     * @return the event
+     */
+    static BookingEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int flags = in.readUnsignedShort();
+            BookingEventType type = TYPES[in.readUnsignedByte()];
+            String bookingId = readString(in, flags, BOOKING_ID);
+            String userId = readString(in, flags, USER_ID);
+            String userEmail = readString(in, flags, USER_EMAIL);
+            String roomId = readString(in, flags, ROOM_ID);
+            Instant startDate = readInstant(in, flags, START_DATE);
+            Instant finishDate = readInstant(in, flags, FINISH_DATE);
+            BookingState state = (flags & STATE) == 0 ? null : STATES[in.readUnsignedByte()];
+            double amount = in.readDouble();
+            Double refundAmount = (flags & REFUND) == 0 ? null : in.readDouble();
+            Instant occurredAt = readInstant(in, flags, OCCURRED_AT);
+            return new BookingEvent(type, bookingId, roomId, userId, userEmail, startDate, finishDate, state,
+                    amount, refundAmount, occurredAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode booking event", e);
+        }
+    }
+
+    /**
+     * Hashes the raw bytes of the partition key of an encoded event, without decoding it.
+     * Events with equal keys get equal hashes; an absent key hashes to 0.
+     *
+     * @param payload the record payload
+     * @param key the field the events are partitioned by
+     * @return the hash of the key
+     */
+    static int keyHash(byte[] payload, BookingProjection.ReplayKey key) {
+        int flags = ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF);
+        int offset = HEADER_SIZE;
+        if (key == BookingProjection.ReplayKey.USER_ID) {
+            if ((flags & USER_ID) == 0) {
+                return 0;
+            }
+            if ((flags & BOOKING_ID) != 0) {
+                offset += 2 + utfLength(payload, offset);
+            }
+        } else if ((flags & BOOKING_ID) == 0) {
+            return 0;
+        }
+
+        int end = offset + 2 + utfLength(payload, offset);
+        int hash = 1;
+        for (int i = offset + 2; i < end; i++) {
+            hash = 31 * hash + payload[i];
+        }
+        return hash;
+    }
+
+    // ====== Private helper methods ======
+
+    private static int flag(Object value, int flag) {
+        return value == null ? 0 : flag;
+    }
+
+    private static int utfLength(byte[] payload, int offset) {
+        return ((payload[offset] & 0xFF) << 8) | (payload[offset + 1] & 0xFF);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static String readString(DataInputStream in, int flags, int flag) throws IOException {
+        return (flags & flag) == 0 ? null : in.readUTF();
+    }
+
+    private static Instant readInstant(DataInputStream in, int flags, int flag) throws IOException {
+        return (flags & flag) == 0 ? null : Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
@@ -0,0 +1,262 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.context.event.EventListener;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.repository.wal.WriteAheadLog;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only history of every booking state change, stored in its own
+ * {@link WriteAheadLog} with one compact record per event.
+ *
+ * The log is the history of record: the repository keeps the current bookings, and
+ * any projection (current state, per-user views...) can be rebuilt from scratch by
+ * replaying it, sequentially or spread over several threads.
+ *
+ * Published events are appended after the booking has been saved, in no particular
+ * order relative to the other listeners. An append that fails is logged and counted
+ * rather than thrown: the change is already saved, and neither the caller nor the
+ * listeners running after the log must see it fail.
+ */
+@Slf4j
+public class BookingEventLog implements AutoCloseable {
+
+    /**
+     * Number of records handed to a replay worker at once.
+     */
+    private static final int REPLAY_BATCH_SIZE = 1024;
+
+    /**
+     * Batches queued per replay worker before the reader waits.
+     */
+    private static final int REPLAY_QUEUE_CAPACITY = 16;
+
+    private static final List<byte[]> END_OF_LOG = List.of();
+
+    private final Path directory;
+
+    private final WriteAheadLog wal;
+
+    private final LongAdder appended = new LongAdder();
+
+    private final LongAdder appendFailures = new LongAdder();
+
+    /**
+     * Opens a log for appending.
+     *
+     * @param directory directory holding the log segments
+     * @param segmentSize size of a segment file in bytes
+     * @param flushIntervalMillis maximum time between two flushes of appended events
+     * @param flushBatchSize number of pending events that triggers an immediate flush
+     */
+    public BookingEventLog(Path directory, int segmentSize, long flushIntervalMillis, int flushBatchSize) {
+        this.directory = directory;
+        this.wal = new WriteAheadLog(directory, segmentSize, flushIntervalMillis, flushBatchSize);
+    }
+
+    /**
+     * Appends an event. The event is flushed to disk by the next group commit.
+     *
+     * @param event the event to append
+     */
+    public void append(BookingEvent event) {
+        wal.append(BookingEventCodec.encode(event), false);
+        appended.increment();
+    }
+
+    /**
+     * Appends the events published by the service. A failure is logged and counted,
+     * leaving a gap in the history.
+     *
+     * @param event the published event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        try {
+            append(event);
+        } catch (RuntimeException e) {
+            appendFailures.increment();
+            log.error("Cannot append {} event of booking {} to the event log", event.type(), event.bookingId(), e);
+        }
+    }
+
+    /**
+     * Reads every event of the log, in append order, on the calling thread.
+     *
+     * @param consumer receives each event
+     * @return the number of events read
+     */
+    public long replay(Consumer<BookingEvent> consumer) {
+        long[] count = new long[1];
+        WriteAheadLog.replay(directory, 0, payload -> {
+            consumer.accept(BookingEventCodec.decode(payload));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Rebuilds a projection by replaying the whole log over several threads.
+     *
+     * The calling thread reads the records and routes each one, by a hash of the
+     * projection's replay key, to one of the workers; the workers decode the records
+     * and apply them. Events of the same key therefore keep their log order.
+     *
+     * @param projection the projection to feed
+     * @param parallelism number of worker threads
+     * @return the number of events replayed and the time it took
+     */
+    public ReplayResult replay(BookingProjection projection, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Replay parallelism must be positive");
+        }
+        long startNanos = System.nanoTime();
+        if (parallelism == 1) {
+            long events = replay(projection::apply);
+            return new ReplayResult(events, System.nanoTime() - startNanos);
+        }
+
+        BookingProjection.ReplayKey key = projection.replayKey();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<BlockingQueue<List<byte[]>>> queues = new ArrayList<>(parallelism);
+        List<List<byte[]>> batches = new ArrayList<>(parallelism);
+        List<Thread> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<List<byte[]>> queue = new ArrayBlockingQueue<>(REPLAY_QUEUE_CAPACITY);
+            queues.add(queue);
+            batches.add(new ArrayList<>(REPLAY_BATCH_SIZE));
+            Thread worker = new Thread(() -> applyBatches(queue, projection, failure), "booking-event-replay-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        long[] count = new long[1];
+        try {
+            WriteAheadLog.replay(directory, 0, payload -> {
+                int partition = Math.floorMod(BookingEventCodec.keyHash(payload, key), parallelism);
+                List<byte[]> batch = batches.get(partition);
+                batch.add(payload);
+                if (batch.size() == REPLAY_BATCH_SIZE) {
+                    enqueue(queues.get(partition), batch);
+                    batches.set(partition, new ArrayList<>(REPLAY_BATCH_SIZE));
+                }
+                count[0]++;
+            });
+        } finally {
+            for (int i = 0; i < parallelism; i++) {
+                if (!batches.get(i).isEmpty()) {
+                    enqueue(queues.get(i), batches.get(i));
+                }
+                enqueue(queues.get(i), END_OF_LOG);
+            }
+            for (Thread worker : workers) {
+                join(worker);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("Cannot replay booking event log in " + directory, failure.get());
+        }
+        return new ReplayResult(count[0], System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the number of events appended since the log was opened.
+     *
+     * @return the number of appended events
+     */
+    public long appendedCount() {
+        return appended.sum();
+    }
+
+    /**
+     * Returns the number of published events that could not be appended.
+     *
+     * @return the number of failed appends
+     */
+    public long appendFailedCount() {
+        return appendFailures.sum();
+    }
+
+    /**
+     * Flushes the appended events and closes the log.
+     */
+    @Override
+    public void close() {
+        wal.close();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Replay worker loop. After a failure the remaining batches are drained without
+     * being applied, so that the reader never blocks.
+     */
+    private static void applyBatches(BlockingQueue<List<byte[]>> queue, BookingProjection projection,
+                                     AtomicReference<Throwable> failure) {
+        try {
+            List<byte[]> batch;
+            while ((batch = queue.take()) != END_OF_LOG) {
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    for (byte[] payload : batch) {
+                        projection.apply(BookingEventCodec.decode(payload));
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static void enqueue(BlockingQueue<List<byte[]>> queue, List<byte[]> batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying booking events", e);
+        }
+    }
+
+    private static void join(Thread worker) {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying booking events", e);
+        }
+    }
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param events number of events replayed
+     * @param elapsedNanos time taken by the replay
+     */
+    public record ReplayResult(long events, long elapsedNanos) {
+
+        /**
+         * Returns the replay throughput.
+         *
+         * @return events replayed per second
+         */
+        public double eventsPerSecond() {
+            return elapsedNanos == 0 ? 0 : events * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+
+/**
+ * Read model derived from the booking event log.
+ *
+ * A projection can be rebuilt at any time by replaying the log. The replay may apply
+ * events from several threads: events sharing the same {@link #replayKey()} value are
+ * always applied by the same thread and in log order, so a projection only needs to be
+ * thread-safe across keys.
+ */
+public interface BookingProjection {
+
+    /**
+     * Field the events are partitioned by during a parallel replay.
+     */
+    enum ReplayKey {
+        BOOKING_ID,
+        USER_ID
+    }
+
+    /**
+     * Applies an event to the projection.
+     *
+     * @param event the next event of its key, in log order
+     */
+    void apply(BookingEvent event);
+
+    /**
+     * Returns the field whose events must be applied in order.
+     *
+     * @return the replay key, the booking ID by default
+     */
+    default ReplayKey replayKey() {
+        return ReplayKey.BOOKING_ID;
+    }
+}
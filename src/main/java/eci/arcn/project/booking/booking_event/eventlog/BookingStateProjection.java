@@ -0,0 +1,82 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Current state of every booking, folded from its events.
+ *
+ * Transitions are checked against {@link BookingState#canTransitionTo(BookingState)}:
+ * an event that would make an illegal move is counted and ignored, so a corrupted or
+ * reordered log cannot resurrect a final booking.
+ */
+public class BookingStateProjection implements BookingProjection {
+
+    private final Map<String, BookingState> states = new ConcurrentHashMap<>();
+
+    private final LongAdder illegalTransitions = new LongAdder();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(BookingEvent event) {
+        if (event.bookingId() == null || event.bookingState() == null) {
+            return;
+        }
+        BookingState current = states.get(event.bookingId());
+        if (event.type() == BookingEventType.CREATED || current == null) {
+            states.put(event.bookingId(), event.bookingState());
+        } else if (current.canTransitionTo(event.bookingState())) {
+            states.put(event.bookingId(), event.bookingState());
+        } else {
+            illegalTransitions.increment();
+        }
+    }
+
+    /**
+     * Applies the events published by the service, keeping the projection current
+     * once it has been rebuilt.
+     *
+     * @param event the published event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        apply(event);
+    }
+
+    /**
+     * Returns the current state of a booking.
+     *
+     * @param bookingId the booking ID
+     * @return the state, or null if the booking has no event
+     */
+    public BookingState stateOf(String bookingId) {
+        return states.get(bookingId);
+    }
+
+    /**
+     * Returns the number of bookings known to the projection.
+     *
+     * @return the number of bookings
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Returns the number of events ignored because of an illegal transition.
+     *
+     * @return the number of rejected events
+     */
+    public long illegalTransitionCount() {
+        return illegalTransitions.sum();
+    }
+}
@@ -0,0 +1,80 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.event.EventListener;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Bookings of every user with their latest state, folded from the event log and
+ * partitioned by user ID on replay.
+ */
+public class UserBookingsProjection implements BookingProjection {
+
+    private final Map<String, Map<String, BookingState>> bookingsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(BookingEvent event) {
+        if (event.userId() == null || event.bookingId() == null || event.bookingState() == null) {
+            return;
+        }
+        bookingsByUser.computeIfAbsent(event.userId(), id -> new ConcurrentHashMap<>())
+                .put(event.bookingId(), event.bookingState());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReplayKey replayKey() {
+        return ReplayKey.USER_ID;
+    }
+
+    /**
+     * Applies the events published by the service, keeping the projection current
+     * once it has been rebuilt.
+     *
+     * @param event the published event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        apply(event);
+    }
+
+    /**
+     * Returns the bookings of a user.
+     *
+     * @param userId the user ID
+     * @return the latest state of each booking of the user, by booking ID
+     */
+    public Map<String, BookingState> bookingsOf(String userId) {
+        Map<String, BookingState> bookings = bookingsByUser.get(userId);
+        return bookings == null ? Map.of() : Map.copyOf(bookings);
+    }
+
+    /**
+     * Returns the number of bookings of a user that still hold their room.
+     *
+     * @param userId the user ID
+     * @return the number of active bookings
+     */
+    public long activeBookingCount(String userId) {
+        Map<String, BookingState> bookings = bookingsByUser.get(userId);
+        return bookings == null ? 0 : bookings.values().stream().filter(BookingState::holdsRoom).count();
+    }
+
+    /**
+     * Returns the number of users known to the projection.
+     *
+     * @return the number of users
+     */
+    public int userCount() {
+        return bookingsByUser.size();
+    }
+}
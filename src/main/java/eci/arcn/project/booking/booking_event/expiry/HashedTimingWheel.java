@@ -0,0 +1,190 @@
+package eci.arcn.project.booking.booking_event.expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel: a fixed ring of buckets, one per tick, that a single worker
+ * thread advances every tick duration.
+ *
+ * Scheduling only appends to a lock-free queue; the worker moves new timeouts to the
+ * bucket of their deadline modulo the wheel size, with the number of whole turns left.
+ * Each tick the worker walks one bucket and fires the timeouts whose turns are over,
+ * so scheduling and firing are O(1) whatever the number of pending timeouts, as long
+ * as the wheel covers the usual delay (otherwise a timeout is visited once per turn).
+ * Timeouts fire at most one tick late and cannot be cancelled: the action must check
+ * whether it still applies.
+ *
+ * @param <T> the type of the scheduled items
+ */
+@Slf4j
+public class HashedTimingWheel<T> implements AutoCloseable {
+
+    private final long tickNanos;
+
+    private final Queue<Timeout<T>>[] buckets;
+
+    private final int mask;
+
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Consumer<T> action;
+
+    private final Thread worker;
+
+    private final long startNanos = System.nanoTime();
+
+    private final Instant startInstant = Instant.now();
+
+    private volatile boolean running;
+
+    /**
+     * Number of ticks processed by the worker.
+     */
+    private long tick;
+
+    /**
+     * Creates a wheel. Call {@link #start()} to begin firing.
+     *
+     * @param tickDuration time between two ticks, which is also the timing precision
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param action action run on the worker thread for every expired item
+     * @param threadName name of the worker thread
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(Duration tickDuration, int wheelSize, Consumer<T> action, String threadName) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and " + (1 << 20));
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.action = action;
+        this.worker = new Thread(this::runWorker, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Starts the worker thread.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Schedules an item to expire at the given instant; past deadlines expire on the
+     * next tick.
+     *
+     * @param item the item handed to the action once expired
+     * @param deadline when the item expires
+     */
+    public void schedule(T item, Instant deadline) {
+        long delayNanos = Math.max(0, Duration.between(startInstant, deadline).toNanos());
+        incoming.add(new Timeout<>(item, (delayNanos + tickNanos - 1) / tickNanos));
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of items scheduled and not expired yet.
+     *
+     * @return the number of pending items
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker; pending items never expire.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    // ====== Private helper methods ======
+
+    private void runWorker() {
+        while (running) {
+            long nextTickNanos = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            // Catch up on the ticks missed while the previous actions were running
+            long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+            while (running && tick < currentTick) {
+                tick++;
+                transferIncoming();
+                expire(buckets[(int) (tick & mask)]);
+            }
+        }
+    }
+
+    /**
+     * Moves the newly scheduled timeouts to their bucket; overdue ones go to the bucket
+     * of the current tick.
+     */
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            long deadlineTick = Math.max(timeout.deadlineTick, tick);
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout<T>> bucket) {
+        for (Iterator<Timeout<T>> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout<T> timeout = it.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            it.remove();
+            pending.decrementAndGet();
+            try {
+                action.accept(timeout.item);
+            } catch (RuntimeException e) {
+                log.warn("Expiry action failed for {}", timeout.item, e);
+            }
+        }
+    }
+
+    /**
+     * Scheduled item and its deadline, in ticks since the wheel was created.
+     */
+    private static final class Timeout<T> {
+
+        private final T item;
+
+        private final long deadlineTick;
+
+        private long remainingRounds;
+
+        Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package eci.arcn.project.booking.booking_event.expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expires the bookings that stay pending longer than the hold timeout.
+ *
+ * Every booking created pending is put on a {@link HashedTimingWheel} for its hold
+ * deadline, from the CREATED event; bookings still pending at startup are scheduled
+ * from their creation date. On expiry the service moves the booking to EXPIRED only if
+ * it is still pending, so confirmed or cancelled bookings are simply skipped.
+ */
+@Slf4j
+public class PendingBookingExpirer implements AutoCloseable {
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final Duration holdTimeout;
+
+    private final HashedTimingWheel<String> wheel;
+
+    /**
+     * Creates an expirer. Call {@link #start()} to begin expiring.
+     *
+     * @param bookingService the service expiring the bookings
+     * @param bookingRepository the repository the pending bookings are reloaded from
+     * @param holdTimeout how long a booking may stay pending
+     * @param tick resolution of the timing wheel
+     * @param wheelSize number of buckets of the timing wheel
+     */
+    public PendingBookingExpirer(BookingService bookingService, BookingRepository bookingRepository,
+                                 Duration holdTimeout, Duration tick, int wheelSize) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.holdTimeout = holdTimeout;
+        this.wheel = new HashedTimingWheel<>(tick, wheelSize, bookingService::expireBooking, "booking-hold-expirer");
+    }
+
+    /**
+     * Starts the timing wheel.
+     */
+    public void start() {
+        wheel.start();
+    }
+
+    /**
+     * Schedules the bookings left pending by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePendingBookings() {
+        List<Booking> pending = bookingRepository.findByState(BookingState.PENDING);
+        for (Booking booking : pending) {
+            Instant createdDate = booking.getCreatedDate() == null ? Instant.now() : booking.getCreatedDate();
+            wheel.schedule(booking.getBookingId(), createdDate.plus(holdTimeout));
+        }
+        log.info("Scheduled the expiry of {} pending bookings", pending.size());
+    }
+
+    /**
+     * Schedules the expiry of a booking created pending.
+     *
+     * @param event the published booking event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        if (event.type() == BookingEventType.CREATED && event.bookingState() == BookingState.PENDING) {
+            wheel.schedule(event.bookingId(), event.occurredAt().plus(holdTimeout));
+        }
+    }
+
+    /**
+     * Returns the number of bookings waiting for their hold deadline, including the
+     * ones confirmed or cancelled since they were scheduled.
+     *
+     * @return the number of scheduled expiries
+     */
+    public int scheduledCount() {
+        return wheel.pendingCount();
+    }
+
+    /**
+     * Stops the timing wheel.
+     */
+    @Override
+    public void close() {
+        wheel.close();
+    }
+}
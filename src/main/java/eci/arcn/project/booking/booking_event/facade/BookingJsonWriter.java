@@ -0,0 +1,236 @@
+package eci.arcn.project.booking.booking_event.facade;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collection;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import eci.arcn.project.booking.booking_event.dto.BookingResponse;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+/**
+ * Writes bookings as JSON straight from the domain objects.
+ *
+ * The output is the {@link BookingResponse} document that Jackson produces from
+ * {@link BookingMapper#toBookingResponse(Booking)} with the application's mapper (ISO-8601
+ * instants, null fields included), without building the DTOs nor introspecting them:
+ * field names are pre-encoded, every value is written with a direct generator call, and
+ * instants are formatted into a scratch buffer instead of going through DateTimeFormatter.
+ */
+public final class BookingJsonWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final SerializedString BOOKING_ID = new SerializedString("bookingId");
+    private static final SerializedString CREATED_DATE = new SerializedString("createdDate");
+    private static final SerializedString START_DATE = new SerializedString("startDate");
+    private static final SerializedString FINISH_DATE = new SerializedString("finishDate");
+    private static final SerializedString ROOM_ID = new SerializedString("roomId");
+    private static final SerializedString CLIENT = new SerializedString("client");
+    private static final SerializedString BOOKING_STATE = new SerializedString("bookingState");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString REFUND_AMOUNT = new SerializedString("refundAmount");
+
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString USER_EMAIL = new SerializedString("userEmail");
+    private static final SerializedString USER_PERSONAL_ID = new SerializedString("userPersonalId");
+    private static final SerializedString CELLPHONE = new SerializedString("cellphone");
+
+    /**
+     * Length of the longest instant formatted in place: 2025-04-01T10:15:30.123456789Z.
+     */
+    private static final int MAX_INSTANT_LENGTH = 30;
+
+    /**
+     * Epoch seconds of 0000-01-01T00:00:00Z and 10000-01-01T00:00:00Z, the range of
+     * instants formatted in place; others are rare enough to go through Instant.toString.
+     */
+    private static final long MIN_FAST_SECONDS = -62_167_219_200L;
+    private static final long MAX_FAST_SECONDS = 253_402_300_800L;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private BookingJsonWriter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Serializes a booking.
+     *
+     * @param booking the booking
+     * @return the UTF-8 JSON document
+     */
+    public static byte[] toJson(Booking booking) {
+        // Recycled buffers, like ObjectMapper.writeValueAsBytes
+        ByteArrayBuilder buffer = new ByteArrayBuilder(JSON_FACTORY._getBufferRecycler());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            write(generator, booking);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize booking " + booking.getBookingId(), e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Serializes bookings as a JSON array.
+     *
+     * @param bookings the bookings
+     * @return the UTF-8 JSON array
+     */
+    public static byte[] toJson(Collection<Booking> bookings) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(JSON_FACTORY._getBufferRecycler());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            generator.writeStartArray(bookings, bookings.size());
+            for (Booking booking : bookings) {
+                write(generator, booking);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize bookings", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes a booking as one JSON object.
+     *
+     * @param generator the generator to write to
+     * @param booking the booking
+     * @throws IOException if the output cannot be written
+     */
+    public static void write(JsonGenerator generator, Booking booking) throws IOException {
+        char[] scratch = new char[MAX_INSTANT_LENGTH];
+        generator.writeStartObject(booking);
+        generator.writeFieldName(BOOKING_ID);
+        generator.writeString(booking.getBookingId());
+        writeInstant(generator, CREATED_DATE, booking.getCreatedDate(), scratch);
+        writeInstant(generator, START_DATE, booking.getStartDate(), scratch);
+        writeInstant(generator, FINISH_DATE, booking.getFinishDate(), scratch);
+        generator.writeFieldName(ROOM_ID);
+        generator.writeString(booking.getRoomId());
+        generator.writeFieldName(CLIENT);
+        writeClient(generator, booking.getClient());
+        generator.writeFieldName(BOOKING_STATE);
+        if (booking.getBookingState() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(booking.getBookingState().name());
+        }
+        generator.writeFieldName(AMOUNT);
+        generator.writeNumber(booking.getAmount());
+        generator.writeFieldName(REFUND_AMOUNT);
+        if (booking.getRefundAmount() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(booking.getRefundAmount());
+        }
+        generator.writeEndObject();
+    }
+
+    // ====== Private helper methods ======
+
+    private static void writeClient(JsonGenerator generator, Client client) throws IOException {
+        if (client == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(client);
+        generator.writeFieldName(USER_ID);
+        generator.writeString(client.getUserId());
+        generator.writeFieldName(NAME);
+        generator.writeString(client.getName());
+        generator.writeFieldName(USER_EMAIL);
+        generator.writeString(client.getUserEmail());
+        generator.writeFieldName(USER_PERSONAL_ID);
+        generator.writeNumber(client.getUserPersonalId());
+        generator.writeFieldName(CELLPHONE);
+        generator.writeNumber(client.getCellphone());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes an instant as an ISO-8601 string, like Jackson's InstantSerializer.
+     */
+    private static void writeInstant(JsonGenerator generator, SerializedString name, Instant value,
+                                     char[] scratch) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getEpochSecond() < MIN_FAST_SECONDS || value.getEpochSecond() >= MAX_FAST_SECONDS) {
+            generator.writeString(value.toString());
+        } else {
+            generator.writeString(scratch, 0, formatInstant(value, scratch));
+        }
+    }
+
+    /**
+     * Formats an instant of years 0000 to 9999 the way DateTimeFormatter.ISO_INSTANT
+     * does: UTC date and time, then the fraction of second in groups of three digits,
+     * omitted when zero.
+     *
+     * @return the number of characters written
+     */
+    private static int formatInstant(Instant instant, char[] out) {
+        long epochDay = Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY);
+
+        // Civil date from the day count, over 400-year eras starting on March 1st
+        // (H. Hinnant, "chrono-compatible low-level date algorithms")
+        long days = epochDay + 719_468;
+        long era = Math.floorDiv(days, 146_097);
+        int dayOfEra = (int) (days - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        writeDigits(out, 0, year, 4);
+        out[4] = '-';
+        writeDigits(out, 5, month, 2);
+        out[7] = '-';
+        writeDigits(out, 8, day, 2);
+        out[10] = 'T';
+        writeDigits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        writeDigits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        writeDigits(out, 17, secondOfDay % 60, 2);
+        int length = 19;
+
+        int nanos = instant.getNano();
+        if (nanos != 0) {
+            out[length++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                writeDigits(out, length, nanos / 1_000_000, 3);
+                length += 3;
+            } else if (nanos % 1_000 == 0) {
+                writeDigits(out, length, nanos / 1_000, 6);
+                length += 6;
+            } else {
+                writeDigits(out, length, nanos, 9);
+                length += 9;
+            }
+        }
+        out[length++] = 'Z';
+        return length;
+    }
+
+    /**
+     * Writes a non-negative number as exactly the given count of zero-padded digits.
+     */
+    private static void writeDigits(char[] out, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package eci.arcn.project.booking.booking_event.facade;
 
+import eci.arcn.project.booking.booking_event.analytics.BookingStats;
+import eci.arcn.project.booking.booking_event.cancellation.CancellationJob;
 import eci.arcn.project.booking.booking_event.dto.BookingResponse;
+import eci.arcn.project.booking.booking_event.dto.BookingResultResponse;
+import eci.arcn.project.booking.booking_event.dto.BookingStatsResponse;
+import eci.arcn.project.booking.booking_event.dto.CancellationFailureResponse;
+import eci.arcn.project.booking.booking_event.dto.CancellationJobResponse;
 import eci.arcn.project.booking.booking_event.dto.ClientDto;
 import eci.arcn.project.booking.booking_event.dto.CreateBookingRequest;
+import eci.arcn.project.booking.booking_event.dto.TimeWindowResponse;
 import eci.arcn.project.booking.booking_event.model.Booking;
 import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.service.BookingResult;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +80,126 @@ public class BookingMapper {
                        .collect(Collectors.toList());
     }
 
+    /**
+     * Maps the outcomes of a bulk creation to BookingResultResponse DTOs.
+     *
+     * @param results the outcome of each booking, in request order
+     * @return a list of BookingResultResponse DTOs
+     */
+    public static List<BookingResultResponse> toBookingResultResponseList(List<BookingResult> results) {
+        List<BookingResultResponse> responses = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BookingResult result = results.get(i);
+            BookingResultResponse response = new BookingResultResponse();
+            response.setIndex(i);
+            response.setBookingId(result.bookingId());
+            response.setOutcome(result.outcome().name());
+            response.setMessage(result.message());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * Maps the progress of a bulk cancellation job to a CancellationJobResponse DTO.
+     *
+     * @param job the cancellation job
+     * @return a CancellationJobResponse DTO
+     */
+    public static CancellationJobResponse toCancellationJobResponse(CancellationJob job) {
+        CancellationJobResponse response = new CancellationJobResponse();
+        response.setJobId(job.getJobId());
+        response.setStatus(job.getStatus().name());
+        response.setRoomIds(job.getRoomIds());
+        response.setFrom(job.getFrom());
+        response.setTo(job.getTo());
+        response.setCreatedDate(job.getCreatedDate());
+        response.setFinishedDate(job.getFinishedDate());
+        response.setTotalBookings(job.getTotalBookings());
+        response.setProcessedBookings(job.getProcessedBookings());
+        response.setCancelledBookings(job.getCancelledBookings());
+        response.setFailedBookings(job.getFailedBookings());
+        response.setRefundTotal(job.getRefundTotal());
+        response.setError(job.getError());
+        response.setFailures(job.getFailures().stream()
+                .map(result -> {
+                    CancellationFailureResponse failure = new CancellationFailureResponse();
+                    failure.setBookingId(result.bookingId());
+                    failure.setMessage(result.message());
+                    return failure;
+                })
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    /**
+     * Maps aggregated bookings to a BookingStatsResponse DTO.
+     *
+     * @param stats the aggregated bookings
+     * @return a BookingStatsResponse DTO
+     */
+    public static BookingStatsResponse toBookingStatsResponse(BookingStats stats) {
+        BookingStatsResponse response = new BookingStatsResponse();
+        response.setBookings(stats.bookings());
+        response.setBookingsByState(byName(stats.bookingsByState()));
+        response.setAmountByState(byName(stats.amountByState()));
+        response.setRefundAmount(stats.refundAmount());
+        response.setRevenue(stats.revenue());
+        response.setOccupiedNights(stats.occupiedNights());
+        response.setAvailableNights(stats.availableNights());
+        response.setOccupancyRate(stats.occupancyRate());
+        return response;
+    }
+
+    /**
+     * Maps per-room aggregates to BookingStatsResponse DTOs carrying their room ID.
+     *
+     * @param statsByRoom the aggregates, by room ID
+     * @return a list of BookingStatsResponse DTOs, in the order of the map
+     */
+    public static List<BookingStatsResponse> toRoomStatsResponseList(Map<String, BookingStats> statsByRoom) {
+        List<BookingStatsResponse> responses = new ArrayList<>(statsByRoom.size());
+        statsByRoom.forEach((roomId, stats) -> {
+            BookingStatsResponse response = toBookingStatsResponse(stats);
+            response.setRoomId(roomId);
+            responses.add(response);
+        });
+        return responses;
+    }
+
+    /**
+     * Maps daily aggregates to BookingStatsResponse DTOs carrying their day.
+     *
+     * @param statsByDay the aggregates, by day
+     * @return a list of BookingStatsResponse DTOs, in the order of the map
+     */
+    public static List<BookingStatsResponse> toDailyStatsResponseList(Map<LocalDate, BookingStats> statsByDay) {
+        List<BookingStatsResponse> responses = new ArrayList<>(statsByDay.size());
+        statsByDay.forEach((day, stats) -> {
+            BookingStatsResponse response = toBookingStatsResponse(stats);
+            response.setDay(day);
+            responses.add(response);
+        });
+        return responses;
+    }
+
+    /**
+     * Maps time windows to TimeWindowResponse DTOs.
+     *
+     * @param windows the time windows
+     * @return a list of TimeWindowResponse DTOs
+     */
+    public static List<TimeWindowResponse> toTimeWindowResponseList(List<TimeWindow> windows) {
+        return windows.stream()
+                      .map(window -> {
+                          TimeWindowResponse response = new TimeWindowResponse();
+                          response.setStart(window.start());
+                          response.setFinish(window.finish());
+                          return response;
+                      })
+                      .collect(Collectors.toList());
+    }
+
     /**
      * Maps a ClientDto to a Client domain entity.
      *
@@ -102,4 +235,16 @@ public class BookingMapper {
         clientDto.setCellphone(client.getCellphone());
         return clientDto;
     }
+
+    /**
+     * Re-keys a map of enum constants by constant name.
+     *
+     * @param values the values by enum constant
+     * @return the values by name, in the same order
+     */
+    private static <V> Map<String, V> byName(Map<? extends Enum<?>, V> values) {
+        Map<String, V> byName = new LinkedHashMap<>();
+        values.forEach((key, value) -> byName.put(key.name(), value));
+        return byName;
+    }
 }
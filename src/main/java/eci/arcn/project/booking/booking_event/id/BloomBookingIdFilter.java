@@ -0,0 +1,147 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over booking IDs, safe for concurrent additions and lookups.
+ *
+ * The bits live in an {@link AtomicLongArray}: an addition sets each of its bits with
+ * a compare-and-set on the word holding it, so concurrent additions never lose a bit
+ * and a lookup that follows an addition sees all of its bits. Lookups never write.
+ *
+ * The bit positions of an ID are derived from one 64-bit hash of its characters by
+ * double hashing (Kirsch and Mitzenmacher). The filter is sized from the expected
+ * number of IDs and the target false positive rate; adding more IDs than expected
+ * raises the rate, which {@link #expectedFalsePositiveRate()} tracks from the
+ * proportion of bits set.
+ */
+public class BloomBookingIdFilter implements BookingIdFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final LongAdder setBits = new LongAdder();
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedInsertions number of IDs the filter is sized for
+     * @param falsePositiveRate target rate of unknown IDs reported as present, once
+     *        the expected number of IDs has been added
+     */
+    public BloomBookingIdFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 (exclusive)");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        long wordCount = (optimalBits + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter for " + expectedInsertions + " IDs is too large");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN_2));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(String bookingId) {
+        long hash1 = hash(bookingId);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash1, hash2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0
+                    && (words.getAndAccumulate(word, mask, (current, set) -> current | set) & mask) == 0) {
+                setBits.increment();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean mightContain(String bookingId) {
+        long hash1 = hash(bookingId);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash1, hash2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false positive rate: the probability that all the bits of
+     * an unknown ID are set, given the proportion of bits set.
+     *
+     * @return the estimated rate, between 0 and 1
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.sum() / bitCount, hashCount);
+    }
+
+    /**
+     * Returns the size of the bit array.
+     *
+     * @return the number of bits
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Returns the number of bits set per ID.
+     *
+     * @return the number of hash functions
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // ====== Private helper methods ======
+
+    private long bitIndex(long hash1, long hash2, int i) {
+        return ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters, finished with the MurmurHash3 mixer so that
+     * IDs differing in a few trailing characters spread over the whole range.
+     */
+    private static long hash(String bookingId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < bookingId.length(); i++) {
+            hash = (hash ^ bookingId.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Derives the step of the double hashing, odd so that it never degenerates to zero.
+     */
+    private static long secondHash(long hash1) {
+        return mix(hash1 + 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
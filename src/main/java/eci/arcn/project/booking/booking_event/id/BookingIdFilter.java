@@ -0,0 +1,27 @@
+package eci.arcn.project.booking.booking_event.id;
+
+/**
+ * Set membership test over the IDs of the stored bookings, answering "definitely
+ * unknown" without a store lookup.
+ *
+ * A filter may report IDs that were never added (false positives) but never misses an
+ * added one, so it is only valid while every booking of the store goes through
+ * {@link #add(String)}: loaded at startup, then added as bookings are created.
+ */
+public interface BookingIdFilter {
+
+    /**
+     * Records the ID of a stored booking.
+     *
+     * @param bookingId the booking ID
+     */
+    void add(String bookingId);
+
+    /**
+     * Checks whether a booking ID may be stored.
+     *
+     * @param bookingId the booking ID
+     * @return false if the ID was never added, true if it may have been
+     */
+    boolean mightContain(String bookingId);
+}
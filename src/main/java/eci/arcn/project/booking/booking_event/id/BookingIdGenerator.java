@@ -0,0 +1,19 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import java.util.UUID;
+
+/**
+ * Source of booking IDs.
+ *
+ * IDs are 128-bit UUIDs, so that stores can keep them as two longs; the canonical
+ * 36-character form is only used at the edges (model, API, SQL).
+ */
+public interface BookingIdGenerator {
+
+    /**
+     * Generates a new, unique booking ID.
+     *
+     * @return the ID
+     */
+    UUID nextId();
+}
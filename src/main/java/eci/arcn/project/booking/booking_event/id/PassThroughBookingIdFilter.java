@@ -0,0 +1,26 @@
+package eci.arcn.project.booking.booking_event.id;
+
+/**
+ * Filter that lets every booking ID through to the store.
+ *
+ * Used when this instance does not see every booking created, e.g. several instances
+ * sharing one database.
+ */
+public class PassThroughBookingIdFilter implements BookingIdFilter {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(String bookingId) {
+        // Nothing to remember
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean mightContain(String bookingId) {
+        return true;
+    }
+}
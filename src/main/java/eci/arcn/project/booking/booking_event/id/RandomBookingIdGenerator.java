@@ -0,0 +1,20 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) booking IDs drawn from {@link java.security.SecureRandom}.
+ *
+ * The IDs are unguessable, but inserts land anywhere in an ordered index, and the
+ * shared SecureRandom may block on entropy or become a contention point.
+ */
+public class RandomBookingIdGenerator implements BookingIdGenerator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,88 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered (version 7) booking IDs: a 48-bit Unix millisecond timestamp, a 12-bit
+ * sequence and 62 random bits.
+ *
+ * The timestamp and the sequence form a single counter, so the IDs of a node are
+ * strictly increasing: consecutive inserts go to the end of an ordered index, and
+ * keyset pages come out in creation order. Taking an ID is one atomic increment, which
+ * never retries; only the first ID of a new millisecond moves the counter forward with
+ * a compare-and-set. More than 4096 IDs in a millisecond borrow from the next one.
+ * The random bits come from {@link ThreadLocalRandom}, keeping nodes apart without
+ * any shared state.
+ *
+ * Unlike random IDs, these reveal their creation time and are partly predictable;
+ * they must not be used as secrets.
+ */
+public class TimeOrderedBookingIdGenerator implements BookingIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long VERSION = 7L << SEQUENCE_BITS;
+
+    private static final long VARIANT = 1L << 63;
+
+    private static final long RANDOM_MASK = (1L << 62) - 1;
+
+    private final Clock clock;
+
+    /**
+     * Last issued timestamp and sequence, as (millis &lt;&lt; 12) | sequence.
+     */
+    private final AtomicLong counter = new AtomicLong();
+
+    public TimeOrderedBookingIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Creates a generator reading time from the given clock.
+     *
+     * @param clock the source of the timestamps
+     */
+    public TimeOrderedBookingIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UUID nextId() {
+        long stamp = nextStamp();
+        long mostSigBits = (stamp >>> SEQUENCE_BITS) << 16 | VERSION | (stamp & SEQUENCE_MASK);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Returns the next counter value, never below the current millisecond.
+     */
+    private long nextStamp() {
+        long floor = clock.millis() << SEQUENCE_BITS;
+        long stamp = counter.incrementAndGet();
+        if (stamp >= floor) {
+            return stamp;
+        }
+        // First ID of a new millisecond: restart the sequence from the clock. The stale
+        // increment is dropped; if another thread moves the counter first, take the next one.
+        long current = counter.get();
+        while (current < floor) {
+            if (counter.compareAndSet(current, floor)) {
+                return floor;
+            }
+            current = counter.get();
+        }
+        return counter.incrementAndGet();
+    }
+}
@@ -0,0 +1,156 @@
+package eci.arcn.project.booking.booking_event.idempotency;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers the response of each request carrying an Idempotency-Key, so that a retried
+ * request gets the original response instead of being executed again.
+ *
+ * The first request with a key registers a pending entry and executes; duplicates
+ * arriving meanwhile wait for that single execution and share its outcome. Responses
+ * and client errors (IllegalArgumentException, IllegalStateException) are kept; any
+ * other failure is forgotten, so the request can be retried. Reusing a key for a
+ * different request is rejected.
+ *
+ * Keys are scoped by operation and by caller: two callers sending the same key never
+ * see each other's requests or responses.
+ *
+ * Entries are bounded in number and expire a fixed time after they were created. Hit
+ * and miss counts are published as the cache.* metrics, tagged cache=idempotencyKeys.
+ */
+public class IdempotencyStore {
+
+    /**
+     * Header carrying the idempotency key of a request.
+     */
+    public static final String KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Header added to a response served from the store.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<ScopedKey, Entry> cache;
+
+    /**
+     * Creates a store.
+     *
+     * @param maximumSize maximum number of remembered keys
+     * @param ttl time during which a key is remembered
+     * @param meterRegistry registry receiving the store statistics
+     */
+    public IdempotencyStore(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotencyKeys");
+    }
+
+    /**
+     * Executes a request at most once per idempotency key.
+     *
+     * @param operation name of the operation, keys are scoped by it
+     * @param caller identity of the caller, keys are scoped by it
+     * @param key the Idempotency-Key header, or null to execute the request unconditionally
+     * @param request the request content, compared with the one first sent with the key
+     * @param action executes the request
+     * @param <T> the response body type
+     * @return the response of the first execution with this key
+     * @throws IllegalArgumentException if the key is too long or was used for a different request
+     * @throws NullPointerException if the caller is null
+     */
+    public <T> ResponseEntity<T> execute(String operation, String caller, String key, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        // An unscoped key would be shared by every anonymous caller
+        Objects.requireNonNull(caller, "caller");
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH
+                    + " characters");
+        }
+
+        ScopedKey scopedKey = new ScopedKey(operation, caller, key);
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry current = cache.get(scopedKey, k -> entry);
+        if (current != entry) {
+            return replay(current, request);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.outcome.complete(response);
+            return response;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            entry.outcome.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            cache.asMap().remove(scopedKey, entry);
+            entry.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of remembered keys.
+     *
+     * @return the estimated number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Waits for the first execution of a key and returns its outcome.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replay(Entry entry, Object request) {
+        if (!Objects.equals(entry.request, request)) {
+            throw new IllegalArgumentException("Idempotency-Key already used for a different request");
+        }
+        ResponseEntity<T> response;
+        try {
+            response = (ResponseEntity<T>) entry.outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    /**
+     * Idempotency key as sent by a caller for an operation.
+     */
+    private record ScopedKey(String operation, String caller, String key) {
+    }
+
+    /**
+     * Request first sent with a key and the outcome of its execution.
+     */
+    private record Entry(Object request, CompletableFuture<ResponseEntity<?>> outcome) {
+    }
+}
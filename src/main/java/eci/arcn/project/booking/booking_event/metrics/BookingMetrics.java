@@ -0,0 +1,112 @@
+package eci.arcn.project.booking.booking_event.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.service.BookingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Business metrics of the booking service.
+ *
+ * <ul>
+ *   <li>booking.create.outcomes{outcome}: result of every booking creation attempt,
+ *       so the rate of invalid and unavailable-room requests can be followed;</li>
+ *   <li>booking.state.transitions{state}: saved state changes, counted from the
+ *       {@link BookingEvent} application events;</li>
+ *   <li>booking.id.filter.lookups{result}: lookups of existing bookings by ID, answered by
+ *       the ID filter alone or by the store, so the share of unknown IDs let through by
+ *       the filter (false_positive) can be compared with the ones it stopped (rejected).</li>
+ * </ul>
+ */
+@Component
+public class BookingMetrics {
+
+    private final Map<BookingResult.Outcome, Counter> createOutcomes = new EnumMap<>(BookingResult.Outcome.class);
+
+    private final Map<IdLookup, Counter> idLookups = new EnumMap<>(IdLookup.class);
+
+    private final Map<BookingState, Counter> stateTransitions = new EnumMap<>(BookingState.class);
+
+    /**
+     * Creates the metrics and registers every counter up front, so that counting is a
+     * map lookup on the request path.
+     *
+     * @param registry the registry to publish to
+     */
+    public BookingMetrics(MeterRegistry registry) {
+        for (BookingResult.Outcome outcome : BookingResult.Outcome.values()) {
+            createOutcomes.put(outcome, Counter.builder("booking.create.outcomes")
+                    .description("Booking creation attempts by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+        for (IdLookup result : IdLookup.values()) {
+            idLookups.put(result, Counter.builder("booking.id.filter.lookups")
+                    .description("Lookups of bookings by ID by result")
+                    .tag("result", result.name().toLowerCase())
+                    .register(registry));
+        }
+        for (BookingState state : BookingState.values()) {
+            stateTransitions.put(state, Counter.builder("booking.state.transitions")
+                    .description("Saved booking state changes by new state")
+                    .tag("state", state.name())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Counts the outcome of a booking creation attempt.
+     *
+     * @param outcome whether the booking was created, and why not otherwise
+     */
+    public void recordCreateOutcome(BookingResult.Outcome outcome) {
+        createOutcomes.get(outcome).increment();
+    }
+
+    /**
+     * Counts a lookup of a booking by ID.
+     *
+     * @param result how the lookup was answered
+     */
+    public void recordIdLookup(IdLookup result) {
+        idLookups.get(result).increment();
+    }
+
+    /**
+     * Counts a saved state change. Every event type leads to a single state, so the
+     * counters are kept by that state.
+     *
+     * @param event the published booking event
+     */
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        if (event.bookingState() != null) {
+            stateTransitions.get(event.bookingState()).increment();
+        }
+    }
+
+    /**
+     * Results of a lookup of a booking by ID.
+     */
+    public enum IdLookup {
+        /**
+         * Unknown to the ID filter, the store was not queried.
+         */
+        REJECTED,
+        /**
+         * Let through by the filter and found in the store.
+         */
+        FOUND,
+        /**
+         * Let through by the filter but absent from the store.
+         */
+        FALSE_POSITIVE
+    }
+}
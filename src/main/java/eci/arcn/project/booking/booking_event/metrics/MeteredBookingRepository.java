@@ -0,0 +1,216 @@
+package eci.arcn.project.booking.booking_event.metrics;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.util.ClassUtils;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BookingRepository decorator timing every operation of the wrapped repository.
+ *
+ * Timings are published as booking.repository.operations{operation, repository} with
+ * a percentile histogram, so the latency of the availability check (saveIfAvailable,
+ * isRoomAvailable) and of each query can be compared under load. The full scans
+ * (forEach, forEachId) exclude the time spent in their consumer, so the work done with
+ * each booking (streaming it, seeding a filter or aggregates) is not reported as
+ * repository cost.
+ */
+public class MeteredBookingRepository implements BookingRepository {
+
+    private final BookingRepository delegate;
+
+    private final Timer saveTimer;
+
+    private final Timer saveAllTimer;
+
+    private final Timer saveIfAvailableTimer;
+
+    private final Timer saveAllIfAvailableTimer;
+
+    private final Timer findByIdTimer;
+
+    private final Timer findByUserIdTimer;
+
+    private final Timer findByUserEmailTimer;
+
+    private final Timer findByUserIdPageTimer;
+
+    private final Timer findByUserEmailPageTimer;
+
+    private final Timer findByStateTimer;
+
+    private final Timer forEachTimer;
+
+    private final Timer forEachIdTimer;
+
+    private final Timer isRoomAvailableTimer;
+
+    private final Timer findAvailableRoomsTimer;
+
+    private final Timer findReservedPeriodsTimer;
+
+    private final Timer findHoldingBookingIdsTimer;
+
+    /**
+     * Wraps a repository.
+     *
+     * @param delegate the repository to time
+     * @param registry the registry to publish to
+     */
+    public MeteredBookingRepository(BookingRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        String repository = ClassUtils.getUserClass(delegate).getSimpleName();
+        this.saveTimer = timer(registry, repository, "save");
+        this.saveAllTimer = timer(registry, repository, "saveAll");
+        this.saveIfAvailableTimer = timer(registry, repository, "saveIfAvailable");
+        this.saveAllIfAvailableTimer = timer(registry, repository, "saveAllIfAvailable");
+        this.findByIdTimer = timer(registry, repository, "findById");
+        this.findByUserIdTimer = timer(registry, repository, "findByUserId");
+        this.findByUserEmailTimer = timer(registry, repository, "findByUserEmail");
+        this.findByUserIdPageTimer = timer(registry, repository, "findByUserIdPage");
+        this.findByUserEmailPageTimer = timer(registry, repository, "findByUserEmailPage");
+        this.findByStateTimer = timer(registry, repository, "findByState");
+        this.forEachTimer = timer(registry, repository, "forEach");
+        this.forEachIdTimer = timer(registry, repository, "forEachId");
+        this.isRoomAvailableTimer = timer(registry, repository, "isRoomAvailable");
+        this.findAvailableRoomsTimer = timer(registry, repository, "findAvailableRooms");
+        this.findReservedPeriodsTimer = timer(registry, repository, "findReservedPeriods");
+        this.findHoldingBookingIdsTimer = timer(registry, repository, "findHoldingBookingIds");
+    }
+
+    /**
+     * Returns the wrapped repository.
+     *
+     * @return the repository being timed
+     */
+    public BookingRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void save(Booking booking) {
+        saveTimer.record(() -> delegate.save(booking));
+    }
+
+    @Override
+    public void saveAll(Collection<Booking> bookings) {
+        saveAllTimer.record(() -> delegate.saveAll(bookings));
+    }
+
+    @Override
+    public boolean saveIfAvailable(Booking booking) {
+        return saveIfAvailableTimer.record(() -> delegate.saveIfAvailable(booking));
+    }
+
+    @Override
+    public boolean[] saveAllIfAvailable(List<Booking> bookings, boolean atomic) {
+        return saveAllIfAvailableTimer.record(() -> delegate.saveAllIfAvailable(bookings, atomic));
+    }
+
+    @Override
+    public Booking findById(String bookingId) {
+        return findByIdTimer.record(() -> delegate.findById(bookingId));
+    }
+
+    @Override
+    public List<Booking> findByUserId(String userId) {
+        return findByUserIdTimer.record(() -> delegate.findByUserId(userId));
+    }
+
+    @Override
+    public List<Booking> findByUserEmail(String userEmail) {
+        return findByUserEmailTimer.record(() -> delegate.findByUserEmail(userEmail));
+    }
+
+    @Override
+    public List<Booking> findByUserId(String userId, String afterBookingId, int limit) {
+        return findByUserIdPageTimer.record(() -> delegate.findByUserId(userId, afterBookingId, limit));
+    }
+
+    @Override
+    public List<Booking> findByUserEmail(String userEmail, String afterBookingId, int limit) {
+        return findByUserEmailPageTimer.record(() -> delegate.findByUserEmail(userEmail, afterBookingId, limit));
+    }
+
+    @Override
+    public List<Booking> findByState(BookingState bookingState) {
+        return findByStateTimer.record(() -> delegate.findByState(bookingState));
+    }
+
+    @Override
+    public void forEach(Consumer<Booking> consumer) {
+        timeScan(forEachTimer, delegate::forEach, consumer);
+    }
+
+    @Override
+    public void forEachId(Consumer<String> consumer) {
+        timeScan(forEachIdTimer, delegate::forEachId, consumer);
+    }
+
+    @Override
+    public boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate) {
+        return isRoomAvailableTimer.record(() -> delegate.isRoomAvailable(roomId, startDate, finishDate));
+    }
+
+    @Override
+    public List<String> findAvailableRooms(Collection<String> roomIds, Instant startDate, Instant finishDate) {
+        return findAvailableRoomsTimer.record(() -> delegate.findAvailableRooms(roomIds, startDate, finishDate));
+    }
+
+    @Override
+    public List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to) {
+        return findReservedPeriodsTimer.record(() -> delegate.findReservedPeriods(roomId, from, to));
+    }
+
+    @Override
+    public List<String> findHoldingBookingIds(Collection<String> roomIds, Instant from, Instant to) {
+        return findHoldingBookingIdsTimer.record(() -> delegate.findHoldingBookingIds(roomIds, from, to));
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Runs a scan of the wrapped repository and records its duration minus the time
+     * spent in the consumer.
+     *
+     * @param timer the timer of the scan
+     * @param scan the scan of the wrapped repository
+     * @param consumer the consumer of the scanned elements
+     */
+    private static <T> void timeScan(Timer timer, Consumer<Consumer<T>> scan, Consumer<T> consumer) {
+        LongAdder consumerNanos = new LongAdder();
+        long begin = System.nanoTime();
+        try {
+            scan.accept(element -> {
+                long start = System.nanoTime();
+                try {
+                    consumer.accept(element);
+                } finally {
+                    consumerNanos.add(System.nanoTime() - start);
+                }
+            });
+        } finally {
+            timer.record(Math.max(0, System.nanoTime() - begin - consumerNanos.sum()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String repository, String operation) {
+        return Timer.builder("booking.repository.operations")
+                .description("Latency of booking repository operations")
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
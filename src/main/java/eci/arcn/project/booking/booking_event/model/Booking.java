@@ -57,4 +57,10 @@ public class Booking {
      * refund applicable).
      */
     private Double refundAmount = null;
+
+    /**
+     * Version of the stored booking this instance was read from, 0 if it was never
+     * stored. The in-memory store rejects a save based on an outdated version.
+     */
+    private long version;
 }
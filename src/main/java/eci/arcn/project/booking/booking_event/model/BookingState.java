@@ -3,7 +3,10 @@ package eci.arcn.project.booking.booking_event.model;
 /**
  * Enumeration representing the possible states of a booking.
  * 
- * A booking can transition through these states during its lifecycle.
+ * A booking can transition through these states during its lifecycle, as allowed by
+ * {@link #canTransitionTo(BookingState)}.
+ * States are persisted by ordinal in the write-ahead log and snapshots: add new
+ * states at the end.
  */
 public enum BookingState {
 
@@ -30,5 +33,36 @@ public enum BookingState {
     /**
      * The booking has been created but is still pending confirmation.
      */
-    PENDING
+    PENDING,
+
+    /**
+     * The booking stayed pending longer than the hold timeout and released its room.
+     */
+    EXPIRED;
+
+    /**
+     * Indicates whether a booking in this state still holds its room.
+     *
+     * @return true if the booking blocks the room for its period, false otherwise
+     */
+    public boolean holdsRoom() {
+        return this != CANCELLED && this != REJECTED && this != UNAVAILABLE_ROOM && this != EXPIRED;
+    }
+
+    /**
+     * Indicates whether a booking in this state may move to the given state.
+     *
+     * A pending booking can be confirmed, cancelled, rejected or expire; a confirmed
+     * booking can only be cancelled. Every other state is final.
+     *
+     * @param next the requested state
+     * @return true if the transition is allowed, false otherwise
+     */
+    public boolean canTransitionTo(BookingState next) {
+        return switch (this) {
+            case PENDING -> next == CONFIRMED || next == CANCELLED || next == REJECTED || next == EXPIRED;
+            case CONFIRMED -> next == CANCELLED;
+            default -> false;
+        };
+    }
 }
@@ -0,0 +1,12 @@
+package eci.arcn.project.booking.booking_event.model;
+
+import java.time.Instant;
+
+/**
+ * Half-open time range [start, finish).
+ *
+ * @param start start of the range (inclusive)
+ * @param finish end of the range (exclusive)
+ */
+public record TimeWindow(Instant start, Instant finish) {
+}
@@ -0,0 +1,29 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler that charges the per-client rate limit itself.
+ *
+ * {@link RateLimitInterceptor} does not charge the requests of such a handler that carry
+ * an Idempotency-Key header: the handler charges them only when they actually execute,
+ * so a retry answered from the idempotency store is not rate limited. With
+ * {@link #always()}, no request of the handler is charged by the interceptor.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChargedOnExecution {
+
+    /**
+     * Whether the handler charges every request, for requests weighing more than one
+     * permit, and not only those with an Idempotency-Key.
+     *
+     * @return true if the interceptor never charges the handler's requests
+     */
+    boolean always() default false;
+}
@@ -0,0 +1,103 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-client rate limiter: one {@link TokenBucket} per client key (user ID, API key...).
+ *
+ * Buckets are created on the first request of a client and dropped once the client
+ * has been idle for long enough to have refilled its bucket, so only active clients use
+ * memory. Rejected requests are counted by booking.requests.rejected{reason=rate_limited}.
+ */
+public class ClientRateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final int burst;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final LongSupplier nanoClock;
+
+    private final Counter rejected;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param permitsPerSecond sustained request rate allowed per client, 0 or less to disable the limit
+     * @param burst number of requests a client may send at once
+     * @param maximumClients maximum number of tracked clients
+     * @param meterRegistry registry receiving the rejection count
+     */
+    public ClientRateLimiter(double permitsPerSecond, int burst, long maximumClients, MeterRegistry meterRegistry) {
+        this(permitsPerSecond, burst, maximumClients, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Creates a limiter reading time from the given clock.
+     *
+     * @param permitsPerSecond sustained request rate allowed per client, 0 or less to disable the limit
+     * @param burst number of requests a client may send at once
+     * @param maximumClients maximum number of tracked clients
+     * @param meterRegistry registry receiving the rejection count
+     * @param nanoClock source of the current time, in nanoseconds
+     */
+    ClientRateLimiter(double permitsPerSecond, int burst, long maximumClients, MeterRegistry meterRegistry,
+                      LongSupplier nanoClock) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Rate limit burst must be positive");
+        }
+        this.emissionIntervalNanos = permitsPerSecond <= 0 ? 0 : Math.round(1_000_000_000 / permitsPerSecond);
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(1, emissionIntervalNanos * burst)))
+                .build();
+        this.rejected = Counter.builder("booking.requests.rejected")
+                .description("Requests rejected by the rate limiter or shed under overload")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit for a client.
+     *
+     * @param clientKey the client key, or null for requests not attributed to a client
+     * @throws RateLimitExceededException if the client has no permit left
+     */
+    public void acquire(String clientKey) {
+        acquire(clientKey, 1);
+    }
+
+    /**
+     * Takes several permits at once for a client, for a request worth several ones. A
+     * client can always send one such request from a full bucket, even beyond the burst,
+     * and then waits for every permit to refill.
+     *
+     * @param clientKey the client key, or null for requests not attributed to a client
+     * @param permits the number of permits to take
+     * @throws RateLimitExceededException if the client has not enough permits left
+     */
+    public void acquire(String clientKey, int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits must be positive");
+        }
+        if (clientKey == null || emissionIntervalNanos == 0) {
+            return;
+        }
+        TokenBucket bucket = buckets.get(clientKey, key -> new TokenBucket(emissionIntervalNanos, burst));
+        long wait = bucket.tryAcquire(nanoClock.getAsLong(), permits);
+        if (wait > 0) {
+            rejected.increment();
+            throw new RateLimitExceededException("Too many requests, retry later", Duration.ofNanos(wait));
+        }
+    }
+}
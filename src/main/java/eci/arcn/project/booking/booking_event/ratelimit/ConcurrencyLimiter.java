@@ -0,0 +1,95 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Global limit on the requests processed at once, shedding the excess.
+ *
+ * A request beyond the limit waits for a free slot, but never longer than the queueing
+ * latency target: past it the request is rejected with a 503 rather than adding to a
+ * queue that only grows during overload. The slot count is a CAS-updated semaphore, so
+ * the fast path takes no lock.
+ *
+ * Shed requests are counted by booking.requests.rejected{reason=overloaded}, and the
+ * requests in flight are published as booking.requests.in.flight.
+ */
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrentRequests;
+
+    private final Semaphore slots;
+
+    private final long maxQueueTimeNanos;
+
+    private final Duration retryAfter;
+
+    private final Counter shed;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param maxConcurrentRequests requests processed at once
+     * @param maxQueueTime longest time a request may wait for a slot
+     * @param retryAfter delay suggested to shed clients
+     * @param meterRegistry registry receiving the limiter metrics
+     */
+    public ConcurrencyLimiter(int maxConcurrentRequests, Duration maxQueueTime, Duration retryAfter,
+                              MeterRegistry meterRegistry) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum concurrent requests must be positive");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.slots = new Semaphore(maxConcurrentRequests);
+        this.maxQueueTimeNanos = maxQueueTime.toNanos();
+        this.retryAfter = retryAfter;
+        this.shed = Counter.builder("booking.requests.rejected")
+                .description("Requests rejected by the rate limiter or shed under overload")
+                .tag("reason", "overloaded")
+                .register(meterRegistry);
+        Gauge.builder("booking.requests.in.flight", this, ConcurrencyLimiter::inFlight)
+                .description("Requests being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting at most the queueing latency target. Every successful call
+     * must be followed by {@link #release()}.
+     *
+     * @throws ServiceOverloadedException if no slot became free in time
+     */
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire() || slots.tryAcquire(maxQueueTimeNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            shed.increment();
+            throw new ServiceOverloadedException("Service overloaded, retry later", retryAfter);
+        }
+    }
+
+    /**
+     * Gives back a slot taken by {@link #acquire()}.
+     */
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Returns the number of requests holding a slot.
+     *
+     * @return the requests in flight
+     */
+    public int inFlight() {
+        return maxConcurrentRequests - slots.availablePermits();
+    }
+}
@@ -0,0 +1,22 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a client sends requests faster than its rate limit, answered with a 429.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Time after which the client may send its next request.
+     */
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
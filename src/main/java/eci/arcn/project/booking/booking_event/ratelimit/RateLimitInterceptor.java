@@ -0,0 +1,94 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import eci.arcn.project.booking.booking_event.idempotency.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies the per-client rate limit and the global concurrency limit to API requests.
+ *
+ * Requests are charged to their API key, or to their remote address when they carry
+ * none. The rate limit is checked first, so a rejected client never takes a slot. Requests
+ * with an Idempotency-Key to a {@link ChargedOnExecution} handler are left to the
+ * handler, which charges them only if they are not replayed. The slot is released once
+ * the request has completed, including asynchronous (streamed) responses.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    /**
+     * Header identifying the calling application.
+     */
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String SLOT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".slot";
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SLOT_ATTRIBUTE) != null) {
+            // Asynchronous dispatch of a request already admitted
+            return true;
+        }
+        if (!isChargedOnExecution(request, handler)) {
+            clientRateLimiter.acquire(clientKey(request));
+        }
+        concurrencyLimiter.acquire();
+        request.setAttribute(SLOT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SLOT_ATTRIBUTE) != null && !request.isAsyncStarted()) {
+            request.removeAttribute(SLOT_ATTRIBUTE);
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * Returns the rate limiter key of an API key.
+     *
+     * @param apiKey the X-API-Key header, or null
+     * @return the client key, or null for requests without an API key
+     */
+    public static String clientKey(String apiKey) {
+        return apiKey == null ? null : "api-key:" + apiKey;
+    }
+
+    /**
+     * Returns the rate limiter key of a request: its API key, or its remote address when
+     * it has none.
+     *
+     * @param request the HTTP request
+     * @return the client key, never null
+     */
+    public static String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey == null ? "address:" + request.getRemoteAddr() : clientKey(apiKey);
+    }
+
+    // ====== Private helper methods ======
+
+    private static boolean isChargedOnExecution(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return false;
+        }
+        ChargedOnExecution charged = method.getMethodAnnotation(ChargedOnExecution.class);
+        return charged != null && (charged.always() || request.getHeader(IdempotencyStore.KEY_HEADER) != null);
+    }
+}
@@ -0,0 +1,22 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because the service is overloaded, answered with a 503.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Time after which the client should retry.
+     */
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,67 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The bucket is kept in its "theoretical arrival time" form (GCRA): a single timestamp,
+ * advanced by one emission interval per granted request, replaces the token count and
+ * the last refill time. A request is granted while that timestamp is less than a full
+ * bucket ahead of now, so up to {@code burst} requests pass at once and then one per
+ * interval. Granting is one compare-and-set, without any lock. A request may weigh
+ * several tokens; one weighing more than the burst is only granted from a full bucket,
+ * which it leaves in debt until the extra tokens have refilled.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long capacityNanos;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param emissionIntervalNanos time needed to refill one token
+     * @param burst number of tokens of a full bucket
+     */
+    TokenBucket(long emissionIntervalNanos, int burst) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.capacityNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param nowNanos the current time, from {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the time until the next token, in nanoseconds
+     */
+    long tryAcquire(long nowNanos) {
+        return tryAcquire(nowNanos, 1);
+    }
+
+    /**
+     * Takes several tokens at once if they are available.
+     *
+     * @param nowNanos the current time, from {@link System#nanoTime()}
+     * @param permits the number of tokens to take
+     * @return 0 if the tokens were taken, otherwise the time until they are available, in nanoseconds
+     */
+    long tryAcquire(long nowNanos, int permits) {
+        long costNanos = emissionIntervalNanos * permits;
+        long limitNanos = Math.max(capacityNanos, costNanos);
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + costNanos;
+            long wait = next - limitNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
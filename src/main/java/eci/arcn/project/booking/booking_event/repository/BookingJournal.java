@@ -0,0 +1,64 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+
+/**
+ * Durability hook of the in-memory repository: records every save so that the
+ * bookings can be restored after a restart.
+ */
+public interface BookingJournal {
+
+    /**
+     * Journal that records nothing, used when durability is disabled.
+     */
+    BookingJournal NONE = new BookingJournal() {
+        @Override
+        public void recover(Consumer<Booking> replay) {
+            // Nothing to recover
+        }
+
+        @Override
+        public void append(Booking booking) {
+            // Nothing to record
+        }
+    };
+
+    /**
+     * Replays the recorded bookings. Called once, before any append.
+     *
+     * Bookings restored from a snapshot may be replayed concurrently and in any order;
+     * the states recorded after it are then replayed in the order they were appended.
+     *
+     * @param replay thread-safe consumer restoring each recorded booking state
+     */
+    void recover(Consumer<Booking> replay);
+
+    /**
+     * Records the current state of a booking.
+     *
+     * @param booking the booking that has been saved
+     */
+    void append(Booking booking);
+
+    /**
+     * Records the current state of several bookings, in order.
+     *
+     * @param bookings the bookings that have been saved
+     */
+    default void appendAll(Collection<Booking> bookings) {
+        bookings.forEach(this::append);
+    }
+
+    /**
+     * Gives the journal access to the full repository contents, for compaction.
+     *
+     * @param contents supplier of a view over all the stored bookings
+     */
+    default void attach(Supplier<Collection<Booking>> contents) {
+        // No compaction by default
+    }
+}
@@ -1,7 +1,13 @@
 package eci.arcn.project.booking.booking_event.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+
 import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
 
 /**
  * Repository interface for managing Booking persistence operations.
@@ -17,6 +23,40 @@ public interface BookingRepository {
      */
     void save(Booking booking);
 
+    /**
+     * Saves several bookings at once.
+     *
+     * Persistent implementations write them as a single batch.
+     *
+     * @param bookings the bookings to be saved
+     */
+    void saveAll(Collection<Booking> bookings);
+
+    /**
+     * Saves a booking only if its room is free for the booked period.
+     *
+     * The availability check and the save happen as a single atomic step, so two
+     * overlapping bookings for the same room can never both be stored.
+     *
+     * @param booking the booking to be saved
+     * @return true if the booking was saved, false if the room is unavailable
+     */
+    boolean saveIfAvailable(Booking booking);
+
+    /**
+     * Saves a batch of bookings whose rooms are free for their booked periods.
+     *
+     * Availability is checked for the whole batch at once, against the stored bookings
+     * and against the bookings before it in the batch. In partial mode the available
+     * bookings are saved and the others skipped; in atomic mode the batch is saved only
+     * if every booking is available, otherwise nothing is saved.
+     *
+     * @param bookings the bookings to be saved
+     * @param atomic whether to save all the bookings or none
+     * @return for each booking, in order, whether its room was available
+     */
+    boolean[] saveAllIfAvailable(List<Booking> bookings, boolean atomic);
+
     /**
      * Finds a booking by its unique identifier.
      *
@@ -40,4 +80,99 @@ public interface BookingRepository {
      * @return a list of bookings belonging to the user
      */
     List<Booking> findByUserEmail(String userEmail);
+
+    /**
+     * Retrieves a page of the bookings of a user ID, in ascending booking ID order.
+     *
+     * @param userId the user ID to search by
+     * @param afterBookingId the last booking ID of the previous page, null for the first page
+     * @param limit the maximum number of bookings to return
+     * @return the bookings whose ID follows afterBookingId; fewer than limit on the last page
+     */
+    List<Booking> findByUserId(String userId, String afterBookingId, int limit);
+
+    /**
+     * Retrieves a page of the bookings of a user email, in ascending booking ID order.
+     *
+     * @param userEmail the user email to search by
+     * @param afterBookingId the last booking ID of the previous page, null for the first page
+     * @param limit the maximum number of bookings to return
+     * @return the bookings whose ID follows afterBookingId; fewer than limit on the last page
+     */
+    List<Booking> findByUserEmail(String userEmail, String afterBookingId, int limit);
+
+    /**
+     * Retrieves all bookings in a given state.
+     *
+     * Meant for rare bulk work such as startup recovery: implementations may scan the
+     * whole store.
+     *
+     * @param bookingState the state to search by
+     * @return the bookings in that state
+     */
+    List<Booking> findByState(BookingState bookingState);
+
+    /**
+     * Passes every stored booking to a consumer, one at a time.
+     *
+     * Meant for rare bulk work such as startup loading: the whole store is scanned, but
+     * the bookings are read in batches and never all held in memory at once. Bookings
+     * saved during the scan may or may not be seen.
+     *
+     * @param consumer receives each booking; must not write to this repository
+     */
+    void forEach(Consumer<Booking> consumer);
+
+    /**
+     * Passes the ID of every stored booking to a consumer, one at a time.
+     *
+     * Like {@link #forEach(Consumer)}, but only the IDs are read: no booking is
+     * materialized.
+     *
+     * @param consumer receives each booking ID; must not write to this repository
+     */
+    void forEachId(Consumer<String> consumer);
+
+    /**
+     * Checks whether a room has no active booking overlapping the given period.
+     *
+     * Cancelled and rejected bookings do not hold their room.
+     *
+     * @param roomId the room identifier
+     * @param startDate start of the requested period (inclusive)
+     * @param finishDate end of the requested period (exclusive)
+     * @return true if the room is free for the whole period, false otherwise
+     */
+    boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate);
+
+    /**
+     * Finds the rooms that have no active booking overlapping the given period.
+     *
+     * @param roomIds the candidate rooms, or null for every room that has been booked
+     * @param startDate start of the requested period (inclusive)
+     * @param finishDate end of the requested period (exclusive)
+     * @return the free rooms
+     */
+    List<String> findAvailableRooms(Collection<String> roomIds, Instant startDate, Instant finishDate);
+
+    /**
+     * Retrieves the periods during which a room is held by active bookings, over a range.
+     *
+     * @param roomId the room identifier
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the periods of the bookings overlapping the range, ordered by start
+     */
+    List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to);
+
+    /**
+     * Retrieves the IDs of the active bookings holding any of the given rooms during part
+     * of a range.
+     *
+     * @param roomIds the rooms, or null for every room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the IDs of the bookings overlapping the range
+     */
+    List<String> findHoldingBookingIds(Collection<String> roomIds, Instant from, Instant to);
 }
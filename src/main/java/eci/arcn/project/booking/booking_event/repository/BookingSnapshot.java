@@ -0,0 +1,74 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import java.time.Instant;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+/**
+ * Immutable state of a booking stored by {@link InMemoryBookingRepository}.
+ *
+ * Nothing reachable from a snapshot can change once it is published: the client is
+ * copied into a record of its own. Every save publishes a new snapshot with the next
+ * version, so a reader holding one always sees the whole booking as it was saved.
+ */
+record BookingSnapshot(String bookingId, Instant createdDate, Instant startDate, Instant finishDate,
+                       String roomId, ClientSnapshot client, BookingState bookingState, double amount,
+                       Double refundAmount, long version) {
+
+    /**
+     * Captures the current state of a booking.
+     *
+     * @param booking the booking being saved
+     * @param version the version of the new snapshot
+     * @return the snapshot
+     */
+    static BookingSnapshot of(Booking booking, long version) {
+        return new BookingSnapshot(booking.getBookingId(), booking.getCreatedDate(), booking.getStartDate(),
+                booking.getFinishDate(), booking.getRoomId(), ClientSnapshot.of(booking.getClient()),
+                booking.getBookingState(), booking.getAmount(), booking.getRefundAmount(), version);
+    }
+
+    /**
+     * Builds a detached booking from the snapshot, carrying its version. Changing the
+     * booking does not affect the store until it is saved.
+     *
+     * @return a new booking
+     */
+    Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCreatedDate(createdDate);
+        booking.setStartDate(startDate);
+        booking.setFinishDate(finishDate);
+        booking.setRoomId(roomId);
+        booking.setClient(client == null ? null : client.toClient());
+        booking.setBookingState(bookingState);
+        booking.setAmount(amount);
+        booking.setRefundAmount(refundAmount);
+        booking.setVersion(version);
+        return booking;
+    }
+
+    /**
+     * Immutable copy of the client of a booking.
+     */
+    record ClientSnapshot(String userId, String name, String userEmail, int userPersonalId, int cellphone) {
+
+        static ClientSnapshot of(Client client) {
+            return client == null ? null : new ClientSnapshot(client.getUserId(), client.getName(),
+                    client.getUserEmail(), client.getUserPersonalId(), client.getCellphone());
+        }
+
+        Client toClient() {
+            Client client = new Client();
+            client.setUserId(userId);
+            client.setName(name);
+            client.setUserEmail(userEmail);
+            client.setUserPersonalId(userPersonalId);
+            client.setCellphone(cellphone);
+            return client;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+/**
+ * Concurrent secondary index from a client attribute (user ID, email) to booking IDs.
+ *
+ * Keeps track of the key each booking was indexed under, so a re-saved booking whose
+ * client changed is moved to its new key instead of being listed under both. The IDs
+ * of a key are kept sorted, which gives keyset pagination a stable order.
+ */
+public class ClientBookingIndex {
+
+    private final Function<Client, String> keyExtractor;
+
+    private final Map<String, NavigableSet<String>> bookingIdsByKey = new ConcurrentHashMap<>();
+
+    private final Map<String, String> keysByBookingId = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index over the given client attribute.
+     *
+     * @param keyExtractor function returning the indexed attribute of a client
+     */
+    public ClientBookingIndex(Function<Client, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Updates the index with the current client of a booking.
+     *
+     * @param booking the booking that has been saved
+     */
+    public void update(Booking booking) {
+        String bookingId = booking.getBookingId();
+        String newKey = booking.getClient() == null ? null : keyExtractor.apply(booking.getClient());
+
+        // compute() serializes concurrent saves of the same booking
+        keysByBookingId.compute(bookingId, (id, oldKey) -> {
+            if (oldKey != null && !oldKey.equals(newKey)) {
+                bookingIdsByKey.computeIfPresent(oldKey, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (newKey != null && !newKey.equals(oldKey)) {
+                bookingIdsByKey.compute(newKey, (key, ids) -> {
+                    NavigableSet<String> result = ids == null ? new ConcurrentSkipListSet<>() : ids;
+                    result.add(id);
+                    return result;
+                });
+            }
+            return newKey;
+        });
+    }
+
+    /**
+     * Loads recovered bookings into an empty index. Nothing has to be moved between
+     * keys, so each booking is a plain insertion, and the bookings may be passed in
+     * parallel. Must not run concurrently with {@link #update}.
+     *
+     * @param bookings the recovered bookings, in any order
+     * @throws IllegalStateException if the index is not empty
+     */
+    public void rebuild(Stream<Booking> bookings) {
+        if (!keysByBookingId.isEmpty()) {
+            throw new IllegalStateException("Only an empty index can be rebuilt");
+        }
+        bookings.forEach(booking -> {
+            String key = booking.getClient() == null ? null : keyExtractor.apply(booking.getClient());
+            if (key != null) {
+                keysByBookingId.put(booking.getBookingId(), key);
+                bookingIdsByKey.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(booking.getBookingId());
+            }
+        });
+    }
+
+    /**
+     * Returns the IDs of the bookings indexed under a key.
+     *
+     * @param key the client attribute value
+     * @return a live, unmodifiable view of the booking IDs in ascending order; empty if none
+     */
+    public NavigableSet<String> bookingIds(String key) {
+        NavigableSet<String> ids = bookingIdsByKey.get(key);
+        return ids == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(ids);
+    }
+
+    /**
+     * Returns the number of distinct keys in the index.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return bookingIdsByKey.size();
+    }
+}
@@ -1,31 +1,136 @@
 package eci.arcn.project.booking.booking_event.repository;
 
+import java.time.Instant;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
 import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * In-memory implementation of the BookingRepository.
  * 
- * Stores bookings using a thread-safe ConcurrentHashMap.
- * Intended for development, testing, or non-persistent environments.
+ * Stores bookings using a thread-safe ConcurrentHashMap and keeps a per-room
+ * availability index and user ID / email secondary indexes in sync on every save.
+ * Intended for development, testing, or non-persistent environments, unless a
+ * {@link BookingJournal} is configured: every save is then journaled after being
+ * applied, and the journal is replayed on startup. Journal records carry the version
+ * of the snapshot they were taken from, and replay keeps the highest version of each
+ * booking: two saves of the same booking racing each other may reach the journal in
+ * the opposite order to the one in which they were published. The indexes are built
+ * from the final state once the whole journal has been replayed.
+ *
+ * The map holds immutable {@link BookingSnapshot}s, replaced copy-on-write: a save
+ * publishes a new snapshot with a compare-and-set on the map entry, and reads return
+ * a detached Booking built from the snapshot they found, without locking. Callers can
+ * therefore never observe or cause a half-updated booking. A booking read from the
+ * store carries the version of its snapshot; saving it after another save of the same
+ * booking fails with an OptimisticLockingFailureException. Bookings with version 0,
+ * never read from the store, overwrite the stored one.
  */
+@Slf4j
 @Repository
+@Profile("!postgres & !columnar")
 public class InMemoryBookingRepository implements BookingRepository {
 
-    private final Map<String, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<String, BookingSnapshot> bookings = new ConcurrentHashMap<>();
+
+    private final RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex();
+
+    private final ClientBookingIndex userIdIndex = new ClientBookingIndex(Client::getUserId);
+
+    private final ClientBookingIndex userEmailIndex = new ClientBookingIndex(Client::getUserEmail);
+
+    private final BookingJournal journal;
+
+    /**
+     * Creates a non-persistent repository.
+     */
+    public InMemoryBookingRepository() {
+        this.journal = BookingJournal.NONE;
+    }
+
+    /**
+     * Creates a repository restored from and recording to the configured journal, if any.
+     *
+     * @param journalProvider provider of the optional journal
+     */
+    @Autowired
+    public InMemoryBookingRepository(ObjectProvider<BookingJournal> journalProvider) {
+        this.journal = journalProvider.getIfAvailable(() -> BookingJournal.NONE);
+        journal.recover(this::restore);
+        reindex();
+        journal.attach(this::contents);
+    }
 
     /**
      * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the booking overlaps another booking of its room
      */
     @Override
     public void save(Booking booking) {
-        bookings.put(booking.getBookingId(), booking);
+        apply(booking);
+        journal.append(booking);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveAll(Collection<Booking> bookings) {
+        bookings.forEach(this::save);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean saveIfAvailable(Booking booking) {
+        boolean saved = availabilityIndex.reserveIfAvailable(booking, () -> publish(booking));
+        if (saved) {
+            updateClientIndexes(booking);
+            journal.append(booking);
+        }
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The rooms of the batch stay locked while it is checked and stored, and the saved
+     * bookings are journaled together.
+     */
+    @Override
+    public boolean[] saveAllIfAvailable(List<Booking> bookings, boolean atomic) {
+        List<Booking> saved = new ArrayList<>(bookings.size());
+        boolean[] available = availabilityIndex.reserveAllIfAvailable(bookings, atomic, booking -> {
+            publish(booking);
+            saved.add(booking);
+        });
+        saved.forEach(this::updateClientIndexes);
+        journal.appendAll(saved);
+        return available;
     }
 
     /**
@@ -33,7 +138,8 @@ public class InMemoryBookingRepository implements BookingRepository {
      */
     @Override
     public Booking findById(String bookingId) {
-        return bookings.get(bookingId);
+        BookingSnapshot snapshot = bookings.get(bookingId);
+        return snapshot == null ? null : snapshot.toBooking();
     }
 
     /**
@@ -41,9 +147,267 @@ public class InMemoryBookingRepository implements BookingRepository {
      */
     @Override
     public List<Booking> findByUserId(String userId) {
-        List<Booking> result = new ArrayList<>();
-        for (Booking booking : bookings.values()) {
-            if (booking.getClient() != null && userId.equals(booking.getClient().getUserId())) {
+        return resolve(userIdIndex.bookingIds(userId), Client::getUserId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail) {
+        return resolve(userEmailIndex.bookingIds(userEmail), Client::getUserEmail, userEmail);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserId(String userId, String afterBookingId, int limit) {
+        return resolvePage(userIdIndex.bookingIds(userId), afterBookingId, limit, Client::getUserId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail, String afterBookingId, int limit) {
+        return resolvePage(userEmailIndex.bookingIds(userEmail), afterBookingId, limit, Client::getUserEmail,
+                userEmail);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByState(BookingState bookingState) {
+        return bookings.values().stream()
+                .filter(snapshot -> snapshot.bookingState() == bookingState)
+                .map(BookingSnapshot::toBooking)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(Consumer<Booking> consumer) {
+        bookings.values().forEach(snapshot -> consumer.accept(snapshot.toBooking()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachId(Consumer<String> consumer) {
+        bookings.keySet().forEach(consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate) {
+        return availabilityIndex.isAvailable(roomId, startDate, finishDate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findAvailableRooms(Collection<String> roomIds, Instant startDate, Instant finishDate) {
+        return availabilityIndex.findAvailableRooms(roomIds, startDate, finishDate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to) {
+        return availabilityIndex.findReservedPeriods(roomId, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findHoldingBookingIds(Collection<String> roomIds, Instant from, Instant to) {
+        return availabilityIndex.findBookingIds(roomIds, from, to);
+    }
+
+    /**
+     * Returns the number of stored bookings.
+     *
+     * @return the number of bookings
+     */
+    public int size() {
+        return bookings.size();
+    }
+
+    /**
+     * Returns the number of reservations held in the room availability index.
+     *
+     * @return the number of bookings currently holding a room
+     */
+    public int reservationCount() {
+        return availabilityIndex.size();
+    }
+
+    /**
+     * Returns the number of distinct user IDs in the user ID index.
+     *
+     * @return the number of indexed user IDs
+     */
+    public int userIdKeyCount() {
+        return userIdIndex.size();
+    }
+
+    /**
+     * Returns the number of distinct emails in the user email index.
+     *
+     * @return the number of indexed emails
+     */
+    public int userEmailKeyCount() {
+        return userEmailIndex.size();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Stores a booking and updates every index, without journaling it.
+     *
+     * @param booking the booking to store
+     * @throws IllegalStateException if the booking overlaps another booking of its room
+     */
+    private void apply(Booking booking) {
+        availabilityIndex.update(booking, () -> publish(booking));
+        updateClientIndexes(booking);
+    }
+
+    /**
+     * Stores a booking replayed from the journal, unless a newer version of it has
+     * already been restored. Records without a version, written before versions were
+     * journaled, are applied in replay order. The indexes are left to {@link #reindex()}.
+     *
+     * @param booking the recorded booking state
+     */
+    private void restore(Booking booking) {
+        long version = booking.getVersion();
+        if (version == 0) {
+            publish(booking);
+            return;
+        }
+        String bookingId = booking.getBookingId();
+        BookingSnapshot next = BookingSnapshot.of(booking, version);
+        while (true) {
+            BookingSnapshot current = bookings.get(bookingId);
+            if (current != null && current.version() >= version) {
+                return;
+            }
+            boolean restored = current == null
+                    ? bookings.putIfAbsent(bookingId, next) == null
+                    : bookings.replace(bookingId, current, next);
+            if (restored) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indexes the recovered bookings. Saves of different bookings racing each other may
+     * also reach the journal out of order, so a replayed booking can briefly overlap one
+     * that is cancelled later in the log: only the final state is checked. A booking
+     * still overlapping another one is kept but does not hold its room.
+     *
+     * The indexes are built in bulk, in parallel, rather than updated once per booking.
+     */
+    private void reindex() {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        long begin = System.nanoTime();
+        List<String> conflicts = availabilityIndex.rebuild(recovered());
+        conflicts.forEach(bookingId -> log.error("Recovered booking {} overlaps another booking of its room "
+                + "and does not hold it", bookingId));
+        userIdIndex.rebuild(recovered());
+        userEmailIndex.rebuild(recovered());
+        log.info("Indexed {} recovered bookings in {} ms", bookings.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+    }
+
+    private Stream<Booking> recovered() {
+        return bookings.values().parallelStream().map(BookingSnapshot::toBooking);
+    }
+
+    /**
+     * Publishes a snapshot of a booking with the next version, and sets that version
+     * on the booking so that it can be saved again.
+     *
+     * @param booking the booking to store
+     * @throws OptimisticLockingFailureException if the booking was read from an older version
+     */
+    private void publish(Booking booking) {
+        String bookingId = booking.getBookingId();
+        while (true) {
+            BookingSnapshot current = bookings.get(bookingId);
+            if (current != null && booking.getVersion() != 0 && booking.getVersion() != current.version()) {
+                throw new OptimisticLockingFailureException("Booking " + bookingId + " was modified concurrently");
+            }
+            BookingSnapshot next = BookingSnapshot.of(booking, current == null ? 1 : current.version() + 1);
+            boolean published = current == null
+                    ? bookings.putIfAbsent(bookingId, next) == null
+                    : bookings.replace(bookingId, current, next);
+            if (published) {
+                booking.setVersion(next.version());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a read-only view of the stored bookings, built lazily from the snapshots.
+     *
+     * @return every stored booking
+     */
+    private Collection<Booking> contents() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Booking> iterator() {
+                return bookings.values().stream().map(BookingSnapshot::toBooking).iterator();
+            }
+
+            @Override
+            public int size() {
+                return bookings.size();
+            }
+        };
+    }
+
+    /**
+     * Updates the user ID and email indexes with the current client of a booking.
+     *
+     * @param booking the booking that has been saved
+     */
+    private void updateClientIndexes(Booking booking) {
+        userIdIndex.update(booking);
+        userEmailIndex.update(booking);
+    }
+
+    /**
+     * Loads the bookings behind a set of indexed IDs.
+     *
+     * The client is checked again because a concurrent re-save may have moved the
+     * booking to another key after the IDs were read.
+     *
+     * @param bookingIds the IDs found in a secondary index
+     * @param keyExtractor the indexed client attribute
+     * @param key the value that was looked up
+     * @return the bookings still matching the key
+     */
+    private List<Booking> resolve(Set<String> bookingIds, Function<Client, String> keyExtractor, String key) {
+        List<Booking> result = new ArrayList<>(bookingIds.size());
+        for (String bookingId : bookingIds) {
+            Booking booking = matching(bookingId, keyExtractor, key);
+            if (booking != null) {
                 result.add(booking);
             }
         }
@@ -51,16 +415,38 @@ public class InMemoryBookingRepository implements BookingRepository {
     }
 
     /**
-     * {@inheritDoc}
+     * Loads a page of the bookings behind a sorted set of indexed IDs.
+     *
+     * IDs whose booking no longer matches the key are skipped without counting towards
+     * the limit, so a short page always means the last one.
+     *
+     * @param bookingIds the sorted IDs found in a secondary index
+     * @param afterBookingId the last ID of the previous page, null for the first page
+     * @param limit the maximum number of bookings to return
+     * @param keyExtractor the indexed client attribute
+     * @param key the value that was looked up
+     * @return the next bookings still matching the key
      */
-    @Override
-    public List<Booking> findByUserEmail(String userEmail) {
-        List<Booking> result = new ArrayList<>();
-        for (Booking booking : bookings.values()) {
-            if (booking.getClient() != null && userEmail.equals(booking.getClient().getUserEmail())) {
+    private List<Booking> resolvePage(NavigableSet<String> bookingIds, String afterBookingId, int limit,
+                                      Function<Client, String> keyExtractor, String key) {
+        NavigableSet<String> remaining = afterBookingId == null ? bookingIds : bookingIds.tailSet(afterBookingId, false);
+        List<Booking> result = new ArrayList<>(Math.min(limit, remaining.size()));
+        Iterator<String> iterator = remaining.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            Booking booking = matching(iterator.next(), keyExtractor, key);
+            if (booking != null) {
                 result.add(booking);
             }
         }
         return result;
     }
+
+    private Booking matching(String bookingId, Function<Client, String> keyExtractor, String key) {
+        BookingSnapshot snapshot = bookings.get(bookingId);
+        if (snapshot == null || snapshot.client() == null) {
+            return null;
+        }
+        Booking booking = snapshot.toBooking();
+        return key.equals(keyExtractor.apply(booking.getClient())) ? booking : null;
+    }
 }
@@ -0,0 +1,408 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+
+/**
+ * Per-room index of the time ranges held by active bookings.
+ *
+ * Every room keeps its reservations in a skip list ordered by start date, so an
+ * overlap query only has to look at the reservation that starts right before the
+ * requested finish date: O(log n) in the number of reservations of that room,
+ * regardless of the total size of the store.
+ *
+ * Reservations are half-open, non-empty ranges [start, finish). Reads are lock-free;
+ * adding a reservation takes the lock of its room only, so bookings on different rooms
+ * never wait on each other. Every addition is checked against the reservations of its
+ * room while holding that lock, updates included, so the reservations of a room stay
+ * disjoint, which the overlap query relies on.
+ *
+ * A {@link RoomOccupancyIndex} is kept in sync with the reservations to search free
+ * rooms without probing every room's skip list.
+ */
+public class RoomAvailabilityIndex {
+
+    private static final Comparator<Slot> SLOT_ORDER = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::bookingId);
+
+    /**
+     * Reservations per room.
+     */
+    private final Map<String, RoomSchedule> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Slot currently indexed for each booking, used to find what to remove on re-save.
+     */
+    private final Map<String, Slot> slotsByBookingId = new ConcurrentHashMap<>();
+
+    /**
+     * Days occupied on each room, updated along with the schedules.
+     */
+    private final RoomOccupancyIndex occupancy = new RoomOccupancyIndex();
+
+    /**
+     * Atomically checks that the room of a booking is free and reserves it.
+     *
+     * The given action runs while the room is locked, once the period has been found
+     * free and before the reservation becomes visible to other callers. It is meant to
+     * store the booking itself.
+     *
+     * @param booking the booking to reserve
+     * @param onReserved action to run once the room is known to be free
+     * @return true if the room was reserved, false if the period overlaps another booking
+     */
+    public boolean reserveIfAvailable(Booking booking, Runnable onReserved) {
+        Slot slot = toSlot(booking);
+        if (slot == null) {
+            onReserved.run();
+            unindex(slotsByBookingId.remove(booking.getBookingId()));
+            return true;
+        }
+
+        RoomSchedule schedule = schedule(slot.roomId());
+        schedule.lock.lock();
+        try {
+            if (!schedule.isFree(slot.start(), slot.finish(), slot.bookingId())) {
+                return false;
+            }
+            onReserved.run();
+            index(slot);
+            return true;
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically checks the rooms of several bookings and reserves the free ones.
+     *
+     * The rooms involved are locked together, in room ID order to rule out deadlocks,
+     * so the batch is checked and reserved in one pass. A booking also conflicts with
+     * the bookings before it in the batch. In atomic mode nothing is reserved unless
+     * every booking is available.
+     *
+     * @param bookings the bookings to reserve
+     * @param atomic whether to reserve all the bookings or none
+     * @param onReserved action run, with the rooms locked, for each booking being reserved
+     * @return for each booking, whether its room was free for its period
+     */
+    public boolean[] reserveAllIfAvailable(List<Booking> bookings, boolean atomic, Consumer<Booking> onReserved) {
+        List<Slot> slots = bookings.stream().map(RoomAvailabilityIndex::toSlot).toList();
+        List<RoomSchedule> schedules = slots.stream()
+                .filter(Objects::nonNull)
+                .map(Slot::roomId)
+                .distinct()
+                .sorted()
+                .map(this::schedule)
+                .toList();
+
+        schedules.forEach(schedule -> schedule.lock.lock());
+        try {
+            boolean[] available = new boolean[slots.size()];
+            boolean allAvailable = true;
+            List<Slot> accepted = new ArrayList<>();
+            for (int i = 0; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                available[i] = slot == null
+                        || (schedule(slot.roomId()).isFree(slot.start(), slot.finish(), slot.bookingId())
+                            && accepted.stream().noneMatch(other -> other.overlaps(slot)));
+                if (available[i] && slot != null) {
+                    accepted.add(slot);
+                }
+                allAvailable &= available[i];
+            }
+
+            if (allAvailable || !atomic) {
+                for (int i = 0; i < slots.size(); i++) {
+                    if (available[i]) {
+                        onReserved.accept(bookings.get(i));
+                        if (slots.get(i) != null) {
+                            index(slots.get(i));
+                        }
+                    }
+                }
+            }
+            return available;
+        } finally {
+            schedules.forEach(schedule -> schedule.lock.unlock());
+        }
+    }
+
+    /**
+     * Updates the index with the current state of a booking.
+     *
+     * Removes the range previously held by the booking (if any) and adds the new
+     * one when the booking still holds its room.
+     *
+     * @param booking the booking that has been saved
+     * @throws IllegalStateException if the new range overlaps another booking of the room
+     */
+    public void update(Booking booking) {
+        update(booking, () -> { });
+    }
+
+    /**
+     * Updates the index with the current state of a booking, running the given action
+     * first while the room is locked, once the new range is known not to overlap another
+     * booking. Nothing is run or indexed when it does.
+     *
+     * @param booking the booking being saved
+     * @param onUpdated action storing the booking
+     * @throws IllegalStateException if the new range overlaps another booking of the room
+     */
+    public void update(Booking booking, Runnable onUpdated) {
+        if (!reserveIfAvailable(booking, onUpdated)) {
+            throw new IllegalStateException("Booking " + booking.getBookingId()
+                    + " overlaps another reservation of room " + booking.getRoomId());
+        }
+    }
+
+    /**
+     * Loads the reservations of recovered bookings into an empty index.
+     *
+     * Instead of one checked insertion per booking, the slots are grouped by room and
+     * each room is built in a single pass over its slots sorted by start, rooms in
+     * parallel. A slot overlapping the one kept before it is left out. Must not run
+     * concurrently with any other update.
+     *
+     * @param bookings the recovered bookings, in any order
+     * @return the IDs of the bookings left out because they overlap another booking
+     * @throws IllegalStateException if the index is not empty
+     */
+    public List<String> rebuild(Stream<Booking> bookings) {
+        if (!slotsByBookingId.isEmpty()) {
+            throw new IllegalStateException("Only an empty index can be rebuilt");
+        }
+        Map<String, List<Slot>> slotsByRoom = bookings
+                .map(RoomAvailabilityIndex::toSlot)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingByConcurrent(Slot::roomId));
+
+        Queue<String> conflicts = new ConcurrentLinkedQueue<>();
+        slotsByRoom.entrySet().parallelStream().forEach(room -> {
+            List<Slot> slots = room.getValue();
+            slots.sort(SLOT_ORDER);
+            RoomSchedule schedule = schedule(room.getKey());
+            List<TimeWindow> periods = new ArrayList<>(slots.size());
+            Slot previous = null;
+            for (Slot slot : slots) {
+                // Kept slots are disjoint and sorted, so the last one reaches the furthest
+                if (previous != null && slot.start().isBefore(previous.finish())) {
+                    conflicts.add(slot.bookingId());
+                    continue;
+                }
+                schedule.slots.put(slot, slot);
+                slotsByBookingId.put(slot.bookingId(), slot);
+                periods.add(slot.toWindow());
+                previous = slot;
+            }
+            occupancy.occupyAll(room.getKey(), periods);
+        });
+        return List.copyOf(conflicts);
+    }
+
+    /**
+     * Checks whether a room has no reservation overlapping the given period.
+     *
+     * @param roomId the room identifier
+     * @param startDate start of the requested period (inclusive)
+     * @param finishDate end of the requested period (exclusive)
+     * @return true if the room is free for the whole period, false otherwise
+     */
+    public boolean isAvailable(String roomId, Instant startDate, Instant finishDate) {
+        RoomSchedule schedule = rooms.get(roomId);
+        return schedule == null || schedule.isFree(startDate, finishDate, null);
+    }
+
+    /**
+     * Finds the rooms that have no reservation overlapping the given period.
+     *
+     * @param roomIds the candidate rooms, or null for every room ever reserved
+     * @param startDate start of the requested period (inclusive)
+     * @param finishDate end of the requested period (exclusive)
+     * @return the free rooms
+     */
+    public List<String> findAvailableRooms(Collection<String> roomIds, Instant startDate, Instant finishDate) {
+        return occupancy.findAvailableRooms(roomIds, startDate, finishDate,
+                roomId -> isAvailable(roomId, startDate, finishDate));
+    }
+
+    /**
+     * Retrieves the reservations of a room overlapping the given range.
+     *
+     * @param roomId the room identifier
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the reserved periods, ordered by start
+     */
+    public List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to) {
+        RoomSchedule schedule = rooms.get(roomId);
+        if (schedule == null) {
+            return List.of();
+        }
+        List<TimeWindow> periods = new ArrayList<>();
+        schedule.forEachOverlapping(from, to, slot -> periods.add(slot.toWindow()));
+        return periods;
+    }
+
+    /**
+     * Retrieves the bookings holding any of the given rooms during part of a range.
+     *
+     * @param roomIds the rooms, or null for every room ever reserved
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the IDs of the bookings overlapping the range
+     */
+    public List<String> findBookingIds(Collection<String> roomIds, Instant from, Instant to) {
+        Collection<RoomSchedule> schedules = roomIds == null
+                ? rooms.values()
+                : roomIds.stream().map(rooms::get).filter(Objects::nonNull).toList();
+        List<String> bookingIds = new ArrayList<>();
+        for (RoomSchedule schedule : schedules) {
+            schedule.forEachOverlapping(from, to, slot -> bookingIds.add(slot.bookingId()));
+        }
+        return bookingIds;
+    }
+
+    /**
+     * Returns the number of reservations currently indexed.
+     *
+     * @return the number of active bookings holding a room
+     */
+    public int size() {
+        return slotsByBookingId.size();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Records a slot, replacing the one previously held by the same booking.
+     * Must be called with the lock of the slot's room held.
+     *
+     * @param slot the slot to index
+     */
+    private void index(Slot slot) {
+        Slot previous = slotsByBookingId.put(slot.bookingId(), slot);
+        if (!slot.equals(previous)) {
+            unindex(previous);
+            if (schedule(slot.roomId()).slots.put(slot, slot) == null) {
+                occupancy.occupy(slot.roomId(), slot.start(), slot.finish());
+            }
+        }
+    }
+
+    /**
+     * Removes a slot from its room schedule. Removing never needs the room lock since
+     * it can only make a room more available.
+     *
+     * @param slot the slot to remove, may be null
+     */
+    private void unindex(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        RoomSchedule schedule = rooms.get(slot.roomId());
+        if (schedule != null && schedule.slots.remove(slot) != null) {
+            occupancy.release(slot.roomId(), slot.start(), slot.finish());
+        }
+    }
+
+    private RoomSchedule schedule(String roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomSchedule());
+    }
+
+    /**
+     * Builds the slot held by a booking, or null if it does not hold its room. An
+     * empty period holds nothing: indexed, it would hide the slot before it from the
+     * overlap query.
+     *
+     * @param booking the booking
+     * @return the slot, or null
+     */
+    private static Slot toSlot(Booking booking) {
+        if (booking.getRoomId() == null
+                || booking.getStartDate() == null
+                || booking.getFinishDate() == null
+                || !booking.getStartDate().isBefore(booking.getFinishDate())
+                || (booking.getBookingState() != null && !booking.getBookingState().holdsRoom())) {
+            return null;
+        }
+        return new Slot(booking.getRoomId(), booking.getStartDate(), booking.getFinishDate(), booking.getBookingId());
+    }
+
+    /**
+     * Time range held by a booking on a room.
+     */
+    record Slot(String roomId, Instant start, Instant finish, String bookingId) {
+
+        boolean overlaps(Slot other) {
+            return roomId.equals(other.roomId)
+                    && start.isBefore(other.finish)
+                    && other.start.isBefore(finish);
+        }
+
+        TimeWindow toWindow() {
+            return new TimeWindow(start, finish);
+        }
+    }
+
+    /**
+     * Reservations of a single room and the lock serializing additions to it.
+     */
+    private static final class RoomSchedule {
+
+        private final NavigableMap<Slot, Slot> slots = new ConcurrentSkipListMap<>(SLOT_ORDER);
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Checks that no reservation other than the given booking's overlaps the period.
+         */
+        boolean isFree(Instant startDate, Instant finishDate, String ignoredBookingId) {
+            // Walk back from the last reservation starting before the requested finish;
+            // "" sorts before any booking ID. Reservations are disjoint, so only the
+            // booking's own previous slot can be skipped before a decision is reached.
+            Map.Entry<Slot, Slot> candidate = slots.lowerEntry(new Slot(null, finishDate, finishDate, ""));
+            while (candidate != null && candidate.getKey().bookingId().equals(ignoredBookingId)) {
+                candidate = slots.lowerEntry(candidate.getKey());
+            }
+            return candidate == null || !candidate.getKey().finish().isAfter(startDate);
+        }
+
+        /**
+         * Visits the reservations overlapping [from, to), ordered by start.
+         */
+        void forEachOverlapping(Instant from, Instant to, Consumer<Slot> action) {
+            Slot bound = new Slot(null, from, from, "");
+            // Reservations are disjoint, so only the last one starting before the range can reach into it
+            Map.Entry<Slot, Slot> previous = slots.lowerEntry(bound);
+            if (previous != null && previous.getKey().finish().isAfter(from)) {
+                action.accept(previous.getKey());
+            }
+            for (Slot slot : slots.tailMap(bound, true).keySet()) {
+                if (!slot.start().isBefore(to)) {
+                    break;
+                }
+                action.accept(slot);
+            }
+        }
+    }
+}
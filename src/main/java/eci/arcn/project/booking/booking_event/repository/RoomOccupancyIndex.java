@@ -0,0 +1,242 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+
+/**
+ * Per-room, per-day occupancy bitsets used to search free rooms.
+ *
+ * Every room keeps, for each UTC day, the number of held periods overlapping it, and a
+ * bitset of the days where that number is not zero, in blocks of 64 days. A search
+ * over a month reads one or two longs per room. A set bit on a day fully inside the
+ * searched period proves a conflict; the days only partially covered by the period
+ * are settled by an exact check, which day-aligned searches never need.
+ *
+ * The owning repository calls {@link #occupy} and {@link #release} exactly once per
+ * period it starts or stops holding. Updates take the lock of their room; reads are
+ * lock-free and may miss a change in progress, which is fine for a search since
+ * creating a booking checks availability again.
+ */
+public class RoomOccupancyIndex {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static final int BLOCK_BITS = 6;
+
+    private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+
+    private final Map<String, RoomDays> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the days overlapping a period as occupied by one more booking.
+     *
+     * @param roomId the room identifier
+     * @param start start of the period (inclusive)
+     * @param finish end of the period (exclusive)
+     */
+    public void occupy(String roomId, Instant start, Instant finish) {
+        update(roomId, start, finish, 1);
+    }
+
+    /**
+     * Marks the days of several periods of a room as occupied, under a single lock
+     * acquisition; used to load recovered bookings.
+     *
+     * @param roomId the room identifier
+     * @param periods the periods, each [start, finish)
+     */
+    public void occupyAll(String roomId, Collection<TimeWindow> periods) {
+        RoomDays days = rooms.computeIfAbsent(roomId, id -> new RoomDays());
+        days.lock.lock();
+        try {
+            for (TimeWindow period : periods) {
+                if (period.start().isBefore(period.finish())) {
+                    days.add(firstDay(period.start()), lastDay(period.finish()), 1);
+                }
+            }
+        } finally {
+            days.lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the days of a period previously passed to {@link #occupy}.
+     *
+     * @param roomId the room identifier
+     * @param start start of the period (inclusive)
+     * @param finish end of the period (exclusive)
+     */
+    public void release(String roomId, Instant start, Instant finish) {
+        update(roomId, start, finish, -1);
+    }
+
+    /**
+     * Finds the rooms free for a whole period.
+     *
+     * @param roomIds the candidate rooms, or null for every room ever occupied
+     * @param start start of the period (inclusive)
+     * @param finish end of the period (exclusive)
+     * @param exactCheck availability check of a room for the period, used when only the
+     *        partially covered days are occupied
+     * @return the free rooms, in candidate order
+     */
+    public List<String> findAvailableRooms(Collection<String> roomIds, Instant start, Instant finish,
+                                           Predicate<String> exactCheck) {
+        List<String> available = new ArrayList<>();
+        if (!start.isBefore(finish)) {
+            available.addAll(roomIds == null ? rooms.keySet() : roomIds);
+            return available;
+        }
+
+        long firstDay = firstDay(start);
+        long lastDay = lastDay(finish);
+        long firstFullDay = Math.floorMod(start.getEpochSecond(), SECONDS_PER_DAY) == 0 && start.getNano() == 0
+                ? firstDay
+                : firstDay + 1;
+        long lastFullDay = Math.floorDiv(finish.getEpochSecond(), SECONDS_PER_DAY) - 1;
+        BiConsumer<String, RoomDays> check = (roomId, days) -> {
+            if (days == null || !days.anyOccupied(firstDay, lastDay)
+                    || (!days.anyOccupied(firstFullDay, lastFullDay) && exactCheck.test(roomId))) {
+                available.add(roomId);
+            }
+        };
+        if (roomIds == null) {
+            rooms.forEach(check);
+        } else {
+            roomIds.forEach(roomId -> check.accept(roomId, rooms.get(roomId)));
+        }
+        return available;
+    }
+
+    // ====== Private helper methods ======
+
+    private void update(String roomId, Instant start, Instant finish, int delta) {
+        if (!start.isBefore(finish)) {
+            return;
+        }
+        RoomDays days = rooms.computeIfAbsent(roomId, id -> new RoomDays());
+        days.lock.lock();
+        try {
+            days.add(firstDay(start), lastDay(finish), delta);
+        } finally {
+            days.lock.unlock();
+        }
+    }
+
+    private static long firstDay(Instant start) {
+        return Math.floorDiv(start.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the last day overlapping a period ending at the given exclusive instant.
+     */
+    private static long lastDay(Instant finish) {
+        long lastSecond = finish.getNano() == 0 ? finish.getEpochSecond() - 1 : finish.getEpochSecond();
+        return Math.floorDiv(lastSecond, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Occupancy of the days of a single room, over a contiguous range of blocks.
+     */
+    private static final class RoomDays {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Replaced as a whole when the range grows, so readers always see a consistent
+         * base and array.
+         */
+        private volatile Blocks blocks = new Blocks(0, 0);
+
+        /**
+         * Adds delta to the counters of days [from, to]. Must be called with the lock held.
+         */
+        void add(long from, long to, int delta) {
+            Blocks current = cover(from >> BLOCK_BITS, to >> BLOCK_BITS);
+            for (long key = from >> BLOCK_BITS; key <= to >> BLOCK_BITS; key++) {
+                int index = (int) (key - current.base);
+                int[] counts = current.counts[index];
+                if (counts == null) {
+                    counts = current.counts[index] = new int[1 << BLOCK_BITS];
+                }
+                int first = key == from >> BLOCK_BITS ? (int) (from & BLOCK_MASK) : 0;
+                int last = key == to >> BLOCK_BITS ? (int) (to & BLOCK_MASK) : BLOCK_MASK;
+                long occupied = current.occupied.get(index);
+                for (int day = first; day <= last; day++) {
+                    counts[day] += delta;
+                    occupied = counts[day] > 0 ? occupied | 1L << day : occupied & ~(1L << day);
+                }
+                current.occupied.set(index, occupied);
+            }
+        }
+
+        /**
+         * Checks whether any day of [from, to] is occupied; false if the range is empty.
+         */
+        boolean anyOccupied(long from, long to) {
+            Blocks current = blocks;
+            long firstKey = Math.max(from >> BLOCK_BITS, current.base);
+            long lastKey = Math.min(to >> BLOCK_BITS, current.base + current.counts.length - 1);
+            for (long key = firstKey; key <= lastKey; key++) {
+                int first = key == from >> BLOCK_BITS ? (int) (from & BLOCK_MASK) : 0;
+                int last = key == to >> BLOCK_BITS ? (int) (to & BLOCK_MASK) : BLOCK_MASK;
+                long mask = (-1L >>> (BLOCK_MASK - last)) & (-1L << first);
+                if ((current.occupied.get((int) (key - current.base)) & mask) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Grows the block range to include [firstKey, lastKey]. Must be called with the
+         * lock held.
+         */
+        private Blocks cover(long firstKey, long lastKey) {
+            Blocks current = blocks;
+            long currentLast = current.base + current.counts.length - 1;
+            if (current.counts.length > 0 && firstKey >= current.base && lastKey <= currentLast) {
+                return current;
+            }
+            long base = current.counts.length == 0 ? firstKey : Math.min(firstKey, current.base);
+            long end = current.counts.length == 0 ? lastKey : Math.max(lastKey, currentLast);
+            Blocks grown = new Blocks(base, Math.toIntExact(end - base + 1));
+            for (int i = 0; i < current.counts.length; i++) {
+                int index = (int) (current.base + i - base);
+                grown.counts[index] = current.counts[i];
+                grown.occupied.set(index, current.occupied.get(i));
+            }
+            blocks = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * Consecutive blocks of 64 days: per-day counters (written under the room lock
+     * only) and the bitsets of the days whose counter is not zero.
+     */
+    private static final class Blocks {
+
+        private final long base;
+
+        private final int[][] counts;
+
+        private final AtomicLongArray occupied;
+
+        Blocks(long base, int length) {
+            this.base = base;
+            this.counts = new int[length][];
+            this.occupied = new AtomicLongArray(length);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented storage of the booking fields, one primitive array per field.
+ *
+ * Arrays are allocated in chunks of {@value #CHUNK_SIZE} rows, so the store grows
+ * without ever copying existing rows, and a booking costs about 90 bytes whatever the
+ * number of bookings, in a handful of large arrays the garbage collector barely scans.
+ *
+ * Not thread-safe; the repository guards it with its lock.
+ */
+final class BookingColumns {
+
+    static final int CHUNK_BITS = 16;
+
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Epoch-millis value standing for a null instant. */
+    static final long NULL_INSTANT = Long.MIN_VALUE;
+
+    /** Flag set when the booking has a client. */
+    static final byte HAS_CLIENT = 1;
+
+    /** Flag set when the booking ID is not a UUID and idLo holds its dictionary code. */
+    static final byte RAW_ID = 2;
+
+    /** State value standing for a null state. */
+    static final byte NULL_STATE = -1;
+
+    final LongColumn idHi = new LongColumn();
+    final LongColumn idLo = new LongColumn();
+    final LongColumn createdMillis = new LongColumn();
+    final LongColumn startMillis = new LongColumn();
+    final LongColumn finishMillis = new LongColumn();
+    final IntColumn room = new IntColumn();
+    final IntColumn userId = new IntColumn();
+    final IntColumn userName = new IntColumn();
+    final IntColumn userEmail = new IntColumn();
+    final IntColumn userPersonalId = new IntColumn();
+    final IntColumn cellphone = new IntColumn();
+    final ByteColumn state = new ByteColumn();
+    final ByteColumn flags = new ByteColumn();
+    final DoubleColumn amount = new DoubleColumn();
+    /** Refund amount, NaN standing for null. */
+    final DoubleColumn refundAmount = new DoubleColumn();
+    /** Next row of the same user ID, -1 at the end of the chain. */
+    final IntColumn nextByUserId = new IntColumn();
+    /** Next row of the same user email, -1 at the end of the chain. */
+    final IntColumn nextByUserEmail = new IntColumn();
+
+    private int size;
+
+    /**
+     * Appends an empty row.
+     *
+     * @return the index of the new row
+     */
+    int addRow() {
+        int row = size++;
+        if ((row & CHUNK_MASK) == 0) {
+            int chunk = row >>> CHUNK_BITS;
+            idHi.grow(chunk);
+            idLo.grow(chunk);
+            createdMillis.grow(chunk);
+            startMillis.grow(chunk);
+            finishMillis.grow(chunk);
+            room.grow(chunk);
+            userId.grow(chunk);
+            userName.grow(chunk);
+            userEmail.grow(chunk);
+            userPersonalId.grow(chunk);
+            cellphone.grow(chunk);
+            state.grow(chunk);
+            flags.grow(chunk);
+            amount.grow(chunk);
+            refundAmount.grow(chunk);
+            nextByUserId.grow(chunk);
+            nextByUserEmail.grow(chunk);
+        }
+        return row;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of stored bookings
+     */
+    int size() {
+        return size;
+    }
+
+    static final class LongColumn {
+
+        private long[][] chunks = new long[0][];
+
+        long get(int row) {
+            return chunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+        }
+
+        void set(int row, long value) {
+            chunks[row >>> CHUNK_BITS][row & CHUNK_MASK] = value;
+        }
+
+        private void grow(int chunk) {
+            chunks = Arrays.copyOf(chunks, chunk + 1);
+            chunks[chunk] = new long[CHUNK_SIZE];
+        }
+    }
+
+    static final class IntColumn {
+
+        private int[][] chunks = new int[0][];
+
+        int get(int row) {
+            return chunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+        }
+
+        void set(int row, int value) {
+            chunks[row >>> CHUNK_BITS][row & CHUNK_MASK] = value;
+        }
+
+        private void grow(int chunk) {
+            chunks = Arrays.copyOf(chunks, chunk + 1);
+            chunks[chunk] = new int[CHUNK_SIZE];
+        }
+    }
+
+    static final class ByteColumn {
+
+        private byte[][] chunks = new byte[0][];
+
+        byte get(int row) {
+            return chunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+        }
+
+        void set(int row, byte value) {
+            chunks[row >>> CHUNK_BITS][row & CHUNK_MASK] = value;
+        }
+
+        private void grow(int chunk) {
+            chunks = Arrays.copyOf(chunks, chunk + 1);
+            chunks[chunk] = new byte[CHUNK_SIZE];
+        }
+    }
+
+    static final class DoubleColumn {
+
+        private double[][] chunks = new double[0][];
+
+        double get(int row) {
+            return chunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+        }
+
+        void set(int row, double value) {
+            chunks[row >>> CHUNK_BITS][row & CHUNK_MASK] = value;
+        }
+
+        private void grow(int chunk) {
+            chunks = Arrays.copyOf(chunks, chunk + 1);
+            chunks[chunk] = new double[CHUNK_SIZE];
+        }
+    }
+}
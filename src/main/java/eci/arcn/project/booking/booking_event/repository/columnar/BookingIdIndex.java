@@ -0,0 +1,98 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+/**
+ * Hash index from the 128-bit booking ID to its row, with open addressing.
+ *
+ * The table only holds row numbers (row + 1, 0 marking a free slot): keys are read
+ * back from the ID columns, so an entry costs about 6 bytes at the maximum load factor.
+ * Bookings are never deleted, so there are no tombstones.
+ *
+ * Not thread-safe; the repository guards it with its lock.
+ */
+final class BookingIdIndex {
+
+    private static final double MAX_LOAD = 0.75;
+
+    private final BookingColumns columns;
+
+    private int[] table = new int[1024];
+
+    private int size;
+
+    BookingIdIndex(BookingColumns columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Finds the row of an ID.
+     *
+     * @param hi high 64 bits of the ID
+     * @param lo low 64 bits of the ID
+     * @param raw whether the ID is a dictionary-encoded non-UUID ID
+     * @return the row, or -1 if the ID is unknown
+     */
+    int find(long hi, long lo, boolean raw) {
+        int mask = table.length - 1;
+        for (int slot = hash(hi, lo) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int row = entry - 1;
+            if (matches(row, hi, lo, raw)) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Indexes a new row, whose ID columns must already be set.
+     *
+     * @param row the row
+     */
+    void add(int row) {
+        if (size + 1 > table.length * MAX_LOAD) {
+            resize();
+        }
+        insert(table, row);
+        size++;
+    }
+
+    // ====== Private helper methods ======
+
+    private boolean matches(int row, long hi, long lo, boolean raw) {
+        return columns.idHi.get(row) == hi
+                && columns.idLo.get(row) == lo
+                && ((columns.flags.get(row) & BookingColumns.RAW_ID) != 0) == raw;
+    }
+
+    private void insert(int[] target, int row) {
+        int mask = target.length - 1;
+        int slot = hash(columns.idHi.get(row), columns.idLo.get(row)) & mask;
+        while (target[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target[slot] = row + 1;
+    }
+
+    private void resize() {
+        int[] old = table;
+        int[] resized = new int[old.length * 2];
+        for (int entry : old) {
+            if (entry != 0) {
+                insert(resized, entry - 1);
+            }
+        }
+        table = resized;
+    }
+
+    private static int hash(long hi, long lo) {
+        // Murmur3 finalizer over both halves; random UUIDs are already well spread,
+        // sequential test IDs are not
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,705 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.repository.RoomOccupancyIndex;
+
+/**
+ * Memory-compact implementation of the BookingRepository, enabled by the "columnar"
+ * profile.
+ *
+ * Bookings are not kept as object graphs but decomposed into primitive columns (see
+ * {@link BookingColumns}): UUID booking IDs as two longs, instants as epoch millis,
+ * room IDs, user IDs, names and emails dictionary-encoded as ints, the state as a byte
+ * and a null refund as NaN. The secondary indexes are primitive as well: an open
+ * addressing ID table, per-room sorted period arrays, and per-user row chains threaded
+ * through the columns. A booking costs about a fifth of its object form, in a few large
+ * arrays instead of a dozen small objects.
+ *
+ * Reads materialize a new, detached {@link Booking} every time; changing it has no
+ * effect until it is saved. Instants are stored with millisecond precision. The store
+ * is not journaled.
+ *
+ * This is a single-writer store, not a drop-in replacement for the default repository
+ * on a busy request path: every structure, rows, dictionaries and ID table included, is
+ * shared by all rooms and guarded by one read-write lock, so all writes are serialized
+ * and reads wait for them. Bookings on different rooms contend, which the default
+ * repository avoids with its per-room locks. It is meant for memory-bound deployments
+ * with a low write rate.
+ */
+@Repository
+@Profile("columnar")
+public class ColumnarBookingRepository implements BookingRepository {
+
+    private static final BookingState[] STATES = BookingState.values();
+
+    /**
+     * Rows materialized per read lock hold by a full scan.
+     */
+    private static final int SCAN_BATCH_SIZE = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BookingColumns columns = new BookingColumns();
+
+    private final BookingIdIndex idIndex = new BookingIdIndex(columns);
+
+    private final StringDictionary rawIds = new StringDictionary();
+
+    private final StringDictionary roomIds = new StringDictionary();
+
+    private final StringDictionary userIds = new StringDictionary();
+
+    private final StringDictionary userNames = new StringDictionary();
+
+    private final StringDictionary userEmails = new StringDictionary();
+
+    /**
+     * Periods held on each room, by room code.
+     */
+    private final List<RoomSlots> roomSlots = new ArrayList<>();
+
+    /**
+     * Days occupied on each room, updated along with the room slots.
+     */
+    private final RoomOccupancyIndex occupancy = new RoomOccupancyIndex();
+
+    private final RowChains userIdChains = new RowChains(columns.nextByUserId);
+
+    private final RowChains userEmailChains = new RowChains(columns.nextByUserEmail);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void save(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            store(booking, findRow(booking.getBookingId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveAll(Collection<Booking> bookings) {
+        lock.writeLock().lock();
+        try {
+            for (Booking booking : bookings) {
+                store(booking, findRow(booking.getBookingId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean saveIfAvailable(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(booking.getBookingId());
+            if (holdsRoom(booking) && !isFree(booking, row)) {
+                return false;
+            }
+            store(booking, row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean[] saveAllIfAvailable(List<Booking> bookings, boolean atomic) {
+        lock.writeLock().lock();
+        try {
+            int[] rows = new int[bookings.size()];
+            boolean[] available = new boolean[bookings.size()];
+            boolean allAvailable = true;
+            List<Booking> accepted = new ArrayList<>();
+            for (int i = 0; i < bookings.size(); i++) {
+                Booking booking = bookings.get(i);
+                rows[i] = findRow(booking.getBookingId());
+                available[i] = !holdsRoom(booking)
+                        || (isFree(booking, rows[i]) && accepted.stream().noneMatch(other -> overlaps(other, booking)));
+                if (available[i] && holdsRoom(booking)) {
+                    accepted.add(booking);
+                }
+                allAvailable &= available[i];
+            }
+
+            if (allAvailable || !atomic) {
+                for (int i = 0; i < bookings.size(); i++) {
+                    if (available[i]) {
+                        store(bookings.get(i), rows[i]);
+                    }
+                }
+            }
+            return available;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Booking findById(String bookingId) {
+        lock.readLock().lock();
+        try {
+            int row = findRow(bookingId);
+            return row < 0 ? null : materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserId(String userId) {
+        return findAll(userIdChains, userIds, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail) {
+        return findAll(userEmailChains, userEmails, userEmail);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserId(String userId, String afterBookingId, int limit) {
+        return findPage(userIdChains, userIds, userId, afterBookingId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail, String afterBookingId, int limit) {
+        return findPage(userEmailChains, userEmails, userEmail, afterBookingId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByState(BookingState bookingState) {
+        byte state = bookingState == null ? BookingColumns.NULL_STATE : (byte) bookingState.ordinal();
+        lock.readLock().lock();
+        try {
+            List<Booking> result = new ArrayList<>();
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.state.get(row) == state) {
+                    result.add(materialize(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Rows are never removed, so the scan releases the lock between batches of rows and
+     * calls the consumer without holding it.
+     */
+    @Override
+    public void forEach(Consumer<Booking> consumer) {
+        scan(this::materialize, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Scanned in batches of rows like {@link #forEach(Consumer)}.
+     */
+    @Override
+    public void forEachId(Consumer<String> consumer) {
+        scan(this::bookingId, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate) {
+        lock.readLock().lock();
+        try {
+            return isFree(roomId, startDate.toEpochMilli(), finishDate.toEpochMilli(), -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findAvailableRooms(Collection<String> candidates, Instant startDate, Instant finishDate) {
+        lock.readLock().lock();
+        try {
+            return occupancy.findAvailableRooms(candidates, startDate, finishDate,
+                    roomId -> isFree(roomId, startDate.toEpochMilli(), finishDate.toEpochMilli(), -1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to) {
+        lock.readLock().lock();
+        try {
+            int room = roomIds.find(roomId);
+            if (room == StringDictionary.NULL_CODE || room >= roomSlots.size()) {
+                return List.of();
+            }
+            RoomSlots slots = roomSlots.get(room);
+            List<TimeWindow> periods = new ArrayList<>();
+            for (int i = slots.firstEndingAfter(from.toEpochMilli());
+                 i < slots.size() && slots.start(i) < to.toEpochMilli(); i++) {
+                periods.add(new TimeWindow(toInstant(slots.start(i)), toInstant(slots.finish(i))));
+            }
+            return periods;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findHoldingBookingIds(Collection<String> candidates, Instant from, Instant to) {
+        lock.readLock().lock();
+        try {
+            List<String> bookingIds = new ArrayList<>();
+            if (candidates == null) {
+                for (RoomSlots slots : roomSlots) {
+                    collectBookingIds(slots, from.toEpochMilli(), to.toEpochMilli(), bookingIds);
+                }
+            } else {
+                for (String roomId : candidates) {
+                    int room = roomIds.find(roomId);
+                    if (room != StringDictionary.NULL_CODE && room < roomSlots.size()) {
+                        collectBookingIds(roomSlots.get(room), from.toEpochMilli(), to.toEpochMilli(), bookingIds);
+                    }
+                }
+            }
+            return bookingIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored bookings.
+     *
+     * @return the number of bookings
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Reads every row, a batch at a time under the read lock, and passes the values to
+     * the consumer once the lock is released.
+     */
+    private <T> void scan(IntFunction<T> reader, Consumer<T> consumer) {
+        List<T> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        int row = 0;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int end = Math.min(columns.size(), row + SCAN_BATCH_SIZE);
+                for (; row < end; row++) {
+                    batch.add(reader.apply(row));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            batch.forEach(consumer);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Finds the row of a booking ID. Must be called with the lock held.
+     *
+     * @param bookingId the booking ID
+     * @return the row, or -1 if the booking is not stored
+     */
+    private int findRow(String bookingId) {
+        if (bookingId == null) {
+            return -1;
+        }
+        UUID uuid = parseUuid(bookingId);
+        if (uuid != null) {
+            return idIndex.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), false);
+        }
+        int code = rawIds.find(bookingId);
+        return code == StringDictionary.NULL_CODE ? -1 : idIndex.find(0, code, true);
+    }
+
+    /**
+     * Writes a booking into its row, or a new row, and updates the indexes. Must be
+     * called with the write lock held.
+     *
+     * @param booking the booking to store
+     * @param existingRow the current row of the booking, -1 if it is new
+     */
+    private void store(Booking booking, int existingRow) {
+        int row = existingRow;
+        if (row < 0) {
+            row = addRow(booking.getBookingId());
+        } else {
+            releaseRoom(row);
+        }
+
+        columns.createdMillis.set(row, toMillis(booking.getCreatedDate()));
+        columns.startMillis.set(row, toMillis(booking.getStartDate()));
+        columns.finishMillis.set(row, toMillis(booking.getFinishDate()));
+        columns.room.set(row, roomIds.encode(booking.getRoomId()));
+        columns.state.set(row, booking.getBookingState() == null
+                ? BookingColumns.NULL_STATE
+                : (byte) booking.getBookingState().ordinal());
+        columns.amount.set(row, booking.getAmount());
+        columns.refundAmount.set(row, booking.getRefundAmount() == null ? Double.NaN : booking.getRefundAmount());
+
+        Client client = booking.getClient();
+        byte flags = columns.flags.get(row);
+        columns.flags.set(row, (byte) (client == null ? flags & ~BookingColumns.HAS_CLIENT : flags | BookingColumns.HAS_CLIENT));
+        columns.userName.set(row, userNames.encode(client == null ? null : client.getName()));
+        columns.userPersonalId.set(row, client == null ? 0 : client.getUserPersonalId());
+        columns.cellphone.set(row, client == null ? 0 : client.getCellphone());
+        relink(userIdChains, columns.userId, row, userIds.encode(client == null ? null : client.getUserId()));
+        relink(userEmailChains, columns.userEmail, row, userEmails.encode(client == null ? null : client.getUserEmail()));
+
+        if (holdsRoom(booking)) {
+            long start = columns.startMillis.get(row);
+            long finish = columns.finishMillis.get(row);
+            slots(columns.room.get(row)).add(start, finish, row);
+            occupancy.occupy(booking.getRoomId(), Instant.ofEpochMilli(start), Instant.ofEpochMilli(finish));
+        }
+    }
+
+    private int addRow(String bookingId) {
+        if (bookingId == null) {
+            throw new IllegalArgumentException("Booking ID is required");
+        }
+        int row = columns.addRow();
+        UUID uuid = parseUuid(bookingId);
+        if (uuid != null) {
+            columns.idHi.set(row, uuid.getMostSignificantBits());
+            columns.idLo.set(row, uuid.getLeastSignificantBits());
+        } else {
+            columns.idHi.set(row, 0);
+            columns.idLo.set(row, rawIds.encode(bookingId));
+            columns.flags.set(row, BookingColumns.RAW_ID);
+        }
+        columns.userId.set(row, StringDictionary.NULL_CODE);
+        columns.userEmail.set(row, StringDictionary.NULL_CODE);
+        columns.nextByUserId.set(row, -1);
+        columns.nextByUserEmail.set(row, -1);
+        idIndex.add(row);
+        return row;
+    }
+
+    /**
+     * Removes the period currently held by a row from its room, if any.
+     */
+    private void releaseRoom(int row) {
+        byte state = columns.state.get(row);
+        int room = columns.room.get(row);
+        if (room != StringDictionary.NULL_CODE
+                && columns.startMillis.get(row) != BookingColumns.NULL_INSTANT
+                && columns.finishMillis.get(row) != BookingColumns.NULL_INSTANT
+                && columns.startMillis.get(row) < columns.finishMillis.get(row)
+                && (state == BookingColumns.NULL_STATE || STATES[state].holdsRoom())) {
+            long start = columns.startMillis.get(row);
+            long finish = columns.finishMillis.get(row);
+            slots(room).remove(start, row);
+            occupancy.release(roomIds.decode(room), Instant.ofEpochMilli(start), Instant.ofEpochMilli(finish));
+        }
+    }
+
+    /**
+     * Moves a row to the chain of its new key when the key changed.
+     */
+    private static void relink(RowChains chains, BookingColumns.IntColumn keyColumn, int row, int newKey) {
+        int oldKey = keyColumn.get(row);
+        if (oldKey != newKey) {
+            chains.unlink(oldKey, row);
+            chains.link(newKey, row);
+            keyColumn.set(row, newKey);
+        }
+    }
+
+    private RoomSlots slots(int room) {
+        while (roomSlots.size() <= room) {
+            roomSlots.add(new RoomSlots());
+        }
+        return roomSlots.get(room);
+    }
+
+    /**
+     * Checks the room of a booking against the stored periods. Must be called with
+     * the lock held.
+     */
+    private boolean isFree(Booking booking, int ignoredRow) {
+        return isFree(booking.getRoomId(), toMillis(booking.getStartDate()), toMillis(booking.getFinishDate()),
+                ignoredRow);
+    }
+
+    private boolean isFree(String roomId, long start, long finish, int ignoredRow) {
+        int room = roomIds.find(roomId);
+        return room == StringDictionary.NULL_CODE
+                || room >= roomSlots.size()
+                || roomSlots.get(room).isFree(start, finish, ignoredRow);
+    }
+
+    private List<Booking> findAll(RowChains chains, StringDictionary keys, String key) {
+        lock.readLock().lock();
+        try {
+            List<Booking> result = new ArrayList<>();
+            for (int row = chains.head(keys.find(key)); row >= 0; row = chains.next(row)) {
+                result.add(materialize(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads a page of the rows of a key, in booking ID order. Rows are compared on
+     * their 128-bit IDs, whose unsigned order is the order of the canonical UUID
+     * strings, so only the returned bookings are turned into objects.
+     */
+    private List<Booking> findPage(RowChains chains, StringDictionary keys, String key, String afterBookingId,
+                                   int limit) {
+        lock.readLock().lock();
+        try {
+            Comparator<Integer> byId = this::compareIds;
+            List<Integer> rows = new ArrayList<>();
+            for (int row = chains.head(keys.find(key)); row >= 0; row = chains.next(row)) {
+                if (afterBookingId == null || compareToId(row, afterBookingId) > 0) {
+                    rows.add(row);
+                }
+            }
+            return rows.stream().sorted(byId).limit(limit).map(this::materialize).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int compareIds(int a, int b) {
+        if (isRaw(a) || isRaw(b)) {
+            return bookingId(a).compareTo(bookingId(b));
+        }
+        int byHi = Long.compareUnsigned(columns.idHi.get(a), columns.idHi.get(b));
+        return byHi != 0 ? byHi : Long.compareUnsigned(columns.idLo.get(a), columns.idLo.get(b));
+    }
+
+    private int compareToId(int row, String bookingId) {
+        UUID uuid = parseUuid(bookingId);
+        if (uuid == null || isRaw(row)) {
+            return bookingId(row).compareTo(bookingId);
+        }
+        int byHi = Long.compareUnsigned(columns.idHi.get(row), uuid.getMostSignificantBits());
+        return byHi != 0 ? byHi : Long.compareUnsigned(columns.idLo.get(row), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Adds the IDs of the bookings of a room overlapping [from, to). Must be called with the lock held.
+     */
+    private void collectBookingIds(RoomSlots slots, long from, long to, List<String> bookingIds) {
+        if (slots == null) {
+            return;
+        }
+        for (int i = slots.firstEndingAfter(from); i < slots.size() && slots.start(i) < to; i++) {
+            bookingIds.add(bookingId(slots.row(i)));
+        }
+    }
+
+    private boolean isRaw(int row) {
+        return (columns.flags.get(row) & BookingColumns.RAW_ID) != 0;
+    }
+
+    private String bookingId(int row) {
+        return isRaw(row)
+                ? rawIds.decode((int) columns.idLo.get(row))
+                : new UUID(columns.idHi.get(row), columns.idLo.get(row)).toString();
+    }
+
+    /**
+     * Builds a detached Booking from a row. Must be called with the lock held.
+     */
+    private Booking materialize(int row) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId(row));
+        booking.setCreatedDate(toInstant(columns.createdMillis.get(row)));
+        booking.setStartDate(toInstant(columns.startMillis.get(row)));
+        booking.setFinishDate(toInstant(columns.finishMillis.get(row)));
+        booking.setRoomId(roomIds.decode(columns.room.get(row)));
+        byte state = columns.state.get(row);
+        booking.setBookingState(state == BookingColumns.NULL_STATE ? null : STATES[state]);
+        booking.setAmount(columns.amount.get(row));
+        double refund = columns.refundAmount.get(row);
+        booking.setRefundAmount(Double.isNaN(refund) ? null : refund);
+
+        if ((columns.flags.get(row) & BookingColumns.HAS_CLIENT) != 0) {
+            Client client = new Client();
+            client.setUserId(userIds.decode(columns.userId.get(row)));
+            client.setName(userNames.decode(columns.userName.get(row)));
+            client.setUserEmail(userEmails.decode(columns.userEmail.get(row)));
+            client.setUserPersonalId(columns.userPersonalId.get(row));
+            client.setCellphone(columns.cellphone.get(row));
+            booking.setClient(client);
+        }
+        return booking;
+    }
+
+    /**
+     * Checks whether a booking holds its room. Periods empty once truncated to millis
+     * hold nothing.
+     */
+    private static boolean holdsRoom(Booking booking) {
+        return booking.getRoomId() != null
+                && booking.getStartDate() != null
+                && booking.getFinishDate() != null
+                && toMillis(booking.getStartDate()) < toMillis(booking.getFinishDate())
+                && (booking.getBookingState() == null || booking.getBookingState().holdsRoom());
+    }
+
+    private static boolean overlaps(Booking a, Booking b) {
+        return a.getRoomId().equals(b.getRoomId())
+                && toMillis(a.getStartDate()) < toMillis(b.getFinishDate())
+                && toMillis(b.getStartDate()) < toMillis(a.getFinishDate());
+    }
+
+    /**
+     * Parses a booking ID in canonical UUID form.
+     *
+     * @return the UUID, or null if the ID must be stored as a raw string
+     */
+    private static UUID parseUuid(String bookingId) {
+        if (bookingId.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(bookingId);
+            return uuid.toString().equals(bookingId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(Instant instant) {
+        return instant == null ? BookingColumns.NULL_INSTANT : instant.toEpochMilli();
+    }
+
+    private static Instant toInstant(long millis) {
+        return millis == BookingColumns.NULL_INSTANT ? null : Instant.ofEpochMilli(millis);
+    }
+
+    /**
+     * Singly linked lists of rows per key, threaded through a column of next rows.
+     */
+    private static final class RowChains {
+
+        private final BookingColumns.IntColumn next;
+
+        private int[] heads = new int[0];
+
+        RowChains(BookingColumns.IntColumn next) {
+            this.next = next;
+        }
+
+        int head(int key) {
+            return key < 0 || key >= heads.length ? -1 : heads[key];
+        }
+
+        int next(int row) {
+            return next.get(row);
+        }
+
+        void link(int key, int row) {
+            if (key < 0) {
+                next.set(row, -1);
+                return;
+            }
+            if (key >= heads.length) {
+                int oldLength = heads.length;
+                heads = Arrays.copyOf(heads, Math.max(key + 1, oldLength * 2));
+                Arrays.fill(heads, oldLength, heads.length, -1);
+            }
+            next.set(row, heads[key]);
+            heads[key] = row;
+        }
+
+        void unlink(int key, int row) {
+            if (key < 0) {
+                return;
+            }
+            int previous = -1;
+            for (int current = heads[key]; current >= 0; previous = current, current = next.get(current)) {
+                if (current == row) {
+                    if (previous < 0) {
+                        heads[key] = next.get(row);
+                    } else {
+                        next.set(previous, next.get(row));
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
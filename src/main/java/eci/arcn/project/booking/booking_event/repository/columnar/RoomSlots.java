@@ -0,0 +1,125 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Periods held on one room, as parallel primitive arrays sorted by start then row.
+ *
+ * Periods are half-open [start, finish) and disjoint, so an overlap query only looks
+ * at the period starting right before the requested finish: a binary search.
+ *
+ * Not thread-safe; the repository guards it with its lock.
+ */
+final class RoomSlots {
+
+    private long[] starts = new long[4];
+
+    private long[] finishes = new long[4];
+
+    private int[] rows = new int[4];
+
+    private int size;
+
+    /**
+     * Checks that no period other than the given row's overlaps [start, finish).
+     *
+     * @param start start of the requested period, epoch millis
+     * @param finish end of the requested period, epoch millis
+     * @param ignoredRow row whose own period is ignored, -1 for none
+     * @return true if the room is free
+     */
+    boolean isFree(long start, long finish, int ignoredRow) {
+        // Last period starting before the requested finish
+        int i = insertionPoint(finish, -1) - 1;
+        while (i >= 0 && rows[i] == ignoredRow) {
+            i--;
+        }
+        return i < 0 || finishes[i] <= start;
+    }
+
+    /**
+     * Adds a period. Empty periods are refused: one would sort between a period and the
+     * requested finish and hide that period from {@link #isFree}.
+     *
+     * @throws IllegalArgumentException if finish is not after start
+     */
+    void add(long start, long finish, int row) {
+        if (finish <= start) {
+            throw new IllegalArgumentException("Empty period [" + start + ", " + finish + ")");
+        }
+        if (size == rows.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            finishes = Arrays.copyOf(finishes, size * 2);
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        int i = insertionPoint(start, row);
+        System.arraycopy(starts, i, starts, i + 1, size - i);
+        System.arraycopy(finishes, i, finishes, i + 1, size - i);
+        System.arraycopy(rows, i, rows, i + 1, size - i);
+        starts[i] = start;
+        finishes[i] = finish;
+        rows[i] = row;
+        size++;
+    }
+
+    void remove(long start, int row) {
+        int i = insertionPoint(start, row);
+        if (i < size && starts[i] == start && rows[i] == row) {
+            System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+            System.arraycopy(finishes, i + 1, finishes, i, size - i - 1);
+            System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Returns the index of the first period ending after the given instant, which is
+     * the first period overlapping a range starting there since periods are disjoint.
+     */
+    int firstEndingAfter(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (finishes[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long start(int index) {
+        return starts[index];
+    }
+
+    long finish(int index) {
+        return finishes[index];
+    }
+
+    int row(int index) {
+        return rows[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first period ordered at or after (start, row).
+     */
+    private int insertionPoint(long start, int row) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < start || (starts[mid] == start && rows[mid] < row)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,70 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a string column: every distinct value is stored once and
+ * rows hold its int code. Null is encoded as -1.
+ *
+ * Not thread-safe; the repository guards it with its lock.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of a value, adding the value if it is new.
+     *
+     * @param value the value, may be null
+     * @return its code
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of a value without adding it.
+     *
+     * @param value the value, may be null
+     * @return its code, or NULL_CODE if the value is null or unknown
+     */
+    int find(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    /**
+     * Returns the value of a code.
+     *
+     * @param code the code
+     * @return the value, null for NULL_CODE
+     */
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return the dictionary size
+     */
+    int size() {
+        return values.size();
+    }
+}
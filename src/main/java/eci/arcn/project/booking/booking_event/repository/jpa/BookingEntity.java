@@ -0,0 +1,162 @@
+package eci.arcn.project.booking.booking_event.repository.jpa;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+
+/**
+ * JPA entity storing a booking and its client in a single row of the bookings table.
+ *
+ * The booking ID is assigned by the service, so the entity tracks whether it is new
+ * itself: this lets Spring Data issue a plain INSERT instead of a SELECT followed by
+ * an INSERT for every new booking.
+ */
+@Data
+@Entity
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_user_id", columnList = "user_id, booking_id"),
+    @Index(name = "idx_bookings_user_email", columnList = "user_email, booking_id"),
+    @Index(name = "idx_bookings_room_period", columnList = "room_id, start_date, finish_date")
+})
+public class BookingEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "booking_id", length = 36)
+    private String bookingId;
+
+    @Column(name = "created_date")
+    private Instant createdDate;
+
+    @Column(name = "start_date", nullable = false)
+    private Instant startDate;
+
+    @Column(name = "finish_date", nullable = false)
+    private Instant finishDate;
+
+    @Column(name = "room_id", nullable = false)
+    private String roomId;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "user_personal_id")
+    private int userPersonalId;
+
+    @Column(name = "cellphone")
+    private int cellphone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_state", length = 20)
+    private BookingState bookingState;
+
+    @Column(name = "amount")
+    private double amount;
+
+    @Column(name = "refund_amount")
+    private Double refundAmount;
+
+    /**
+     * Whether the entity has not been persisted yet.
+     */
+    @Transient
+    private boolean newEntity;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getId() {
+        return bookingId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    /**
+     * Builds an entity from a booking.
+     *
+     * @param booking the booking
+     * @param newEntity true if the booking is not stored yet
+     * @return the corresponding entity
+     */
+    public static BookingEntity from(Booking booking, boolean newEntity) {
+        BookingEntity entity = new BookingEntity();
+        entity.setBookingId(booking.getBookingId());
+        entity.setCreatedDate(booking.getCreatedDate());
+        entity.setStartDate(booking.getStartDate());
+        entity.setFinishDate(booking.getFinishDate());
+        entity.setRoomId(booking.getRoomId());
+        entity.setBookingState(booking.getBookingState());
+        entity.setAmount(booking.getAmount());
+        entity.setRefundAmount(booking.getRefundAmount());
+
+        Client client = booking.getClient();
+        if (client != null) {
+            entity.setUserId(client.getUserId());
+            entity.setUserName(client.getName());
+            entity.setUserEmail(client.getUserEmail());
+            entity.setUserPersonalId(client.getUserPersonalId());
+            entity.setCellphone(client.getCellphone());
+        }
+        entity.setNewEntity(newEntity);
+        return entity;
+    }
+
+    /**
+     * Builds the booking stored in this entity.
+     *
+     * @return the corresponding booking
+     */
+    public Booking toBooking() {
+        Client client = new Client();
+        client.setUserId(userId);
+        client.setName(userName);
+        client.setUserEmail(userEmail);
+        client.setUserPersonalId(userPersonalId);
+        client.setCellphone(cellphone);
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCreatedDate(createdDate);
+        booking.setStartDate(startDate);
+        booking.setFinishDate(finishDate);
+        booking.setRoomId(roomId);
+        booking.setClient(client);
+        booking.setBookingState(bookingState);
+        booking.setAmount(amount);
+        booking.setRefundAmount(refundAmount);
+        return booking;
+    }
+}
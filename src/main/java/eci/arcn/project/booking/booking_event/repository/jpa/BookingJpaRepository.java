@@ -0,0 +1,182 @@
+package eci.arcn.project.booking.booking_event.repository.jpa;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+/**
+ * Spring Data repository for {@link BookingEntity}.
+ */
+public interface BookingJpaRepository extends JpaRepository<BookingEntity, String> {
+
+    /**
+     * Retrieves all bookings of a user ID (served by idx_bookings_user_id).
+     *
+     * @param userId the user ID
+     * @return the matching bookings
+     */
+    List<BookingEntity> findByUserId(String userId);
+
+    /**
+     * Retrieves all bookings of a user email (served by idx_bookings_user_email).
+     *
+     * @param userEmail the user email
+     * @return the matching bookings
+     */
+    List<BookingEntity> findByUserEmail(String userEmail);
+
+    /**
+     * Retrieves a page of the bookings of a user ID, by ascending booking ID
+     * (keyset pagination served by idx_bookings_user_id).
+     *
+     * @param userId the user ID
+     * @param afterBookingId the last booking ID of the previous page
+     * @param limit the maximum number of bookings to return
+     * @return the matching bookings
+     */
+    List<BookingEntity> findByUserIdAndBookingIdGreaterThanOrderByBookingIdAsc(String userId, String afterBookingId,
+                                                                              Limit limit);
+
+    /**
+     * Retrieves a page of the bookings of a user email, by ascending booking ID
+     * (keyset pagination served by idx_bookings_user_email).
+     *
+     * @param userEmail the user email
+     * @param afterBookingId the last booking ID of the previous page
+     * @param limit the maximum number of bookings to return
+     * @return the matching bookings
+     */
+    List<BookingEntity> findByUserEmailAndBookingIdGreaterThanOrderByBookingIdAsc(String userEmail,
+                                                                                 String afterBookingId, Limit limit);
+
+    /**
+     * Retrieves all bookings in a state (served by idx_bookings_pending for PENDING).
+     *
+     * @param bookingState the booking state
+     * @return the matching bookings
+     */
+    List<BookingEntity> findByBookingState(BookingState bookingState);
+
+    /**
+     * Retrieves a page of all the bookings, by ascending booking ID (keyset pagination
+     * served by the primary key).
+     *
+     * @param afterBookingId the last booking ID of the previous page
+     * @param limit the maximum number of bookings to return
+     * @return the bookings whose ID follows afterBookingId
+     */
+    List<BookingEntity> findByBookingIdGreaterThanOrderByBookingIdAsc(String afterBookingId, Limit limit);
+
+    /**
+     * Retrieves a page of all the booking IDs, in ascending order (keyset pagination
+     * served by the primary key).
+     *
+     * @param afterBookingId the last booking ID of the previous page
+     * @param limit the maximum number of IDs to return
+     * @return the booking IDs following afterBookingId
+     */
+    @Query("select b.bookingId from BookingEntity b where b.bookingId > :afterBookingId order by b.bookingId")
+    List<String> findBookingIdsAfter(@Param("afterBookingId") String afterBookingId, Limit limit);
+
+    /**
+     * Checks whether a room has a booking holding it during part of the given period
+     * (served by idx_bookings_room_period).
+     *
+     * @param roomId the room identifier
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param releasedStates states of bookings that no longer hold their room
+     * @return true if an overlapping booking exists
+     */
+    @Query("select count(b) > 0 from BookingEntity b"
+            + " where b.roomId = :roomId and b.startDate < :finishDate and b.finishDate > :startDate"
+            + " and b.bookingState not in :releasedStates")
+    boolean existsOverlapping(@Param("roomId") String roomId,
+                              @Param("startDate") Instant startDate,
+                              @Param("finishDate") Instant finishDate,
+                              @Param("releasedStates") Collection<BookingState> releasedStates);
+
+    /**
+     * Retrieves the bookings holding any of the given rooms during part of the given
+     * period (served by idx_bookings_room_period).
+     *
+     * @param roomIds the room identifiers
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param releasedStates states of bookings that no longer hold their room
+     * @return the overlapping bookings
+     */
+    @Query("select b from BookingEntity b"
+            + " where b.roomId in :roomIds and b.startDate < :finishDate and b.finishDate > :startDate"
+            + " and b.bookingState not in :releasedStates")
+    List<BookingEntity> findOverlapping(@Param("roomIds") Collection<String> roomIds,
+                                        @Param("startDate") Instant startDate,
+                                        @Param("finishDate") Instant finishDate,
+                                        @Param("releasedStates") Collection<BookingState> releasedStates);
+
+    /**
+     * Retrieves the IDs of the bookings holding any of the given rooms during part of the
+     * given period (served by idx_bookings_room_period).
+     *
+     * @param roomIds the room identifiers
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param releasedStates states of bookings that no longer hold their room
+     * @return the IDs of the overlapping bookings
+     */
+    @Query("select b.bookingId from BookingEntity b"
+            + " where b.roomId in :roomIds and b.startDate < :finishDate and b.finishDate > :startDate"
+            + " and b.bookingState not in :releasedStates")
+    List<String> findOverlappingIds(@Param("roomIds") Collection<String> roomIds,
+                                    @Param("startDate") Instant startDate,
+                                    @Param("finishDate") Instant finishDate,
+                                    @Param("releasedStates") Collection<BookingState> releasedStates);
+
+    /**
+     * Retrieves the IDs of the bookings holding any room during part of the given period.
+     *
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param releasedStates states of bookings that no longer hold their room
+     * @return the IDs of the overlapping bookings
+     */
+    @Query("select b.bookingId from BookingEntity b"
+            + " where b.startDate < :finishDate and b.finishDate > :startDate"
+            + " and b.bookingState not in :releasedStates")
+    List<String> findOverlappingIds(@Param("startDate") Instant startDate,
+                                    @Param("finishDate") Instant finishDate,
+                                    @Param("releasedStates") Collection<BookingState> releasedStates);
+
+    /**
+     * Retrieves the IDs of every booked room.
+     *
+     * @return the distinct room IDs
+     */
+    @Query("select distinct b.roomId from BookingEntity b where b.roomId is not null")
+    List<String> findRoomIds();
+
+    /**
+     * Retrieves the IDs of the given rooms held during part of the given period
+     * (served by idx_bookings_room_period).
+     *
+     * @param roomIds the room identifiers
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param releasedStates states of bookings that no longer hold their room
+     * @return the IDs of the rooms having an overlapping booking
+     */
+    @Query("select distinct b.roomId from BookingEntity b"
+            + " where b.roomId in :roomIds and b.startDate < :finishDate and b.finishDate > :startDate"
+            + " and b.bookingState not in :releasedStates")
+    List<String> findOccupiedRoomIds(@Param("roomIds") Collection<String> roomIds,
+                                     @Param("startDate") Instant startDate,
+                                     @Param("finishDate") Instant finishDate,
+                                     @Param("releasedStates") Collection<BookingState> releasedStates);
+}
@@ -0,0 +1,352 @@
+package eci.arcn.project.booking.booking_event.repository.jpa;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PostgreSQL implementation of the BookingRepository, enabled by the "postgres" profile.
+ *
+ * The bookings table carries an exclusion constraint on (room_id, tstzrange(start_date,
+ * finish_date)) for bookings that hold their room, see schema-postgres.sql. It makes
+ * {@link #saveIfAvailable(Booking)} atomic without any application-level lock: of two
+ * concurrent overlapping inserts, the database rejects the second one.
+ */
+@Repository
+@Profile("postgres")
+@RequiredArgsConstructor
+public class JpaBookingRepository implements BookingRepository {
+
+    /**
+     * States of bookings that no longer hold their room.
+     */
+    private static final Set<BookingState> RELEASED_STATES = EnumSet.allOf(BookingState.class).stream()
+            .filter(state -> !state.holdsRoom())
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(BookingState.class)));
+
+    /**
+     * Times a batch is retried after losing a race against a concurrent insert.
+     */
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    /**
+     * SQLState of a PostgreSQL exclusion constraint violation.
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * Rows read per query by a full scan.
+     */
+    private static final int SCAN_PAGE_SIZE = 1000;
+
+    private final BookingJpaRepository jpaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void save(Booking booking) {
+        jpaRepository.save(BookingEntity.from(booking, false));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Existing rows are looked up with a single query so that new bookings are plain
+     * inserts, and the whole set is flushed as JDBC batches in one transaction.
+     */
+    @Override
+    @Transactional
+    public void saveAll(Collection<Booking> bookings) {
+        Set<String> existingIds = jpaRepository.findAllById(
+                        bookings.stream().map(Booking::getBookingId).toList())
+                .stream()
+                .map(BookingEntity::getBookingId)
+                .collect(Collectors.toSet());
+
+        jpaRepository.saveAll(bookings.stream()
+                .map(booking -> BookingEntity.from(booking, !existingIds.contains(booking.getBookingId())))
+                .toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The overlap query rejects most conflicts without attempting a write; the
+     * exclusion constraint settles the races between concurrent inserts. Other integrity
+     * violations (missing column, duplicate ID...) are not availability problems and
+     * are rethrown.
+     */
+    @Override
+    public boolean saveIfAvailable(Booking booking) {
+        if (!isRoomAvailable(booking.getRoomId(), booking.getStartDate(), booking.getFinishDate())) {
+            return false;
+        }
+        try {
+            jpaRepository.saveAndFlush(BookingEntity.from(booking, true));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (!isExclusionViolation(e)) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A single query loads the bookings holding any room of the batch over its whole
+     * span, the batch is checked against them in memory, and the available bookings are
+     * inserted as JDBC batches in one transaction. If a concurrent insert wins the race
+     * and trips the exclusion constraint, the transaction is rolled back and the batch
+     * checked again.
+     */
+    @Override
+    public boolean[] saveAllIfAvailable(List<Booking> bookings, boolean atomic) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> reserveAll(bookings, atomic));
+            } catch (DataIntegrityViolationException e) {
+                if (!isExclusionViolation(e) || attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Booking findById(String bookingId) {
+        return jpaRepository.findById(bookingId)
+                .map(BookingEntity::toBooking)
+                .orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserId(String userId) {
+        return toBookings(jpaRepository.findByUserId(userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail) {
+        return toBookings(jpaRepository.findByUserEmail(userEmail));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserId(String userId, String afterBookingId, int limit) {
+        return toBookings(jpaRepository.findByUserIdAndBookingIdGreaterThanOrderByBookingIdAsc(
+                userId, afterBookingId == null ? "" : afterBookingId, Limit.of(limit)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByUserEmail(String userEmail, String afterBookingId, int limit) {
+        return toBookings(jpaRepository.findByUserEmailAndBookingIdGreaterThanOrderByBookingIdAsc(
+                userEmail, afterBookingId == null ? "" : afterBookingId, Limit.of(limit)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Booking> findByState(BookingState bookingState) {
+        return toBookings(jpaRepository.findByBookingState(bookingState));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The table is read in keyset pages over the primary key, each in its own query.
+     */
+    @Override
+    public void forEach(Consumer<Booking> consumer) {
+        String after = "";
+        List<BookingEntity> page;
+        do {
+            page = jpaRepository.findByBookingIdGreaterThanOrderByBookingIdAsc(after, Limit.of(SCAN_PAGE_SIZE));
+            for (BookingEntity entity : page) {
+                consumer.accept(entity.toBooking());
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getBookingId();
+            }
+        } while (page.size() == SCAN_PAGE_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The primary key is read in keyset pages, each in its own query.
+     */
+    @Override
+    public void forEachId(Consumer<String> consumer) {
+        String after = "";
+        List<String> page;
+        do {
+            page = jpaRepository.findBookingIdsAfter(after, Limit.of(SCAN_PAGE_SIZE));
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == SCAN_PAGE_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate) {
+        return !jpaRepository.existsOverlapping(roomId, startDate, finishDate, RELEASED_STATES);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Listing every room without candidates scans the table; pass the candidate rooms
+     * whenever they are known.
+     */
+    @Override
+    public List<String> findAvailableRooms(Collection<String> roomIds, Instant startDate, Instant finishDate) {
+        List<String> candidates = roomIds == null ? jpaRepository.findRoomIds() : List.copyOf(roomIds);
+        if (candidates.isEmpty() || !startDate.isBefore(finishDate)) {
+            return candidates;
+        }
+        Set<String> occupied = Set.copyOf(
+                jpaRepository.findOccupiedRoomIds(candidates, startDate, finishDate, RELEASED_STATES));
+        return candidates.stream().filter(roomId -> !occupied.contains(roomId)).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TimeWindow> findReservedPeriods(String roomId, Instant from, Instant to) {
+        return jpaRepository.findOverlapping(List.of(roomId), from, to, RELEASED_STATES).stream()
+                .sorted(Comparator.comparing(BookingEntity::getStartDate))
+                .map(entity -> new TimeWindow(entity.getStartDate(), entity.getFinishDate()))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findHoldingBookingIds(Collection<String> roomIds, Instant from, Instant to) {
+        if (roomIds == null) {
+            return jpaRepository.findOverlappingIds(from, to, RELEASED_STATES);
+        }
+        return roomIds.isEmpty() ? List.of() : jpaRepository.findOverlappingIds(roomIds, from, to, RELEASED_STATES);
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Checks a batch against the stored bookings and inserts the available ones.
+     * Must run inside a transaction.
+     *
+     * @param bookings the bookings to be saved
+     * @param atomic whether to save all the bookings or none
+     * @return for each booking, whether its room was available
+     */
+    private boolean[] reserveAll(List<Booking> bookings, boolean atomic) {
+        List<Booking> scheduled = bookings.stream().filter(JpaBookingRepository::hasPeriod).toList();
+        // Stored and accepted bookings holding each room, checked by linear scan since
+        // a batch rarely holds more than a few bookings per room
+        Map<String, List<Booking>> holding = new HashMap<>();
+        if (!scheduled.isEmpty()) {
+            Instant from = scheduled.stream().map(Booking::getStartDate).min(Comparator.naturalOrder()).orElseThrow();
+            Instant to = scheduled.stream().map(Booking::getFinishDate).max(Comparator.naturalOrder()).orElseThrow();
+            Set<String> roomIds = scheduled.stream().map(Booking::getRoomId).collect(Collectors.toSet());
+            for (BookingEntity entity : jpaRepository.findOverlapping(roomIds, from, to, RELEASED_STATES)) {
+                holding.computeIfAbsent(entity.getRoomId(), id -> new ArrayList<>()).add(entity.toBooking());
+            }
+        }
+
+        boolean[] available = new boolean[bookings.size()];
+        boolean allAvailable = true;
+        List<BookingEntity> accepted = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            available[i] = true;
+            if (hasPeriod(booking)) {
+                List<Booking> roomBookings = holding.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>());
+                available[i] = roomBookings.stream().noneMatch(other -> overlaps(other, booking));
+                if (available[i]) {
+                    roomBookings.add(booking);
+                }
+            }
+            if (available[i]) {
+                accepted.add(BookingEntity.from(booking, true));
+            }
+            allAvailable &= available[i];
+        }
+
+        if (allAvailable || !atomic) {
+            jpaRepository.saveAllAndFlush(accepted);
+        }
+        return available;
+    }
+
+    /**
+     * Checks whether an integrity violation comes from the exclusion constraint on the
+     * periods of a room, i.e. a lost race against an overlapping insert.
+     */
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasPeriod(Booking booking) {
+        return booking.getRoomId() != null && booking.getStartDate() != null && booking.getFinishDate() != null;
+    }
+
+    private static boolean overlaps(Booking a, Booking b) {
+        return a.getStartDate().isBefore(b.getFinishDate()) && b.getStartDate().isBefore(a.getFinishDate());
+    }
+
+    private static List<Booking> toBookings(List<BookingEntity> entities) {
+        return entities.stream().map(BookingEntity::toBooking).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package eci.arcn.project.booking.booking_event.repository.wal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+/**
+ * Compact binary encoding of a booking, shared by the write-ahead log and the snapshots.
+ *
+ * A leading bit set marks which nullable fields are present, so absent values take no
+ * space. States are stored by ordinal. The store version of the booking is kept so that
+ * recovery can tell which of two records of the same booking is the newer one.
+ */
+final class BookingRecordCodec {
+
+    private static final int BOOKING_ID = 1;
+    private static final int CREATED_DATE = 1 << 1;
+    private static final int START_DATE = 1 << 2;
+    private static final int FINISH_DATE = 1 << 3;
+    private static final int ROOM_ID = 1 << 4;
+    private static final int STATE = 1 << 5;
+    private static final int REFUND = 1 << 6;
+    private static final int CLIENT = 1 << 7;
+    private static final int USER_ID = 1 << 8;
+    private static final int NAME = 1 << 9;
+    private static final int EMAIL = 1 << 10;
+    private static final int VERSION = 1 << 11;
+
+    private static final BookingState[] STATES = BookingState.values();
+
+    private BookingRecordCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Writes a booking.
+     *
+     * @param out the destination
+     * @param booking the booking to write
+     * @throws IOException if the destination fails
+     */
+    static void write(DataOutput out, Booking booking) throws IOException {
+        Client client = booking.getClient();
+        int flags = flag(booking.getBookingId(), BOOKING_ID)
+                | flag(booking.getCreatedDate(), CREATED_DATE)
+                | flag(booking.getStartDate(), START_DATE)
+                | flag(booking.getFinishDate(), FINISH_DATE)
+                | flag(booking.getRoomId(), ROOM_ID)
+                | flag(booking.getBookingState(), STATE)
+                | flag(booking.getRefundAmount(), REFUND)
+                | flag(client, CLIENT)
+                | (booking.getVersion() == 0 ? 0 : VERSION);
+        if (client != null) {
+            flags |= flag(client.getUserId(), USER_ID)
+                    | flag(client.getName(), NAME)
+                    | flag(client.getUserEmail(), EMAIL);
+        }
+
+        out.writeShort(flags);
+        writeString(out, booking.getBookingId());
+        writeInstant(out, booking.getCreatedDate());
+        writeInstant(out, booking.getStartDate());
+        writeInstant(out, booking.getFinishDate());
+        writeString(out, booking.getRoomId());
+        if (booking.getBookingState() != null) {
+            out.writeByte(booking.getBookingState().ordinal());
+        }
+        out.writeDouble(booking.getAmount());
+        if (booking.getRefundAmount() != null) {
+            out.writeDouble(booking.getRefundAmount());
+        }
+        if (client != null) {
+            writeString(out, client.getUserId());
+            writeString(out, client.getName());
+            writeString(out, client.getUserEmail());
+            out.writeInt(client.getUserPersonalId());
+            out.writeInt(client.getCellphone());
+        }
+        if (booking.getVersion() != 0) {
+            out.writeLong(booking.getVersion());
+        }
+    }
+
+    /**
+     * Reads a booking written by {@link #write(DataOutput, Booking)}.
+     *
+     * @param in the source
+     * @return the booking
+     * @throws IOException if the source fails or ends early
+     */
+    static Booking read(DataInput in) throws IOException {
+        int flags = in.readUnsignedShort();
+
+        Booking booking = new Booking();
+        booking.setBookingId(readString(in, flags, BOOKING_ID));
+        booking.setCreatedDate(readInstant(in, flags, CREATED_DATE));
+        booking.setStartDate(readInstant(in, flags, START_DATE));
+        booking.setFinishDate(readInstant(in, flags, FINISH_DATE));
+        booking.setRoomId(readString(in, flags, ROOM_ID));
+        if ((flags & STATE) != 0) {
+            booking.setBookingState(STATES[in.readUnsignedByte()]);
+        }
+        booking.setAmount(in.readDouble());
+        if ((flags & REFUND) != 0) {
+            booking.setRefundAmount(in.readDouble());
+        }
+        if ((flags & CLIENT) != 0) {
+            Client client = new Client();
+            client.setUserId(readString(in, flags, USER_ID));
+            client.setName(readString(in, flags, NAME));
+            client.setUserEmail(readString(in, flags, EMAIL));
+            client.setUserPersonalId(in.readInt());
+            client.setCellphone(in.readInt());
+            booking.setClient(client);
+        }
+        if ((flags & VERSION) != 0) {
+            booking.setVersion(in.readLong());
+        }
+        return booking;
+    }
+
+    // ====== Private helper methods ======
+
+    private static int flag(Object value, int flag) {
+        return value == null ? 0 : flag;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeInstant(DataOutput out, Instant value) throws IOException {
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static String readString(DataInput in, int flags, int flag) throws IOException {
+        return (flags & flag) == 0 ? null : in.readUTF();
+    }
+
+    private static Instant readInstant(DataInput in, int flags, int flag) throws IOException {
+        return (flags & flag) == 0 ? null : Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
@@ -0,0 +1,203 @@
+package eci.arcn.project.booking.booking_event.repository.wal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+
+/**
+ * Compact binary snapshots of the whole booking store (snapshot-&lt;n&gt;.bin).
+ *
+ * A snapshot is tagged with the first WAL segment it does not cover: recovery loads
+ * the latest snapshot and replays the log from that segment on. Records are grouped in
+ * length-prefixed chunks that can be decoded independently, which lets recovery use
+ * every core. Snapshots are written to a temporary file and atomically renamed, so a
+ * crash never leaves a partial one.
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x424B534E; // "BKSN"
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final int CHUNK_RECORDS = 8192;
+
+    private final Path directory;
+
+    /**
+     * Creates a store.
+     *
+     * @param directory directory holding the snapshots
+     */
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes a snapshot and deletes the older ones.
+     *
+     * @param walSegment index of the first WAL segment not covered by the snapshot
+     * @param bookings the bookings to save; may be modified concurrently
+     * @return the number of bookings written
+     */
+    public long write(long walSegment, Collection<Booking> bookings) {
+        Path target = snapshotPath(walSegment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long count = 0;
+        try {
+            Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(walSegment);
+
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_RECORDS * 128);
+                DataOutputStream chunkOut = new DataOutputStream(chunk);
+                int chunkCount = 0;
+                for (Booking booking : bookings) {
+                    BookingRecordCodec.write(chunkOut, booking);
+                    count++;
+                    if (++chunkCount == CHUNK_RECORDS) {
+                        writeChunk(out, chunk, chunkCount);
+                        chunkCount = 0;
+                    }
+                }
+                if (chunkCount > 0) {
+                    writeChunk(out, chunk, chunkCount);
+                }
+                out.writeInt(0);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (long segment : snapshotSegments()) {
+                if (segment < walSegment) {
+                    Files.deleteIfExists(snapshotPath(segment));
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+    }
+
+    /**
+     * Loads the latest snapshot, if any.
+     *
+     * Chunks are read sequentially and decoded in parallel, one task per chunk, so the
+     * consumer is called concurrently from several threads and in no particular order.
+     *
+     * @param consumer thread-safe consumer receiving every booking of the snapshot
+     * @return the index of the first WAL segment to replay after the snapshot, empty if
+     *         there is no snapshot
+     */
+    public Optional<Long> load(Consumer<Booking> consumer) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ExecutorService decoders = Executors.newFixedThreadPool(parallelism);
+        // Bounds the chunks read ahead of the decoders
+        Semaphore readAhead = new Semaphore(2 * parallelism);
+        try {
+            List<Long> segments = snapshotSegments();
+            if (segments.isEmpty()) {
+                return Optional.empty();
+            }
+            Path path = snapshotPath(segments.get(segments.size() - 1));
+            List<Future<?>> tasks = new ArrayList<>();
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Unsupported snapshot format: " + path);
+                }
+                long walSegment = in.readLong();
+                int length;
+                while ((length = in.readInt()) > 0) {
+                    int records = in.readInt();
+                    byte[] chunk = new byte[length];
+                    in.readFully(chunk);
+                    readAhead.acquire();
+                    tasks.add(decoders.submit(() -> {
+                        try {
+                            decodeChunk(chunk, records, consumer);
+                        } finally {
+                            readAhead.release();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                return Optional.of(walSegment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load snapshot from " + directory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading snapshot", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot load snapshot from " + directory, e.getCause());
+        } finally {
+            decoders.shutdownNow();
+        }
+    }
+
+    // ====== Private helper methods ======
+
+    private static void writeChunk(DataOutputStream out, ByteArrayOutputStream chunk, int records) throws IOException {
+        out.writeInt(chunk.size());
+        out.writeInt(records);
+        chunk.writeTo(out);
+        chunk.reset();
+    }
+
+    private static void decodeChunk(byte[] chunk, int records, Consumer<Booking> consumer) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(chunk));
+        for (int i = 0; i < records; i++) {
+            consumer.accept(BookingRecordCodec.read(in));
+        }
+    }
+
+    private List<Long> snapshotSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("snapshot-") && name.endsWith(".bin"))
+                    .map(name -> Long.parseLong(name.substring(9, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long walSegment) {
+        return directory.resolve(String.format("snapshot-%020d.bin", walSegment));
+    }
+}
@@ -0,0 +1,184 @@
+package eci.arcn.project.booking.booking_event.repository.wal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.repository.BookingJournal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable journal of the in-memory repository: a write-ahead log of every save plus
+ * periodic snapshots that let the log be truncated.
+ *
+ * Recovery loads the latest snapshot and replays the log segments written after it.
+ * Taking a snapshot first rolls the log, so every save appended before the roll is
+ * already visible in the repository when the snapshot iterates it, and every save
+ * appended after it is replayed on top of the snapshot.
+ */
+@Slf4j
+public class WalBookingJournal implements BookingJournal, AutoCloseable {
+
+    private final Path directory;
+
+    private final WriteAheadLog wal;
+
+    private final SnapshotStore snapshots;
+
+    private final boolean syncOnSave;
+
+    private final Duration snapshotInterval;
+
+    private final AtomicLong appendsSinceSnapshot = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a journal.
+     *
+     * @param directory directory holding the log segments and snapshots
+     * @param segmentSize size of a log segment in bytes
+     * @param flushIntervalMillis maximum time between two group commits
+     * @param flushBatchSize number of pending records that triggers a group commit
+     * @param syncOnSave whether a save returns only once its record is on disk
+     * @param snapshotInterval time between two snapshots
+     */
+    public WalBookingJournal(Path directory, int segmentSize, long flushIntervalMillis, int flushBatchSize,
+                             boolean syncOnSave, Duration snapshotInterval) {
+        this.directory = directory;
+        this.wal = new WriteAheadLog(directory, segmentSize, flushIntervalMillis, flushBatchSize);
+        this.snapshots = new SnapshotStore(directory);
+        this.syncOnSave = syncOnSave;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recover(Consumer<Booking> replay) {
+        long begin = System.nanoTime();
+        AtomicLong loaded = new AtomicLong();
+        long fromSegment = snapshots.load(booking -> {
+            replay.accept(booking);
+            loaded.incrementAndGet();
+        }).orElse(0L);
+        long fromSnapshot = loaded.get();
+
+        WriteAheadLog.replay(directory, fromSegment, payload -> {
+            replay.accept(decode(payload));
+            loaded.incrementAndGet();
+        });
+        log.info("Recovered {} bookings from snapshot and {} log records in {} ms", fromSnapshot,
+                loaded.get() - fromSnapshot, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Booking booking) {
+        wal.append(encode(booking), syncOnSave);
+        appendsSinceSnapshot.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the last record is waited for: the log is flushed in append order, so the
+     * whole batch is durable once it is, and it usually takes a single group commit.
+     */
+    @Override
+    public void appendAll(Collection<Booking> bookings) {
+        Iterator<Booking> iterator = bookings.iterator();
+        while (iterator.hasNext()) {
+            Booking booking = iterator.next();
+            wal.append(encode(booking), syncOnSave && !iterator.hasNext());
+            appendsSinceSnapshot.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Starts taking a snapshot every snapshot interval, skipped when nothing was saved.
+     */
+    @Override
+    public void attach(Supplier<Collection<Booking>> contents) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (appendsSinceSnapshot.get() > 0) {
+                snapshot(contents.get());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a snapshot of the given bookings and deletes the log segments it covers.
+     *
+     * @param bookings all the stored bookings
+     */
+    public void snapshot(Collection<Booking> bookings) {
+        try {
+            appendsSinceSnapshot.set(0);
+            long segment = wal.roll();
+            long begin = System.nanoTime();
+            long count = snapshots.write(segment, bookings);
+            wal.deleteSegmentsBefore(segment);
+            log.info("Snapshot of {} bookings written in {} ms", count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        } catch (RuntimeException e) {
+            log.error("Booking snapshot failed", e);
+        }
+    }
+
+    /**
+     * Stops the snapshots and flushes the log.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        wal.close();
+    }
+
+    // ====== Private helper methods ======
+
+    private static byte[] encode(Booking booking) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            BookingRecordCodec.write(out, booking);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Booking decode(byte[] payload) {
+        try {
+            return BookingRecordCodec.read(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupted WAL record", e);
+        }
+    }
+}
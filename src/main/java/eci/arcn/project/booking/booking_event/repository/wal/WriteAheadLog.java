@@ -0,0 +1,309 @@
+package eci.arcn.project.booking.booking_event.repository.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log made of fixed-size memory-mapped segment files (wal-&lt;n&gt;.log).
+ *
+ * Every record is stored as [length][CRC32C][payload]; a zero length or a checksum
+ * mismatch marks the end of a segment, which is how a record torn by a crash is
+ * detected. Appending only copies the record into the mapping. A flusher thread forces
+ * the dirty pages to disk when enough records are pending or the flush interval has
+ * elapsed (group commit), and callers that need durability wait for that flush.
+ */
+@Slf4j
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long flushIntervalNanos;
+
+    private final int flushBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition flushNeeded = lock.newCondition();
+
+    private final Condition flushed = lock.newCondition();
+
+    private final CRC32C crc = new CRC32C();
+
+    private final Thread flusher;
+
+    private long segmentIndex;
+
+    private MappedByteBuffer segment;
+
+    private int flushedOffset;
+
+    /**
+     * Total bytes appended / made durable since the log was opened, across segments.
+     */
+    private long appendedBytes;
+
+    private long durableBytes;
+
+    private int pendingRecords;
+
+    private boolean open = true;
+
+    /**
+     * Opens a log for appending. A new segment is always started, so that appends never
+     * follow a possibly torn record left by a crash.
+     *
+     * @param directory directory holding the segments
+     * @param segmentSize size of a segment file in bytes
+     * @param flushIntervalMillis maximum time between two flushes of pending records
+     * @param flushBatchSize number of pending records that triggers an immediate flush
+     */
+    public WriteAheadLog(Path directory, int segmentSize, long flushIntervalMillis, int flushBatchSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.flushBatchSize = flushBatchSize;
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = segmentIndexes(directory);
+            openSegment(segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + directory, e);
+        }
+        this.flusher = new Thread(this::runFlusher, "booking-wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload the record content
+     * @param waitForDurability whether to return only once the record has been flushed to disk
+     */
+    public void append(byte[] payload, boolean waitForDurability) {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record larger than a WAL segment: " + recordSize);
+        }
+
+        lock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (segment.remaining() < recordSize) {
+                roll();
+            }
+            crc.reset();
+            crc.update(payload);
+            segment.putInt(payload.length);
+            segment.putInt((int) crc.getValue());
+            segment.put(payload);
+            appendedBytes += recordSize;
+            long target = appendedBytes;
+
+            if (++pendingRecords >= flushBatchSize) {
+                flushNeeded.signal();
+            }
+            while (waitForDurability && durableBytes < target) {
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes what has been written and starts a new segment.
+     *
+     * @return the index of the new segment; every record appended before this call is in
+     *         an older segment
+     */
+    public long roll() {
+        lock.lock();
+        try {
+            segment.force();
+            durableBytes = appendedBytes;
+            pendingRecords = 0;
+            flushed.signalAll();
+            openSegment(segmentIndex + 1);
+            return segmentIndex;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll write-ahead log", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments older than the given one.
+     *
+     * @param segmentIndex index of the oldest segment to keep
+     */
+    public void deleteSegmentsBefore(long segmentIndex) {
+        try {
+            for (long index : segmentIndexes(directory)) {
+                if (index < segmentIndex) {
+                    Files.deleteIfExists(segmentPath(directory, index));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot delete old WAL segments in {}", directory, e);
+        }
+    }
+
+    /**
+     * Reads the records of the segments starting at the given index, in append order.
+     *
+     * @param directory directory holding the segments
+     * @param fromSegment index of the first segment to read
+     * @param consumer receives the payload of each record
+     */
+    public static void replay(Path directory, long fromSegment, Consumer<byte[]> consumer) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            for (long index : segmentIndexes(directory)) {
+                if (index >= fromSegment) {
+                    replaySegment(segmentPath(directory, index), consumer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay write-ahead log in " + directory, e);
+        }
+    }
+
+    /**
+     * Flushes pending records and stops the flusher.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            segment.force();
+            durableBytes = appendedBytes;
+            flushed.signalAll();
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        flusher.interrupt();
+    }
+
+    // ====== Private helper methods ======
+
+    /**
+     * Group commit loop: forces the pages written since the previous flush.
+     */
+    private void runFlusher() {
+        while (true) {
+            MappedByteBuffer toFlush;
+            int from;
+            int to;
+            long target;
+            lock.lock();
+            try {
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (open && pendingRecords < flushBatchSize && System.nanoTime() < deadline) {
+                    flushNeeded.awaitNanos(deadline - System.nanoTime());
+                }
+                if (!open) {
+                    return;
+                }
+                if (pendingRecords == 0) {
+                    continue;
+                }
+                toFlush = segment;
+                from = flushedOffset;
+                to = segment.position();
+                target = appendedBytes;
+                pendingRecords = 0;
+                flushedOffset = to;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Forcing happens outside the lock so appends keep going meanwhile
+            toFlush.force(from, to - from);
+
+            lock.lock();
+            try {
+                durableBytes = Math.max(durableBytes, target);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentIndex = index;
+        flushedOffset = 0;
+    }
+
+    private static void replaySegment(Path path, Consumer<byte[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C checksum = new CRC32C();
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                checksum.reset();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    log.warn("Torn record in {}, ignoring the rest of the segment", path);
+                    return;
+                }
+                consumer.accept(payload);
+            }
+        }
+    }
+
+    private static List<Long> segmentIndexes(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("wal-") && name.endsWith(".log"))
+                    .map(name -> Long.parseLong(name.substring(4, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("wal-%020d.log", index));
+    }
+}
@@ -0,0 +1,14 @@
+package eci.arcn.project.booking.booking_event.service;
+
+import java.util.List;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+
+/**
+ * One page of a keyset-paginated booking query.
+ *
+ * @param bookings the bookings of the page, in ascending booking ID order
+ * @param nextCursor the cursor to pass to get the next page, null on the last page
+ */
+public record BookingPage(List<Booking> bookings, String nextCursor) {
+}
@@ -0,0 +1,42 @@
+package eci.arcn.project.booking.booking_event.service;
+
+/**
+ * Outcome of one booking of a bulk creation.
+ *
+ * @param bookingId the ID of the created booking, null if it was not created
+ * @param outcome whether the booking was created, and why not otherwise
+ * @param message the reason of the failure, null if the booking was created
+ */
+public record BookingResult(String bookingId, Outcome outcome, String message) {
+
+    /**
+     * Possible outcomes of a booking in a bulk creation.
+     */
+    public enum Outcome {
+        /** The booking was saved. */
+        CREATED,
+        /** The booking details are invalid. */
+        INVALID,
+        /** The room is already booked for part of the period. */
+        UNAVAILABLE_ROOM,
+        /** The booking is valid but the atomic batch was not saved. */
+        ABORTED
+    }
+
+    static BookingResult created(String bookingId) {
+        return new BookingResult(bookingId, Outcome.CREATED, null);
+    }
+
+    static BookingResult failed(Outcome outcome, String message) {
+        return new BookingResult(null, outcome, message);
+    }
+
+    /**
+     * Tells whether the booking was saved.
+     *
+     * @return true if the outcome is CREATED
+     */
+    public boolean isCreated() {
+        return outcome == Outcome.CREATED;
+    }
+}
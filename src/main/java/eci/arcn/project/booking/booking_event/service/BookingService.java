@@ -1,12 +1,16 @@
 package eci.arcn.project.booking.booking_event.service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
 
 /**
  * Service interface for booking operations.
  * 
- * Defines the contract for creating, managing, and retrieving bookings.
+ * Defines the contract for creating, managing, and retrieving bookings, and for
+ * searching room availability.
  */
 public interface BookingService {
 
@@ -18,6 +22,35 @@ public interface BookingService {
      */
     String createBooking(Booking booking);
 
+    /**
+     * Creates several bookings in one batch.
+     *
+     * Every booking is validated, then the rooms of the valid ones are checked and the
+     * available bookings saved together. In atomic mode nothing is saved unless every
+     * booking is valid and available.
+     *
+     * @param bookings the booking details to be created
+     * @param atomic whether to create all the bookings or none
+     * @return the outcome of each booking, in the same order
+     */
+    List<BookingResult> createBookings(List<Booking> bookings, boolean atomic);
+
+    /**
+     * Confirms a pending booking, which then holds its room until it is cancelled.
+     *
+     * @param bookingId the ID of the booking to confirm
+     * @throws IllegalStateException if the booking does not exist or is not pending
+     */
+    void confirmBooking(String bookingId);
+
+    /**
+     * Expires a booking whose hold has timed out, releasing its room.
+     *
+     * @param bookingId the ID of the booking to expire
+     * @return true if the booking expired, false if it is gone or no longer pending
+     */
+    boolean expireBooking(String bookingId);
+
     /**
      * Cancels an existing booking.
      *
@@ -25,6 +58,28 @@ public interface BookingService {
      */
     void cancelBooking(String bookingId);
 
+    /**
+     * Cancels several bookings in one batch, computing the refund of each one like
+     * {@link #cancelBooking(String)}. Bookings that are missing or cannot be cancelled
+     * are reported and skipped.
+     *
+     * @param bookingIds the IDs of the bookings to cancel, at most MAX_BULK_SIZE
+     * @return the outcome of each distinct booking ID, in request order
+     * @throws IllegalArgumentException if the list is empty or too large
+     */
+    List<CancellationResult> cancelBookings(List<String> bookingIds);
+
+    /**
+     * Splits booking IDs into batches for {@link #cancelBookings(List)} that contend as
+     * little as possible with each other, so that they can be cancelled in parallel.
+     *
+     * @param bookingIds the IDs of the bookings to cancel
+     * @param batchSize the maximum number of bookings per batch
+     * @return the batches, covering every distinct booking ID once
+     * @throws IllegalArgumentException if the batch size is not between 1 and MAX_BULK_SIZE
+     */
+    List<List<String>> partitionForCancellation(List<String> bookingIds, int batchSize);
+
     /**
      * Rejects a booking request.
      *
@@ -55,4 +110,82 @@ public interface BookingService {
      * @return a list of bookings belonging to the user
      */
     List<Booking> getBookingsByUserEmail(String userEmail);
+
+    /**
+     * Retrieves a page of the bookings associated with a given user ID.
+     *
+     * @param userId the user ID to filter bookings
+     * @param cursor the next cursor of the previous page, null for the first page
+     * @param limit the maximum number of bookings in the page
+     * @return the page and the cursor of the next one
+     */
+    BookingPage getBookingsByUserId(String userId, String cursor, int limit);
+
+    /**
+     * Retrieves a page of the bookings associated with a given user email.
+     *
+     * @param userEmail the user email to filter bookings
+     * @param cursor the next cursor of the previous page, null for the first page
+     * @param limit the maximum number of bookings in the page
+     * @return the page and the cursor of the next one
+     */
+    BookingPage getBookingsByUserEmail(String userEmail, String cursor, int limit);
+
+    /**
+     * Streams all bookings associated with a given user ID.
+     *
+     * The bookings are loaded lazily one page at a time while the stream is consumed,
+     * so only a page is held in memory whatever the number of bookings.
+     *
+     * @param userId the user ID to filter bookings
+     * @return a lazy stream of the bookings, in ascending booking ID order
+     */
+    Stream<Booking> streamBookingsByUserId(String userId);
+
+    /**
+     * Streams all bookings associated with a given user email, one page at a time.
+     *
+     * @param userEmail the user email to filter bookings
+     * @return a lazy stream of the bookings, in ascending booking ID order
+     * @see #streamBookingsByUserId(String)
+     */
+    Stream<Booking> streamBookingsByUserEmail(String userEmail);
+
+    /**
+     * Finds the rooms that are free for a whole period.
+     *
+     * Only rooms that have been booked at least once are known to the store; rooms
+     * never booked must be passed as candidates to be reported.
+     *
+     * @param startDate start of the period (inclusive)
+     * @param finishDate end of the period (exclusive)
+     * @param roomIds the candidate rooms, null or empty for every known room
+     * @return the free rooms, in candidate order or sorted by ID for every known room
+     * @throws IllegalArgumentException if the period is missing, reversed or too long, or
+     *         a room ID is null or blank
+     */
+    List<String> findAvailableRooms(Instant startDate, Instant finishDate, List<String> roomIds);
+
+    /**
+     * Finds the windows during which a room is free within a range.
+     *
+     * @param roomId the room identifier
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the maximal free windows, in chronological order
+     * @throws IllegalArgumentException if the room or range is missing, reversed or too long
+     */
+    List<TimeWindow> findFreeWindows(String roomId, Instant from, Instant to);
+
+    /**
+     * Finds the active bookings holding some rooms during part of a range.
+     *
+     * @param roomIds the rooms, or null or empty for every room
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the IDs of the bookings overlapping the range
+     * @throws IllegalArgumentException if the range is missing, reversed or too long, or
+     *         a room ID is null or blank
+     */
+    List<String> findActiveBookingIds(List<String> roomIds, Instant from, Instant to);
 }
@@ -2,14 +2,29 @@ package eci.arcn.project.booking.booking_event.service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.id.BookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.BookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
 import eci.arcn.project.booking.booking_event.model.Booking;
 import eci.arcn.project.booking.booking_event.model.BookingState;
 import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
 import eci.arcn.project.booking.booking_event.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -17,36 +32,202 @@ import lombok.RequiredArgsConstructor;
  * Implementation of the BookingService interface.
  * 
  * Handles business logic for creating, cancelling, rejecting, and retrieving bookings.
+ * Every saved state change is announced as a {@link BookingEvent} application event.
+ * Changes to the state of an existing booking are serialized per booking, so that a
+ * confirmation and an expiry cannot both apply; creations are saved and announced under
+ * the same per-booking locks, so the events of a booking are always published in the
+ * order its states were saved. Lookups by ID first ask the
+ * {@link BookingIdFilter}, so that IDs never created do not reach the store.
  */
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    /**
+     * Maximum number of bookings accepted in a bulk creation.
+     */
+    static final int MAX_BULK_SIZE = 1000;
+
+    /**
+     * Maximum number of bookings returned in a page.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Number of bookings loaded at a time when streaming.
+     */
+    static final int STREAM_PAGE_SIZE = 500;
+
+    /**
+     * Longest period accepted by the availability searches.
+     */
+    static final Duration MAX_SEARCH_RANGE = Duration.ofDays(366);
+
+    /**
+     * Number of locks the state changes of existing bookings are striped over.
+     */
+    private static final int TRANSITION_LOCK_STRIPES = 256;
+
+    private final ReentrantLock[] transitionLocks = newLocks(TRANSITION_LOCK_STRIPES);
+
     private final BookingRepository bookingRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BookingMetrics metrics;
+
+    private final BookingIdGenerator idGenerator;
+
+    private final BookingIdFilter idFilter;
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String createBooking(Booking booking) {
-        validateClient(booking.getClient());
-        validateDates(booking.getStartDate(), booking.getFinishDate());
-
-        // Check room availability
-        if (!isRoomAvailable(booking.getRoomId(), booking.getStartDate(), booking.getFinishDate())) {
-            booking.setBookingState(BookingState.UNAVAILABLE_ROOM);
-            throw new IllegalStateException("Room is unavailable");
+        try {
+            validateClient(booking.getClient());
+            validateDates(booking.getStartDate(), booking.getFinishDate());
+        } catch (IllegalArgumentException e) {
+            metrics.recordCreateOutcome(BookingResult.Outcome.INVALID);
+            throw e;
         }
 
-        booking.setBookingId(UUID.randomUUID().toString());
+        booking.setBookingId(idGenerator.nextId().toString());
         booking.setCreatedDate(Instant.now());
         booking.setBookingState(BookingState.PENDING);
+        // Known to the filter before it can be found in the store
+        idFilter.add(booking.getBookingId());
 
-        bookingRepository.save(booking);
+        // Check room availability and reserve it in a single atomic step. The booking can
+        // be found as soon as it is saved, so the creation is announced under its stripe
+        // lock: a transition racing it is only published after CREATED.
+        boolean saved = inTransition(booking.getBookingId(), () -> {
+            if (!bookingRepository.saveIfAvailable(booking)) {
+                return false;
+            }
+            eventPublisher.publishEvent(BookingEvent.of(BookingEventType.CREATED, booking));
+            return true;
+        });
+        if (!saved) {
+            booking.setBookingState(BookingState.UNAVAILABLE_ROOM);
+            metrics.recordCreateOutcome(BookingResult.Outcome.UNAVAILABLE_ROOM);
+            throw new IllegalStateException("Room is unavailable");
+        }
+        metrics.recordCreateOutcome(BookingResult.Outcome.CREATED);
 
         return booking.getBookingId();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookingResult> createBookings(List<Booking> bookings, boolean atomic) {
+        if (bookings == null || bookings.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
+        if (bookings.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " bookings can be created at once");
+        }
+
+        BookingResult[] results = new BookingResult[bookings.size()];
+        List<Booking> valid = new ArrayList<>(bookings.size());
+        List<Integer> validPositions = new ArrayList<>(bookings.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            try {
+                if (booking == null) {
+                    throw new IllegalArgumentException("Booking details are required");
+                }
+                validateClient(booking.getClient());
+                validateDates(booking.getStartDate(), booking.getFinishDate());
+            } catch (IllegalArgumentException e) {
+                results[i] = BookingResult.failed(BookingResult.Outcome.INVALID, e.getMessage());
+                continue;
+            }
+            booking.setBookingId(idGenerator.nextId().toString());
+            booking.setCreatedDate(now);
+            booking.setBookingState(BookingState.PENDING);
+            idFilter.add(booking.getBookingId());
+            valid.add(booking);
+            validPositions.add(i);
+        }
+
+        // Saved and announced under the stripe locks of the new bookings, like createBooking
+        inTransitions(valid.stream().map(Booking::getBookingId).toList(), () -> {
+            boolean[] available;
+            if (atomic && valid.size() < bookings.size()) {
+                available = new boolean[valid.size()];
+                Arrays.fill(available, true);
+            } else {
+                // Check all the rooms and save the batch in a single step
+                available = bookingRepository.saveAllIfAvailable(valid, atomic);
+            }
+            boolean saved = !atomic || valid.size() == bookings.size() && allTrue(available);
+
+            for (int j = 0; j < valid.size(); j++) {
+                Booking booking = valid.get(j);
+                int position = validPositions.get(j);
+                if (!available[j]) {
+                    booking.setBookingState(BookingState.UNAVAILABLE_ROOM);
+                    results[position] = BookingResult.failed(BookingResult.Outcome.UNAVAILABLE_ROOM,
+                            "Room is unavailable");
+                } else if (!saved) {
+                    results[position] = BookingResult.failed(BookingResult.Outcome.ABORTED,
+                            "Batch not saved: another booking failed");
+                } else {
+                    results[position] = BookingResult.created(booking.getBookingId());
+                    eventPublisher.publishEvent(BookingEvent.of(BookingEventType.CREATED, booking));
+                }
+            }
+            return null;
+        });
+        for (BookingResult result : results) {
+            metrics.recordCreateOutcome(result.outcome());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void confirmBooking(String bookingId) {
+        if (isNullOrEmpty(bookingId)) {
+            throw new IllegalArgumentException("Booking ID is required to confirm");
+        }
+
+        inTransition(bookingId, () -> {
+            Booking booking = findExisting(bookingId);
+            validateTransition(booking, BookingState.CONFIRMED);
+
+            booking.setBookingState(BookingState.CONFIRMED);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingEvent.of(BookingEventType.CONFIRMED, booking));
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean expireBooking(String bookingId) {
+        return inTransition(bookingId, () -> {
+            Booking booking = findById(bookingId);
+            if (booking == null || booking.getBookingState() != BookingState.PENDING) {
+                return false;
+            }
+
+            booking.setBookingState(BookingState.EXPIRED);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingEvent.of(BookingEventType.EXPIRED, booking));
+            return true;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -56,24 +237,86 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Booking ID is required to cancel");
         }
 
-        Booking booking = bookingRepository.findById(bookingId);
-        if (booking == null) {
-            throw new IllegalStateException("Booking not found");
-        }
+        inTransition(bookingId, () -> {
+            Booking booking = findExisting(bookingId);
+            validateTransition(booking, BookingState.CANCELLED);
 
-        Instant now = Instant.now();
-        long daysToStart = Duration.between(now, booking.getStartDate()).toDays();
+            booking.setRefundAmount(refundFor(booking, Instant.now()));
+            booking.setBookingState(BookingState.CANCELLED);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingEvent.of(BookingEventType.CANCELLED, booking));
+            return null;
+        });
+    }
 
-        if (daysToStart <= 3) {
-            booking.setRefundAmount(booking.getAmount() * 1.0); // 100% refund
-        } else if (daysToStart <= 7) {
-            booking.setRefundAmount(booking.getAmount() * 0.2); // 20% refund
-        } else {
-            booking.setRefundAmount(booking.getAmount()); // Full refund
+    /**
+     * {@inheritDoc}
+     *
+     * The stripes of every booking of the batch are locked together, in stripe order,
+     * and the cancelled bookings are saved with a single saveAll.
+     */
+    @Override
+    public List<CancellationResult> cancelBookings(List<String> bookingIds) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking ID is required");
+        }
+        if (bookingIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " bookings can be cancelled at once");
         }
+        List<String> distinctIds = bookingIds.stream().distinct().toList();
+
+        return inTransitions(distinctIds, () -> {
+            Instant now = Instant.now();
+            List<CancellationResult> results = new ArrayList<>(distinctIds.size());
+            List<Booking> cancelled = new ArrayList<>(distinctIds.size());
+            for (String bookingId : distinctIds) {
+                Booking booking = isNullOrEmpty(bookingId) ? null : findById(bookingId);
+                if (booking == null) {
+                    results.add(CancellationResult.failed(bookingId, "Booking not found"));
+                    continue;
+                }
+                try {
+                    validateTransition(booking, BookingState.CANCELLED);
+                } catch (IllegalStateException e) {
+                    results.add(CancellationResult.failed(bookingId, e.getMessage()));
+                    continue;
+                }
+                booking.setRefundAmount(refundFor(booking, now));
+                booking.setBookingState(BookingState.CANCELLED);
+                cancelled.add(booking);
+                results.add(CancellationResult.cancelled(bookingId, booking.getRefundAmount()));
+            }
 
-        booking.setBookingState(BookingState.CANCELLED);
-        bookingRepository.save(booking);
+            if (!cancelled.isEmpty()) {
+                bookingRepository.saveAll(cancelled);
+                cancelled.forEach(booking ->
+                        eventPublisher.publishEvent(BookingEvent.of(BookingEventType.CANCELLED, booking)));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The IDs are ordered by transition lock stripe before being sliced, so concurrent
+     * batches share at most the stripes at their boundaries.
+     */
+    @Override
+    public List<List<String>> partitionForCancellation(List<String> bookingIds, int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BULK_SIZE);
+        }
+        List<String> ordered = bookingIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparingInt(this::stripe).thenComparing(Comparator.naturalOrder()))
+                .toList();
+        List<List<String>> batches = new ArrayList<>((ordered.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < ordered.size(); from += batchSize) {
+            batches.add(ordered.subList(from, Math.min(from + batchSize, ordered.size())));
+        }
+        return batches;
     }
 
     /**
@@ -85,13 +328,15 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Booking ID is required to reject");
         }
 
-        Booking booking = bookingRepository.findById(bookingId);
-        if (booking == null) {
-            throw new IllegalStateException("Booking not found");
-        }
+        inTransition(bookingId, () -> {
+            Booking booking = findExisting(bookingId);
+            validateTransition(booking, BookingState.REJECTED);
 
-        booking.setBookingState(BookingState.REJECTED);
-        bookingRepository.save(booking);
+            booking.setBookingState(BookingState.REJECTED);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingEvent.of(BookingEventType.REJECTED, booking));
+            return null;
+        });
     }
 
     /**
@@ -103,7 +348,7 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Booking ID is required");
         }
 
-        Booking booking = bookingRepository.findById(bookingId);
+        Booking booking = findById(bookingId);
         if (booking == null) {
             throw new IllegalStateException("Booking not found");
         }
@@ -135,8 +380,291 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findByUserEmail(userEmail);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookingPage getBookingsByUserId(String userId, String cursor, int limit) {
+        if (isNullOrEmpty(userId)) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        validatePageSize(limit);
+
+        return toPage(bookingRepository.findByUserId(userId, cursor, limit), limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookingPage getBookingsByUserEmail(String userEmail, String cursor, int limit) {
+        if (isNullOrEmpty(userEmail)) {
+            throw new IllegalArgumentException("User email is required");
+        }
+        validatePageSize(limit);
+
+        return toPage(bookingRepository.findByUserEmail(userEmail, cursor, limit), limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Booking> streamBookingsByUserId(String userId) {
+        if (isNullOrEmpty(userId)) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        return streamPages(after -> bookingRepository.findByUserId(userId, after, STREAM_PAGE_SIZE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Booking> streamBookingsByUserEmail(String userEmail) {
+        if (isNullOrEmpty(userEmail)) {
+            throw new IllegalArgumentException("User email is required");
+        }
+
+        return streamPages(after -> bookingRepository.findByUserEmail(userEmail, after, STREAM_PAGE_SIZE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findAvailableRooms(Instant startDate, Instant finishDate, List<String> roomIds) {
+        validateSearchRange(startDate, finishDate);
+        validateRoomIds(roomIds);
+
+        if (roomIds == null || roomIds.isEmpty()) {
+            return bookingRepository.findAvailableRooms(null, startDate, finishDate).stream().sorted().toList();
+        }
+        return bookingRepository.findAvailableRooms(roomIds, startDate, finishDate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TimeWindow> findFreeWindows(String roomId, Instant from, Instant to) {
+        if (isNullOrEmpty(roomId)) {
+            throw new IllegalArgumentException("Room ID is required");
+        }
+        validateSearchRange(from, to);
+
+        List<TimeWindow> windows = new ArrayList<>();
+        Instant freeFrom = from;
+        for (TimeWindow reserved : bookingRepository.findReservedPeriods(roomId, from, to)) {
+            if (reserved.start().isAfter(freeFrom)) {
+                windows.add(new TimeWindow(freeFrom, reserved.start()));
+            }
+            if (reserved.finish().isAfter(freeFrom)) {
+                freeFrom = reserved.finish();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            windows.add(new TimeWindow(freeFrom, to));
+        }
+        return windows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findActiveBookingIds(List<String> roomIds, Instant from, Instant to) {
+        validateSearchRange(from, to);
+        validateRoomIds(roomIds);
+
+        return bookingRepository.findHoldingBookingIds(roomIds == null || roomIds.isEmpty() ? null : roomIds,
+                from, to);
+    }
+
     // ====== Private helper methods ======
 
+    /**
+     * Computes the refund of a booking cancelled at the given time.
+     *
+     * @param booking the booking being cancelled
+     * @param now the cancellation time
+     * @return the refund amount
+     */
+    private static double refundFor(Booking booking, Instant now) {
+        long daysToStart = Duration.between(now, booking.getStartDate()).toDays();
+
+        if (daysToStart <= 3) {
+            return booking.getAmount() * 1.0; // 100% refund
+        } else if (daysToStart <= 7) {
+            return booking.getAmount() * 0.2; // 20% refund
+        } else {
+            return booking.getAmount(); // Full refund
+        }
+    }
+
+    /**
+     * Runs a state change of an existing booking under the lock of its stripe.
+     *
+     * @param bookingId the ID of the booking being changed
+     * @param transition the state change
+     * @return the result of the state change
+     */
+    private <T> T inTransition(String bookingId, Supplier<T> transition) {
+        ReentrantLock lock = transitionLocks[stripe(bookingId)];
+        lock.lock();
+        try {
+            return transition.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a state change of several existing bookings under the locks of their stripes,
+     * taken in stripe order so that concurrent batches cannot deadlock.
+     *
+     * @param bookingIds the IDs of the bookings being changed
+     * @param transition the state change
+     * @return the result of the state change
+     */
+    private <T> T inTransitions(Collection<String> bookingIds, Supplier<T> transition) {
+        int[] stripes = bookingIds.stream()
+                .mapToInt(bookingId -> bookingId == null ? 0 : stripe(bookingId))
+                .distinct()
+                .sorted()
+                .toArray();
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                transitionLocks[stripe].lock();
+                locked++;
+            }
+            return transition.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                transitionLocks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(String bookingId) {
+        return Math.floorMod(bookingId.hashCode(), transitionLocks.length);
+    }
+
+    /**
+     * Validates that a booking may move to the given state.
+     *
+     * @param booking the booking to change
+     * @param next the requested state
+     * @throws IllegalStateException if the booking state does not allow the transition
+     */
+    private void validateTransition(Booking booking, BookingState next) {
+        BookingState current = booking.getBookingState() == null ? BookingState.PENDING : booking.getBookingState();
+        if (!current.canTransitionTo(next)) {
+            throw new IllegalStateException("Cannot change a " + current + " booking to " + next);
+        }
+    }
+
+    private Booking findExisting(String bookingId) {
+        Booking booking = findById(bookingId);
+        if (booking == null) {
+            throw new IllegalStateException("Booking not found");
+        }
+        return booking;
+    }
+
+    /**
+     * Looks a booking up in the store, unless the ID filter knows it was never created.
+     *
+     * @param bookingId the booking ID
+     * @return the booking, or null if it does not exist
+     */
+    private Booking findById(String bookingId) {
+        if (!idFilter.mightContain(bookingId)) {
+            metrics.recordIdLookup(BookingMetrics.IdLookup.REJECTED);
+            return null;
+        }
+        Booking booking = bookingRepository.findById(bookingId);
+        metrics.recordIdLookup(booking == null
+                ? BookingMetrics.IdLookup.FALSE_POSITIVE
+                : BookingMetrics.IdLookup.FOUND);
+        return booking;
+    }
+
+    private static ReentrantLock[] newLocks(int count) {
+        ReentrantLock[] locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    /**
+     * Validates the period of an availability search.
+     *
+     * @param from start of the period
+     * @param to end of the period
+     * @throws IllegalArgumentException if the period is missing, not increasing or
+     *         longer than MAX_SEARCH_RANGE
+     */
+    private void validateSearchRange(Instant from, Instant to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and finish dates are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Start date must be before finish date");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SEARCH_RANGE) > 0) {
+            throw new IllegalArgumentException("Search range cannot exceed " + MAX_SEARCH_RANGE.toDays() + " days");
+        }
+    }
+
+    /**
+     * Validates the candidate rooms of a search.
+     *
+     * @param roomIds the room IDs, null or empty for every room
+     * @throws IllegalArgumentException if one of the room IDs is null or blank
+     */
+    private void validateRoomIds(List<String> roomIds) {
+        if (roomIds != null && roomIds.stream().anyMatch(roomId -> roomId == null || roomId.isBlank())) {
+            throw new IllegalArgumentException("Room IDs cannot be empty");
+        }
+    }
+
+    /**
+     * Validates the requested size of a page.
+     *
+     * @param limit the maximum number of bookings in the page
+     * @throws IllegalArgumentException if the size is not between 1 and MAX_PAGE_SIZE
+     */
+    private void validatePageSize(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static BookingPage toPage(List<Booking> bookings, int limit) {
+        String nextCursor = bookings.size() < limit ? null : bookings.get(bookings.size() - 1).getBookingId();
+        return new BookingPage(bookings, nextCursor);
+    }
+
+    /**
+     * Chains keyset pages into a lazy stream; a page is only loaded once the previous
+     * one has been consumed.
+     *
+     * @param pageLoader loads the page following the given booking ID (null for the first)
+     * @return the bookings of every page
+     */
+    private static Stream<Booking> streamPages(Function<String, List<Booking>> pageLoader) {
+        return Stream.iterate(pageLoader.apply(null),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < STREAM_PAGE_SIZE
+                                ? List.of()
+                                : pageLoader.apply(page.get(page.size() - 1).getBookingId()))
+                .flatMap(List::stream);
+    }
+
     /**
      * Validates the client information.
      *
@@ -176,21 +704,17 @@ public class BookingServiceImpl implements BookingService {
         if (startDate == null || finishDate == null) {
             throw new IllegalArgumentException("Start and finish dates are required");
         }
-        if (startDate.isAfter(finishDate)) {
+        if (!startDate.isBefore(finishDate)) {
             throw new IllegalArgumentException("Start date must be before finish date");
         }
     }
 
-    /**
-     * Checks room availability for the given period.
-     *
-     * @param roomId the room identifier
-     * @param startDate booking start date
-     * @param finishDate booking finish date
-     * @return true if the room is available, false otherwise
-     */
-    private boolean isRoomAvailable(String roomId, Instant startDate, Instant finishDate) {
-        // TODO: Implement check against real room availability
+    private static boolean allTrue(boolean[] values) {
+        for (boolean value : values) {
+            if (!value) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -0,0 +1,20 @@
+package eci.arcn.project.booking.booking_event.service;
+
+/**
+ * Outcome of one booking of a bulk cancellation.
+ *
+ * @param bookingId the ID of the booking
+ * @param cancelled whether the booking was cancelled
+ * @param refundAmount the refund granted, null if the booking was not cancelled
+ * @param message the reason of the failure, null if the booking was cancelled
+ */
+public record CancellationResult(String bookingId, boolean cancelled, Double refundAmount, String message) {
+
+    static CancellationResult cancelled(String bookingId, double refundAmount) {
+        return new CancellationResult(bookingId, true, refundAmount, null);
+    }
+
+    static CancellationResult failed(String bookingId, String message) {
+        return new CancellationResult(bookingId, false, null, message);
+    }
+}
@@ -0,0 +1,31 @@
+-- Schema for the "postgres" profile (JpaBookingRepository).
+-- btree_gist is required to mix the room_id equality with the range overlap in the exclusion constraint.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    booking_id       VARCHAR(36)              PRIMARY KEY,
+    created_date     TIMESTAMP WITH TIME ZONE,
+    start_date       TIMESTAMP WITH TIME ZONE NOT NULL,
+    finish_date      TIMESTAMP WITH TIME ZONE NOT NULL,
+    room_id          VARCHAR(255)             NOT NULL,
+    user_id          VARCHAR(255),
+    user_name        VARCHAR(255),
+    user_email       VARCHAR(255),
+    user_personal_id INTEGER                  NOT NULL,
+    cellphone        INTEGER                  NOT NULL,
+    booking_state    VARCHAR(20),
+    amount           DOUBLE PRECISION         NOT NULL,
+    refund_amount    DOUBLE PRECISION,
+    -- Two bookings holding the same room can never overlap; [) matches the application semantics.
+    CONSTRAINT bookings_no_overlap EXCLUDE USING gist (
+        room_id WITH =,
+        tstzrange(start_date, finish_date, '[)') WITH &&
+    ) WHERE (booking_state NOT IN ('CANCELLED', 'REJECTED', 'UNAVAILABLE_ROOM', 'EXPIRED'))
+);
+
+-- booking_id follows the user columns so that keyset pagination reads the index in order.
+CREATE INDEX IF NOT EXISTS idx_bookings_user_id ON bookings (user_id, booking_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_user_email ON bookings (user_email, booking_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_room_period ON bookings (room_id, start_date, finish_date);
+-- Pending holds reloaded by the expiry scheduler at startup.
+CREATE INDEX IF NOT EXISTS idx_bookings_pending ON bookings (created_date) WHERE booking_state = 'PENDING';
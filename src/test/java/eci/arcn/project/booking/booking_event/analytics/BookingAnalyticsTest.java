@@ -0,0 +1,89 @@
+package eci.arcn.project.booking.booking_event.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+class BookingAnalyticsTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+
+    private final BookingAnalytics analytics = new BookingAnalytics();
+
+    @Test
+    void stateChanges_moveBookingBetweenAggregates() {
+        // b1 holds room-1 for nights 10 and 11, b2 holds room-2 for night 10
+        publish(BookingEventType.CREATED, booking("b1", "room-1", 2, BookingState.PENDING, null));
+        publish(BookingEventType.CREATED, booking("b2", "room-2", 1, BookingState.PENDING, null));
+        publish(BookingEventType.CONFIRMED, booking("b1", "room-1", 2, BookingState.CONFIRMED, null));
+
+        BookingStats before = analytics.summary(null, DAY_10, DAY_10.plus(Duration.ofDays(2)));
+        assertEquals(2, before.bookings());
+        assertEquals(3, before.occupiedNights());
+        assertEquals(4, before.availableNights());
+        assertEquals(100.0, before.revenue(), 0.001);
+
+        publish(BookingEventType.CANCELLED, booking("b1", "room-1", 2, BookingState.CANCELLED, 20.0));
+
+        BookingStats after = analytics.summary(null, DAY_10, DAY_10.plus(Duration.ofDays(2)));
+        assertEquals(1L, after.bookingsByState().get(BookingState.CANCELLED));
+        assertEquals(0L, after.bookingsByState().get(BookingState.CONFIRMED));
+        assertEquals(1, after.occupiedNights());
+        assertEquals(0.25, after.occupancyRate(), 0.001);
+        assertEquals(20.0, after.refundAmount(), 0.001);
+        assertEquals(80.0, after.revenue(), 0.001);
+
+        Map<String, BookingStats> byRoom = analytics.statsByRoom(null, DAY_10, DAY_10.plus(Duration.ofDays(2)));
+        assertEquals(List.of("room-1", "room-2"), List.copyOf(byRoom.keySet()));
+        assertEquals(0, byRoom.get("room-1").occupiedNights());
+
+        Map<LocalDate, BookingStats> byDay = analytics.statsByDay(List.of("room-2"), DAY_10,
+                DAY_10.plus(Duration.ofHours(36)));
+        assertEquals(List.of(LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 11)), List.copyOf(byDay.keySet()));
+        assertEquals(1, byDay.get(LocalDate.of(2030, 1, 10)).occupiedNights());
+        assertEquals(0, byDay.get(LocalDate.of(2030, 1, 11)).occupiedNights());
+    }
+
+    @Test
+    void load_keepsStateAlreadyKnownFromEvents() {
+        publish(BookingEventType.CONFIRMED, booking("b1", "room-1", 1, BookingState.CONFIRMED, null));
+        analytics.load(List.of(booking("b1", "room-1", 1, BookingState.PENDING, null),
+                booking("b2", "room-1", 1, BookingState.REJECTED, null)));
+
+        BookingStats stats = analytics.summary(List.of("room-1"), DAY_10, DAY_10.plus(Duration.ofDays(1)));
+        assertEquals(1L, stats.bookingsByState().get(BookingState.CONFIRMED));
+        assertEquals(1L, stats.bookingsByState().get(BookingState.REJECTED));
+        assertEquals(0L, stats.bookingsByState().get(BookingState.PENDING));
+        assertEquals(2, analytics.bookingCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> analytics.summary(null, DAY_10, DAY_10.plus(Duration.ofDays(400))));
+    }
+
+    private void publish(BookingEventType type, Booking booking) {
+        analytics.onBookingEvent(BookingEvent.of(type, booking));
+    }
+
+    private static Booking booking(String bookingId, String roomId, int nights, BookingState state, Double refund) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setRoomId(roomId);
+        booking.setStartDate(DAY_10.plus(Duration.ofHours(14)));
+        booking.setFinishDate(DAY_10.plus(Duration.ofDays(nights)).plus(Duration.ofHours(11)));
+        booking.setAmount(100.0);
+        booking.setBookingState(state);
+        booking.setRefundAmount(refund);
+        return booking;
+    }
+}
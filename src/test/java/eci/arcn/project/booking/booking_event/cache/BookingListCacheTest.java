@@ -0,0 +1,114 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.facade.BookingJsonWriter;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingListCacheTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+
+    private final SharedCacheTier shared = new LocalSharedCacheTier(1_000_000, Duration.ofMinutes(1));
+
+    private final Booking booking = booking("b1", "u1", "u1@example.com");
+
+    private final Booking otherBooking = booking("b2", "u2", "u2@example.com");
+
+    @BeforeEach
+    void setUp() {
+        when(bookingService.getBookingsByUserId("u1")).thenReturn(List.of(booking));
+        when(bookingService.getBookingsByUserEmail("u1@example.com")).thenReturn(List.of(booking));
+        when(bookingService.getBookingsByUserId("u2")).thenReturn(List.of(otherBooking));
+    }
+
+    @Test
+    void listLoadedByOneInstance_isServedToAnotherFromTheSharedTier() {
+        BookingListCache first = newCache();
+        BookingListCache second = newCache();
+
+        byte[] body = first.getByUserId("u1");
+        assertSame(body, first.getByUserId("u1"));
+        assertArrayEquals(body, second.getByUserId("u1"));
+
+        assertArrayEquals(BookingJsonWriter.toJson(List.of(booking)), body);
+        verify(bookingService, times(1)).getBookingsByUserId("u1");
+    }
+
+    @Test
+    void bookingEvent_invalidatesBothListsOfItsUserOnEveryInstance() {
+        BookingListCache cache = newCache();
+        BookingListCache other = newCache();
+        byte[] pending = cache.getByUserId("u1");
+        cache.getByUserEmail("u1@example.com");
+        cache.getByUserId("u2");
+        other.getByUserId("u1");
+
+        booking.setBookingState(BookingState.CANCELLED);
+        cache.onBookingEvent(BookingEvent.of(BookingEventType.CANCELLED, booking));
+
+        byte[] cancelled = BookingJsonWriter.toJson(List.of(booking));
+        assertArrayEquals(cancelled, other.getByUserId("u1"));
+        assertArrayEquals(cancelled, cache.getByUserId("u1"));
+        assertEquals(pending.length + 2, cancelled.length);
+        cache.getByUserEmail("u1@example.com");
+        cache.getByUserId("u2");
+        verify(bookingService, times(2)).getBookingsByUserId("u1");
+        verify(bookingService, times(2)).getBookingsByUserEmail("u1@example.com");
+        verify(bookingService, times(1)).getBookingsByUserId("u2");
+    }
+
+    @Test
+    void listLoadedBeforeSave_isNotServedAfterItsInvalidation() {
+        BookingListCache loading = newCache();
+        BookingListCache saving = newCache();
+        Booking stale = booking("b1", "u1", "u1@example.com");
+        when(bookingService.getBookingsByUserId("u1")).thenAnswer(invocation -> {
+            // Another instance saves and invalidates while this list is being loaded
+            booking.setBookingState(BookingState.CANCELLED);
+            saving.onBookingEvent(BookingEvent.of(BookingEventType.CANCELLED, booking));
+            return List.of(stale);
+        }).thenReturn(List.of(booking));
+
+        assertArrayEquals(BookingJsonWriter.toJson(List.of(stale)), loading.getByUserId("u1"));
+
+        byte[] cancelled = BookingJsonWriter.toJson(List.of(booking));
+        assertArrayEquals(cancelled, saving.getByUserId("u1"));
+        assertArrayEquals(cancelled, loading.getByUserId("u1"));
+        verify(bookingService, times(2)).getBookingsByUserId("u1");
+    }
+
+    private BookingListCache newCache() {
+        return new BookingListCache(bookingService, 1_000_000, Duration.ofMinutes(1), shared,
+                new SimpleMeterRegistry());
+    }
+
+    private static Booking booking(String bookingId, String userId, String userEmail) {
+        Client client = new Client();
+        client.setUserId(userId);
+        client.setUserEmail(userEmail);
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setClient(client);
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+}
@@ -0,0 +1,71 @@
+package eci.arcn.project.booking.booking_event.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingResponseCacheTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Booking booking = new Booking();
+
+    private BookingResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        booking.setBookingId("b1");
+        booking.setRoomId("room-1");
+        booking.setBookingState(BookingState.PENDING);
+        when(bookingService.getBookingById("b1")).thenReturn(booking);
+        cache = new BookingResponseCache(bookingService, 100, Duration.ofMinutes(1), registry);
+    }
+
+    @Test
+    void repeatedGet_isServedFromCache() {
+        CachedBookingResponse first = cache.get("b1");
+        CachedBookingResponse second = cache.get("b1");
+
+        assertSame(first, second);
+        assertTrue(first.matches(first.etag()));
+        assertFalse(first.matches("\"other\""));
+        verify(bookingService, times(1)).getBookingById("b1");
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "bookingResponses").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void bookingEvent_invalidatesEntry() {
+        CachedBookingResponse before = cache.get("b1");
+
+        booking.setBookingState(BookingState.CANCELLED);
+        cache.onBookingEvent(BookingEvent.of(BookingEventType.CANCELLED, booking));
+        CachedBookingResponse after = cache.get("b1");
+
+        assertNotEquals(before.etag(), after.etag());
+        assertFalse(after.matches(before.etag()));
+        assertArrayEquals(after.body(), cache.get("b1").body());
+        verify(bookingService, times(2)).getBookingById("b1");
+    }
+}
@@ -0,0 +1,136 @@
+package eci.arcn.project.booking.booking_event.cancellation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.id.BloomBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkCancellationServiceTest {
+
+    private static final Instant FIRST_DAY = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.DAYS);
+
+    private final InMemoryBookingRepository repository = new InMemoryBookingRepository();
+
+    @Test
+    void job_cancelsActiveBookingsOfRoomsInRange() throws Exception {
+        BookingServiceImpl bookingService = bookingService(event -> { });
+        // Bookings start every two days: the first five of each room overlap the range
+        List<String> closedRoom = createBookings(bookingService, "room-1", 7);
+        List<String> otherRoom = createBookings(bookingService, "room-2", 7);
+
+        try (BulkCancellationService service = new BulkCancellationService(bookingService, 2, 2)) {
+            CancellationJob job = service.start(List.of("room-1"), FIRST_DAY, FIRST_DAY.plus(Duration.ofDays(10)));
+            awaitFinished(job);
+
+            assertEquals(CancellationJob.Status.COMPLETED, job.getStatus());
+            assertEquals(5, job.getTotalBookings());
+            assertEquals(5, job.getCancelledBookings());
+            assertEquals(0, job.getFailedBookings());
+            assertEquals(500.0, job.getRefundTotal(), 0.001);
+            closedRoom.subList(0, 5).forEach(id ->
+                    assertEquals(BookingState.CANCELLED, repository.findById(id).getBookingState()));
+            closedRoom.subList(5, 7).forEach(id ->
+                    assertEquals(BookingState.PENDING, repository.findById(id).getBookingState()));
+            otherRoom.forEach(id -> assertEquals(BookingState.PENDING, repository.findById(id).getBookingState()));
+            assertThrows(IllegalStateException.class, () -> service.resume(job.getJobId()));
+        }
+    }
+
+    @Test
+    void stoppedJob_resumesWithRemainingChunks() throws Exception {
+        CountDownLatch firstChunk = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BookingServiceImpl bookingService = bookingService(event -> {
+            if (event instanceof BookingEvent bookingEvent && bookingEvent.type() == BookingEventType.CANCELLED) {
+                firstChunk.countDown();
+                await(release);
+            }
+        });
+        List<String> bookingIds = createBookings(bookingService, "room-1", 6);
+
+        try (BulkCancellationService service = new BulkCancellationService(bookingService, 1, 2)) {
+            CancellationJob job = service.start(null, FIRST_DAY, FIRST_DAY.plus(Duration.ofDays(30)));
+            assertTrue(firstChunk.await(5, TimeUnit.SECONDS));
+            service.stop(job.getJobId());
+            release.countDown();
+            awaitFinished(job);
+
+            assertEquals(CancellationJob.Status.STOPPED, job.getStatus());
+            assertEquals(2, job.getProcessedBookings());
+
+            service.resume(job.getJobId());
+            awaitFinished(job);
+
+            assertEquals(CancellationJob.Status.COMPLETED, job.getStatus());
+            assertEquals(6, job.getCancelledBookings());
+            bookingIds.forEach(id -> assertEquals(BookingState.CANCELLED, repository.findById(id).getBookingState()));
+        }
+    }
+
+    private BookingServiceImpl bookingService(ApplicationEventPublisher publisher) {
+        return new BookingServiceImpl(repository, publisher, new BookingMetrics(new SimpleMeterRegistry()),
+                new TimeOrderedBookingIdGenerator(), new BloomBookingIdFilter(1000, 0.01));
+    }
+
+    /**
+     * Creates consecutive two-day bookings of a room from FIRST_DAY.
+     */
+    private List<String> createBookings(BookingServiceImpl bookingService, String roomId, int count) {
+        List<String> bookingIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Instant start = FIRST_DAY.plus(Duration.ofDays(2L * i));
+            Client client = new Client();
+            client.setUserId("user-" + i);
+            client.setName("Jane Doe");
+            client.setUserEmail("user-" + i + "@example.com");
+            client.setUserPersonalId(1);
+            client.setCellphone(1);
+
+            Booking booking = new Booking();
+            booking.setRoomId(roomId);
+            booking.setStartDate(start);
+            booking.setFinishDate(start.plus(Duration.ofDays(2)));
+            booking.setAmount(100.0);
+            booking.setClient(client);
+            bookingIds.add(bookingService.createBooking(booking));
+        }
+        return bookingIds;
+    }
+
+    private static void awaitFinished(CancellationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (job.getStatus() == CancellationJob.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package eci.arcn.project.booking.booking_event.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eci.arcn.project.booking.booking_event.cache.BookingListCache;
+import eci.arcn.project.booking.booking_event.cache.BookingResponseCache;
+import eci.arcn.project.booking.booking_event.dto.BulkCreateBookingRequest;
+import eci.arcn.project.booking.booking_event.dto.ClientDto;
+import eci.arcn.project.booking.booking_event.dto.CreateBookingRequest;
+import eci.arcn.project.booking.booking_event.idempotency.IdempotencyStore;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.ratelimit.ClientRateLimiter;
+import eci.arcn.project.booking.booking_event.ratelimit.RateLimitExceededException;
+import eci.arcn.project.booking.booking_event.ratelimit.RateLimitInterceptor;
+import eci.arcn.project.booking.booking_event.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingControllerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final BookingService bookingService = mock(BookingService.class);
+
+    /**
+     * One creation per user, refilled only after 1000 seconds.
+     */
+    private final BookingController controller = newController(new ClientRateLimiter(0.001, 1, 100, registry));
+
+    @Test
+    void idempotentRetry_isReplayedWithoutBeingRateLimited() {
+        when(bookingService.createBooking(any(Booking.class))).thenReturn("b1");
+        CreateBookingRequest request = request("u1");
+
+        ResponseEntity<String> first = controller.createBooking(request, "k1", httpRequest(null));
+        ResponseEntity<String> retry = controller.createBooking(request, "k1", httpRequest(null));
+
+        assertEquals("b1", first.getBody());
+        assertEquals("b1", retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        verify(bookingService, times(1)).createBooking(any(Booking.class));
+        assertThrows(RateLimitExceededException.class, () -> controller.createBooking(request, "k2", httpRequest(null)));
+        assertEquals(1, registry.get("booking.requests.rejected").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void idempotentRetry_isNotChargedToApiKey() {
+        when(bookingService.createBooking(any(Booking.class))).thenReturn("b1");
+
+        controller.createBooking(request("u1"), "k1", httpRequest("app"));
+        ResponseEntity<String> retry = controller.createBooking(request("u1"), "k1", httpRequest("app"));
+
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertThrows(RateLimitExceededException.class, () -> controller.createBooking(request("u2"), "k2", httpRequest("app")));
+        verify(bookingService, times(1)).createBooking(any(Booking.class));
+    }
+
+    @Test
+    void idempotentCancellationWithoutApiKey_isScopedToBookingOwner() {
+        when(bookingService.getBookingById("b1")).thenReturn(booking("u1"));
+        when(bookingService.getBookingById("b2")).thenReturn(booking("u2"));
+
+        BookingController unlimited = newController(new ClientRateLimiter(0, 1, 100, registry));
+
+        unlimited.cancelBooking("b1", "k1", httpRequest(null));
+        unlimited.cancelBooking("b2", "k1", httpRequest(null));
+
+        verify(bookingService).cancelBooking("b1");
+        verify(bookingService).cancelBooking("b2");
+    }
+
+    @Test
+    void bulkCreation_isChargedPerBookingToClientAndUsers() {
+        when(bookingService.createBookings(any(), anyBoolean())).thenReturn(List.of());
+
+        // A batch larger than the burst passes from full buckets and leaves them in debt
+        controller.createBookings(bulk(request("u1"), request("u1"), request("u2")), httpRequest("app"));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> controller.createBookings(bulk(request("u3")), httpRequest("app")));
+        assertThrows(RateLimitExceededException.class,
+                () -> controller.createBookings(bulk(request("u1")), httpRequest("other")));
+        verify(bookingService, times(1)).createBookings(any(), anyBoolean());
+    }
+
+    @Test
+    void bulkCreationWithoutApiKey_isChargedToRemoteAddress() {
+        when(bookingService.createBookings(any(), anyBoolean())).thenReturn(List.of());
+
+        controller.createBookings(bulk(request("u1")), httpRequest(null));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> controller.createBookings(bulk(request("u2")), httpRequest(null)));
+        controller.createBookings(bulk(request("u3")), otherAddress());
+        verify(bookingService, times(2)).createBookings(any(), anyBoolean());
+    }
+
+    private BookingController newController(ClientRateLimiter clientRateLimiter) {
+        return new BookingController(bookingService, new ObjectMapper(), mock(BookingResponseCache.class),
+                mock(BookingListCache.class), new IdempotencyStore(100, Duration.ofMinutes(1), registry),
+                clientRateLimiter);
+    }
+
+    private static MockHttpServletRequest httpRequest(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (apiKey != null) {
+            request.addHeader(RateLimitInterceptor.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest otherAddress() {
+        MockHttpServletRequest request = httpRequest(null);
+        request.setRemoteAddr("10.0.0.2");
+        return request;
+    }
+
+    private static Booking booking(String userId) {
+        Client client = new Client();
+        client.setUserId(userId);
+        Booking booking = new Booking();
+        booking.setClient(client);
+        return booking;
+    }
+
+    private static BulkCreateBookingRequest bulk(CreateBookingRequest... bookings) {
+        BulkCreateBookingRequest request = new BulkCreateBookingRequest();
+        request.setBookings(List.of(bookings));
+        return request;
+    }
+
+    private static CreateBookingRequest request(String userId) {
+        ClientDto client = new ClientDto();
+        client.setUserId(userId);
+        client.setUserEmail(userId + "@example.com");
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setRoomId("room-1");
+        request.setStartDate(Instant.parse("2030-01-01T00:00:00Z"));
+        request.setFinishDate(Instant.parse("2030-01-02T00:00:00Z"));
+        request.setAmount(120.0);
+        request.setClient(client);
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package eci.arcn.project.booking.booking_event.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+class BatchingBookingEventPublisherTest {
+
+    private BatchingBookingEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void events_areSentInBatchesInOrder() throws InterruptedException {
+        InMemoryBroker broker = new InMemoryBroker();
+        publisher = new BatchingBookingEventPublisher(broker, 1_000, 10, 50, 0, 3);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(publisher.publish(event("b" + i)));
+        }
+        publisher.start();
+        publisher.close();
+
+        assertEquals(25, broker.received().size());
+        assertEquals("b0", broker.received().get(0).bookingId());
+        assertEquals("b24", broker.received().get(24).bookingId());
+        assertTrue(broker.batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(3, broker.batches.size());
+        assertEquals(25, publisher.getPublishedCount());
+    }
+
+    @Test
+    void slowBroker_dropsEventsInsteadOfBlockingProducers() throws InterruptedException {
+        InMemoryBroker broker = new InMemoryBroker();
+        broker.blocked = new CountDownLatch(1);
+        publisher = new BatchingBookingEventPublisher(broker, 5, 1, 0, 0, 1);
+        publisher.start();
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            publisher.publish(event("b" + i));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        assertTrue(elapsedMillis < 500, "producers must not wait on the broker");
+        assertTrue(publisher.getDroppedCount() > 0);
+        assertFalse(publisher.publish(event("overflow")));
+
+        broker.blocked.countDown();
+    }
+
+    @Test
+    void failedBatch_isRetried() throws InterruptedException {
+        InMemoryBroker broker = new InMemoryBroker();
+        broker.failuresLeft = 1;
+        publisher = new BatchingBookingEventPublisher(broker, 10, 10, 0, 0, 3);
+
+        publisher.publish(event("b1"));
+        publisher.start();
+        publisher.close();
+
+        assertEquals(1, broker.received().size());
+        assertEquals(0, publisher.getFailedCount());
+    }
+
+    private static BookingEvent event(String bookingId) {
+        return new BookingEvent(BookingEventType.CREATED, bookingId, "room-1", "user-1", "user@example.com",
+                Instant.now(), Instant.now(), BookingState.PENDING, 100.0, null, Instant.now());
+    }
+
+    /**
+     * Broker stand-in recording the batches it confirms; can be made slow or failing.
+     */
+    private static final class InMemoryBroker implements BookingEventTransport {
+
+        final List<List<BookingEvent>> batches = new CopyOnWriteArrayList<>();
+
+        volatile CountDownLatch blocked;
+
+        volatile int failuresLeft;
+
+        @Override
+        public void send(List<BookingEvent> events) {
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("Broker unavailable");
+            }
+            batches.add(List.copyOf(events));
+        }
+
+        List<BookingEvent> received() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+}
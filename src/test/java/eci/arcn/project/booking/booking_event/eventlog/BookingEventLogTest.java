@@ -0,0 +1,102 @@
+package eci.arcn.project.booking.booking_event.eventlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+
+class BookingEventLogTest {
+
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_returnsEventsInAppendOrder() {
+        BookingEvent created = event(BookingEventType.CREATED, "b1", "user-1", BookingState.PENDING, null);
+        BookingEvent cancelled = event(BookingEventType.CANCELLED, "b1", "user-1", BookingState.CANCELLED, 40.0);
+        try (BookingEventLog eventLog = newLog()) {
+            eventLog.append(created);
+            eventLog.append(cancelled);
+        }
+
+        List<BookingEvent> replayed = new ArrayList<>();
+        try (BookingEventLog eventLog = newLog()) {
+            assertEquals(2, eventLog.replay(replayed::add));
+        }
+        assertEquals(List.of(created, cancelled), replayed);
+    }
+
+    @Test
+    void parallelReplay_buildsSameProjectionsAsSequentialReplay() {
+        try (BookingEventLog eventLog = newLog()) {
+            for (int i = 0; i < 5_000; i++) {
+                String bookingId = "b" + i;
+                String userId = "user-" + i % 97;
+                eventLog.append(event(BookingEventType.CREATED, bookingId, userId, BookingState.PENDING, null));
+                if (i % 3 == 0) {
+                    eventLog.append(event(BookingEventType.CONFIRMED, bookingId, userId, BookingState.CONFIRMED, null));
+                }
+                if (i % 2 == 0) {
+                    eventLog.append(event(BookingEventType.CANCELLED, bookingId, userId, BookingState.CANCELLED, 0.0));
+                }
+            }
+            // Illegal: a cancelled booking cannot be confirmed
+            eventLog.append(event(BookingEventType.CONFIRMED, "b0", "user-0", BookingState.CONFIRMED, null));
+
+            BookingStateProjection sequentialStates = new BookingStateProjection();
+            BookingStateProjection parallelStates = new BookingStateProjection();
+            UserBookingsProjection sequentialUsers = new UserBookingsProjection();
+            UserBookingsProjection parallelUsers = new UserBookingsProjection();
+            long events = eventLog.replay(sequentialStates, 1).events();
+            eventLog.replay(sequentialUsers, 1);
+            assertEquals(events, eventLog.replay(parallelStates, 4).events());
+            eventLog.replay(parallelUsers, 4);
+
+            assertEquals(5_000, parallelStates.size());
+            assertEquals(1, parallelStates.illegalTransitionCount());
+            assertEquals(BookingState.CANCELLED, parallelStates.stateOf("b0"));
+            assertEquals(BookingState.CONFIRMED, parallelStates.stateOf("b3"));
+            for (int i = 0; i < 5_000; i++) {
+                assertEquals(sequentialStates.stateOf("b" + i), parallelStates.stateOf("b" + i));
+            }
+            for (int user = 0; user < 97; user++) {
+                Map<String, BookingState> expected = sequentialUsers.bookingsOf("user-" + user);
+                assertEquals(expected, parallelUsers.bookingsOf("user-" + user));
+            }
+        }
+    }
+
+    @Test
+    void onBookingEvent_countsFailedAppendsWithoutThrowing() {
+        BookingEventLog eventLog = newLog();
+        eventLog.close();
+
+        eventLog.onBookingEvent(event(BookingEventType.CREATED, "b1", "user-1", BookingState.PENDING, null));
+
+        assertEquals(0, eventLog.appendedCount());
+        assertEquals(1, eventLog.appendFailedCount());
+    }
+
+    private BookingEventLog newLog() {
+        return new BookingEventLog(directory, 1 << 20, 10, 64);
+    }
+
+    private static BookingEvent event(BookingEventType type, String bookingId, String userId, BookingState state,
+                                      Double refundAmount) {
+        return new BookingEvent(type, bookingId, "room-1", userId, userId + "@example.com", START,
+                START.plus(Duration.ofDays(1)), state, 120.0, refundAmount, START.minus(Duration.ofDays(30)));
+    }
+}
@@ -0,0 +1,63 @@
+package eci.arcn.project.booking.booking_event.expiry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    private final BlockingQueue<String> expired = new LinkedBlockingQueue<>();
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 8 buckets of 10 ms: deadlines beyond 80 ms need more than one turn
+        wheel = new HashedTimingWheel<>(Duration.ofMillis(10), 8, expired::add, "test-wheel");
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void items_expireInDeadlineOrderAcrossTurns() throws InterruptedException {
+        Instant now = Instant.now();
+        wheel.schedule("late", now.plusMillis(250));
+        wheel.schedule("early", now.plusMillis(30));
+        wheel.schedule("middle", now.plusMillis(120));
+
+        List<String> order = List.of(poll(), poll(), poll());
+
+        assertEquals(List.of("early", "middle", "late"), order);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void itemNotDueYet_doesNotExpire() throws InterruptedException {
+        Instant start = Instant.now();
+        wheel.schedule("past", start.minusSeconds(10));
+        wheel.schedule("future", start.plusSeconds(60));
+
+        assertEquals("past", poll());
+        assertTrue(Duration.between(start, Instant.now()).toMillis() < 1000);
+        assertEquals(null, expired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, wheel.pendingCount());
+    }
+
+    private String poll() throws InterruptedException {
+        return expired.poll(2, TimeUnit.SECONDS);
+    }
+}
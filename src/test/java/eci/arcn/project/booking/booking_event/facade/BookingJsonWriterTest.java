@@ -0,0 +1,79 @@
+package eci.arcn.project.booking.booking_event.facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+class BookingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void toJson_matchesJacksonSerializationOfTheResponses() throws Exception {
+        Client client = new Client();
+        client.setUserId("u1");
+        client.setName("Ana \"Nena\" Pérez");
+        client.setUserEmail("ana@example.com");
+        client.setUserPersonalId(1234);
+        client.setCellphone(300123);
+
+        Booking full = new Booking();
+        full.setBookingId("b1");
+        full.setCreatedDate(Instant.parse("2025-03-01T10:15:30.123456Z"));
+        full.setStartDate(Instant.parse("2025-04-01T00:00:00Z"));
+        full.setFinishDate(Instant.parse("2025-04-03T12:00:00Z"));
+        full.setRoomId("room-1");
+        full.setClient(client);
+        full.setBookingState(BookingState.CANCELLED);
+        full.setAmount(250.5);
+        full.setRefundAmount(125.25);
+
+        Booking sparse = new Booking();
+        sparse.setBookingId("b2");
+
+        List<Booking> bookings = List.of(full, sparse);
+        String expected = objectMapper.writeValueAsString(BookingMapper.toBookingResponseList(bookings));
+
+        assertEquals(expected, new String(BookingJsonWriter.toJson(bookings), StandardCharsets.UTF_8));
+        assertEquals(objectMapper.writeValueAsString(BookingMapper.toBookingResponse(full)),
+                new String(BookingJsonWriter.toJson(full), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toJson_formatsInstantsLikeJackson() throws Exception {
+        List<String> instants = List.of("1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:00:00.5Z",
+                "1900-03-01T00:00:00.000001Z", "2024-12-31T23:59:59.000000001Z", "0000-01-01T00:00:00Z",
+                "9999-12-31T23:59:59.999999999Z", "+10000-01-01T00:00:00Z", "-0001-12-31T00:00:00Z");
+        for (String instant : instants) {
+            Booking booking = new Booking();
+            booking.setStartDate(Instant.parse(instant));
+
+            assertEquals(objectMapper.writeValueAsString(BookingMapper.toBookingResponse(booking)),
+                    new String(BookingJsonWriter.toJson(booking), StandardCharsets.UTF_8), instant);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            Booking booking = new Booking();
+            booking.setStartDate(Instant.ofEpochSecond(random.nextLong(-62_167_219_200L, 253_402_300_800L),
+                    random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000)));
+
+            assertEquals(objectMapper.writeValueAsString(BookingMapper.toBookingResponse(booking)),
+                    new String(BookingJsonWriter.toJson(booking), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class BloomBookingIdFilterTest {
+
+    private static final int IDS = 100_000;
+
+    @Test
+    void concurrentAdds_areAllFoundAndUnknownIdsMostlyRejected() {
+        BloomBookingIdFilter filter = new BloomBookingIdFilter(IDS, 0.01);
+        TimeOrderedBookingIdGenerator generator = new TimeOrderedBookingIdGenerator();
+        List<String> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add(generator.nextId().toString());
+        }
+
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            List<String> slice = ids.subList(w * IDS / 4, (w + 1) * IDS / 4);
+            writers.add(CompletableFuture.runAsync(() -> slice.forEach(filter::add)));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        ids.forEach(id -> assertTrue(filter.mightContain(id), id));
+        long falsePositives = 0;
+        for (int i = 0; i < IDS; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / IDS;
+        assertTrue(rate < 0.015, "false positive rate " + rate);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.003);
+    }
+}
@@ -0,0 +1,63 @@
+package eci.arcn.project.booking.booking_event.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedBookingIdGeneratorTest {
+
+    @Test
+    void ids_areVersion7AndIncreasingWithinAndAcrossMilliseconds() {
+        Instant now = Instant.parse("2030-01-01T00:00:00Z");
+        TimeOrderedBookingIdGenerator generator = new TimeOrderedBookingIdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+
+        List<String> ids = new ArrayList<>();
+        // More IDs than the 4096 of a millisecond: the sequence spills into the next one
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = generator.nextId();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+            ids.add(id.toString());
+        }
+
+        assertEquals(now.toEpochMilli(), UUID.fromString(ids.get(0)).getMostSignificantBits() >>> 16);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "IDs must increase: " + ids.get(i));
+        }
+    }
+
+    @Test
+    void concurrentIds_areUnique() throws Exception {
+        TimeOrderedBookingIdGenerator generator = new TimeOrderedBookingIdGenerator();
+        Set<Long> stamps = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                Set<Long> local = new HashSet<>();
+                for (int i = 0; i < 50_000; i++) {
+                    // The random half alone would hide duplicated timestamp/sequence pairs
+                    local.add(generator.nextId().getMostSignificantBits());
+                }
+                stamps.addAll(local);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(200_000, stamps.size());
+    }
+}
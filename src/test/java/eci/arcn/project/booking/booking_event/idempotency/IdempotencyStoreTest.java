@@ -0,0 +1,106 @@
+package eci.arcn.project.booking.booking_event.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void retryWithSameKey_returnsFirstResponseWithoutExecuting() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<String> first = store.execute("create", "api-key:a", "k1", "request",
+                () -> ResponseEntity.ok("b" + executions.incrementAndGet()));
+        ResponseEntity<String> retry = store.execute("create", "api-key:a", "k1", "request",
+                () -> ResponseEntity.ok("b" + executions.incrementAndGet()));
+
+        assertEquals(1, executions.get());
+        assertEquals("b1", retry.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("create", "api-key:a", "k1", "other request", () -> ResponseEntity.ok("b")));
+    }
+
+    @Test
+    void sameKeyFromAnotherCaller_isExecutedSeparately() {
+        ResponseEntity<String> first = store.execute("create", "user:u1", "k1", "request",
+                () -> ResponseEntity.ok("b1"));
+        ResponseEntity<String> other = store.execute("create", "user:u2", "k1", "request",
+                () -> ResponseEntity.ok("b2"));
+        ResponseEntity<String> different = store.execute("create", "user:u3", "k1", "other request",
+                () -> ResponseEntity.ok("b3"));
+
+        assertEquals("b1", first.getBody());
+        assertEquals("b2", other.getBody());
+        assertNull(other.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("b3", different.getBody());
+    }
+
+    @Test
+    void concurrentDuplicates_waitForSingleExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(executor.submit(() -> store.execute("create", "api-key:a", "k1", "request", () -> {
+                    awaitQuietly(release);
+                    return ResponseEntity.ok("b" + executions.incrementAndGet());
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<ResponseEntity<String>> response : responses) {
+                assertEquals("b1", response.get(5, TimeUnit.SECONDS).getBody());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unexpectedFailure_isNotRemembered() {
+        assertThrows(UnsupportedOperationException.class, () -> store.execute("cancel", "api-key:a", "k1", "b1", () -> {
+            throw new UnsupportedOperationException("broker down");
+        }));
+        assertThrows(IllegalStateException.class, () -> store.execute("cancel", "api-key:a", "k2", "b1", () -> {
+            throw new IllegalStateException("Cannot change a CANCELLED booking to CANCELLED");
+        }));
+
+        assertTrue(store.execute("cancel", "api-key:a", "k1", "b1", () -> ResponseEntity.ok().build()).getStatusCode()
+                .is2xxSuccessful());
+        assertThrows(IllegalStateException.class,
+                () -> store.execute("cancel", "api-key:a", "k2", "b1", () -> ResponseEntity.ok().build()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
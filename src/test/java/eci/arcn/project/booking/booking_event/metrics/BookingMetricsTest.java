@@ -0,0 +1,79 @@
+package eci.arcn.project.booking.booking_event.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.event.BookingEvent;
+import eci.arcn.project.booking.booking_event.event.BookingEventType;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void meteredRepository_timesEachOperation() {
+        MeteredBookingRepository repository = new MeteredBookingRepository(new InMemoryBookingRepository(), registry);
+        Booking booking = new Booking();
+        booking.setBookingId("b1");
+        booking.setRoomId("room-1");
+        booking.setStartDate(Instant.parse("2030-01-10T00:00:00Z"));
+        booking.setFinishDate(Instant.parse("2030-01-12T00:00:00Z"));
+
+        repository.saveIfAvailable(booking);
+        repository.saveIfAvailable(booking);
+        repository.findById("b1");
+
+        assertEquals(2, registry.get("booking.repository.operations").tag("operation", "saveIfAvailable").timer().count());
+        assertEquals(1, registry.get("booking.repository.operations").tag("operation", "findById").timer().count());
+        assertEquals(0, registry.get("booking.repository.operations").tag("operation", "save").timer().count());
+    }
+
+    @Test
+    void meteredRepository_excludesConsumerTimeFromScans() {
+        MeteredBookingRepository repository = new MeteredBookingRepository(new InMemoryBookingRepository(), registry);
+        Booking booking = new Booking();
+        booking.setBookingId("b1");
+        repository.save(booking);
+
+        repository.forEachId(bookingId -> sleepQuietly(200));
+
+        Timer scan = registry.get("booking.repository.operations").tag("operation", "forEachId").timer();
+        assertEquals(1, scan.count());
+        assertTrue(scan.totalTime(TimeUnit.MILLISECONDS) < 100);
+    }
+
+    @Test
+    void bookingMetrics_countOutcomesAndTransitions() {
+        BookingMetrics metrics = new BookingMetrics(registry);
+        Booking booking = new Booking();
+        booking.setBookingState(BookingState.REJECTED);
+
+        metrics.recordCreateOutcome(BookingResult.Outcome.UNAVAILABLE_ROOM);
+        metrics.onBookingEvent(BookingEvent.of(BookingEventType.REJECTED, booking));
+
+        assertEquals(1, registry.get("booking.create.outcomes").tag("outcome", "unavailable_room").counter().count());
+        assertEquals(0, registry.get("booking.create.outcomes").tag("outcome", "created").counter().count());
+        assertEquals(1, registry.get("booking.state.transitions").tag("state", "REJECTED").counter().count());
+        assertEquals(0, registry.get("booking.state.transitions").tag("state", "CONFIRMED").counter().count());
+        assertEquals(BookingState.values().length, registry.get("booking.state.transitions").counters().size());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package eci.arcn.project.booking.booking_event.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void clientBeyondBurst_isLimitedUntilTokenRefills() {
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, registry, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user:u1");
+        }
+        RateLimitExceededException limited = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("user:u1"));
+        assertEquals(Duration.ofMillis(100), limited.getRetryAfter());
+        assertDoesNotThrow(() -> limiter.acquire("user:u2"));
+        assertDoesNotThrow(() -> limiter.acquire(null));
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertDoesNotThrow(() -> limiter.acquire("user:u1"));
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("user:u1"));
+        assertEquals(2, registry.get("booking.requests.rejected").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void weightedRequest_takesSeveralTokensAndMayLeaveBucketInDebt() {
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, registry, now::get);
+
+        limiter.acquire("user:u1", 2);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("user:u1", 2));
+        assertDoesNotThrow(() -> limiter.acquire("user:u1"));
+
+        // Beyond the burst, only from a full bucket
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("user:u1", 5));
+        now.addAndGet(Duration.ofMillis(300).toNanos());
+        assertDoesNotThrow(() -> limiter.acquire("user:u1", 5));
+        RateLimitExceededException limited = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("user:u1"));
+        assertEquals(Duration.ofMillis(300), limited.getRetryAfter());
+    }
+
+    @Test
+    void requestBeyondConcurrencyLimit_isShedAfterQueueTime() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, Duration.ofMillis(20), Duration.ofSeconds(1),
+                registry);
+        limiter.acquire();
+        limiter.acquire();
+
+        ServiceOverloadedException shed = assertThrows(ServiceOverloadedException.class, limiter::acquire);
+        assertEquals(Duration.ofSeconds(1), shed.getRetryAfter());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.release();
+        assertDoesNotThrow(limiter::acquire);
+        assertEquals(1, registry.get("booking.requests.rejected").tag("reason", "overloaded").counter().count());
+    }
+}
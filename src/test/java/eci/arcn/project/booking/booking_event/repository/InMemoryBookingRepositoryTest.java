@@ -0,0 +1,252 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+
+class InMemoryBookingRepositoryTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+    private static final Instant DAY_12 = Instant.parse("2030-01-12T00:00:00Z");
+    private static final Instant DAY_14 = Instant.parse("2030-01-14T00:00:00Z");
+
+    private InMemoryBookingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryBookingRepository();
+    }
+
+    @Test
+    void overlappingPeriodOnBookedRoom_isUnavailable() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        assertFalse(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_10.minusSeconds(3600), DAY_10.plusSeconds(3600)));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_12.minusSeconds(1), DAY_14));
+    }
+
+    @Test
+    void adjacentPeriodOrOtherRoom_isAvailable() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        assertTrue(repository.isRoomAvailable("room-1", DAY_12, DAY_14));
+        assertTrue(repository.isRoomAvailable("room-2", DAY_10, DAY_12));
+    }
+
+    @Test
+    void saveAllIfAvailablePartially_skipsConflictsWithinBatchAndStore() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        boolean[] available = repository.saveAllIfAvailable(List.of(
+                newBooking("b2", "room-1", DAY_10, DAY_14),
+                newBooking("b3", "room-2", DAY_10, DAY_12),
+                newBooking("b4", "room-2", DAY_10, DAY_14)), false);
+
+        assertArrayEquals(new boolean[] {false, true, false}, available);
+        assertNull(repository.findById("b2"));
+        assertEquals("room-2", repository.findById("b3").getRoomId());
+        assertFalse(repository.isRoomAvailable("room-2", DAY_10, DAY_12));
+    }
+
+    @Test
+    void saveAllIfAvailableAtomically_savesNothingOnConflict() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        boolean[] available = repository.saveAllIfAvailable(List.of(
+                newBooking("b2", "room-2", DAY_10, DAY_12),
+                newBooking("b3", "room-1", DAY_10, DAY_14)), true);
+
+        assertArrayEquals(new boolean[] {true, false}, available);
+        assertNull(repository.findById("b2"));
+        assertTrue(repository.isRoomAvailable("room-2", DAY_10, DAY_12));
+        assertTrue(repository.findByUserId("user-b2").isEmpty());
+    }
+
+    @Test
+    void cancelledBooking_releasesRoom() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.save(booking);
+
+        booking.setBookingState(BookingState.CANCELLED);
+        repository.save(booking);
+
+        assertTrue(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+    }
+
+    @Test
+    void savingOverlappingBooking_isRejectedWithoutBeingStored() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_14));
+
+        assertThrows(IllegalStateException.class, () -> repository.save(newBooking("b2", "room-1", DAY_12, DAY_14)));
+        assertNull(repository.findById("b2"));
+        assertEquals(1, repository.reservationCount());
+        assertTrue(repository.findByUserId("user-b2").isEmpty());
+    }
+
+    @Test
+    void changingReadBooking_doesNotAffectStoreUntilSaved() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        Booking read = repository.findById("b1");
+        read.setBookingState(BookingState.CANCELLED);
+        read.getClient().setUserId("someone-else");
+
+        assertEquals(BookingState.PENDING, repository.findById("b1").getBookingState());
+        assertEquals(List.of("b1"), bookingIds(repository.findByUserId("user-b1")));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+    }
+
+    @Test
+    void savingOutdatedRead_isRejected() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+        Booking first = repository.findById("b1");
+        Booking second = repository.findById("b1");
+
+        first.setBookingState(BookingState.CONFIRMED);
+        repository.save(first);
+        second.setBookingState(BookingState.CANCELLED);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(second));
+        assertEquals(BookingState.CONFIRMED, repository.findById("b1").getBookingState());
+        assertEquals(first.getVersion(), repository.findById("b1").getVersion());
+    }
+
+    @Test
+    void emptyPeriod_isNotIndexedAndDoesNotHideEarlierReservation() {
+        assertTrue(repository.saveIfAvailable(newBooking("y", "room-1", DAY_10, DAY_14)));
+        assertTrue(repository.saveIfAvailable(newBooking("z", "room-1", DAY_10, DAY_10)));
+
+        assertFalse(repository.saveIfAvailable(newBooking("w", "room-1", DAY_12, DAY_12.plusSeconds(3600))));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_12, DAY_14));
+        assertEquals(List.of(new TimeWindow(DAY_10, DAY_14)), repository.findReservedPeriods("room-1", DAY_10, DAY_14));
+    }
+
+    @Test
+    void resavedBookingWithNewDates_movesItsReservation() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.save(booking);
+
+        booking.setStartDate(DAY_12);
+        booking.setFinishDate(DAY_14);
+        repository.save(booking);
+
+        assertTrue(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_12, DAY_14));
+    }
+
+    @Test
+    void findByUserIdAndEmail_returnOnlyMatchingBookings() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+        repository.save(newBooking("b2", "room-2", DAY_10, DAY_12));
+
+        assertEquals(List.of("b1"), bookingIds(repository.findByUserId("user-b1")));
+        assertEquals(List.of("b2"), bookingIds(repository.findByUserEmail("b2@example.com")));
+        assertTrue(repository.findByUserId("unknown").isEmpty());
+    }
+
+    @Test
+    void resavedBookingWithNewClient_movesBetweenUserIndexes() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.save(booking);
+
+        Client other = new Client();
+        other.setUserId("user-other");
+        other.setUserEmail("other@example.com");
+        booking.setClient(other);
+        repository.save(booking);
+
+        assertTrue(repository.findByUserId("user-b1").isEmpty());
+        assertTrue(repository.findByUserEmail("b1@example.com").isEmpty());
+        assertEquals(List.of("b1"), bookingIds(repository.findByUserId("user-other")));
+        assertEquals(List.of("b1"), bookingIds(repository.findByUserEmail("other@example.com")));
+    }
+
+    @Test
+    void findByUserIdPage_followsBookingIdOrder() {
+        for (String id : List.of("b3", "b1", "b4", "b2")) {
+            Booking booking = newBooking(id, "room-" + id, DAY_10, DAY_12);
+            booking.getClient().setUserId("user-1");
+            repository.save(booking);
+        }
+
+        assertEquals(List.of("b1", "b2"), bookingIds(repository.findByUserId("user-1", null, 2)));
+        assertEquals(List.of("b3", "b4"), bookingIds(repository.findByUserId("user-1", "b2", 2)));
+        assertTrue(repository.findByUserId("user-1", "b4", 2).isEmpty());
+    }
+
+    @Test
+    void findAvailableRoomsAndReservedPeriods_followSavesAndCancellations() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.save(booking);
+        repository.save(newBooking("b2", "room-2", DAY_12, DAY_14));
+
+        assertEquals(List.of("room-2", "room-3"),
+                repository.findAvailableRooms(List.of("room-1", "room-2", "room-3"), DAY_10, DAY_12));
+        assertEquals(List.of(new TimeWindow(DAY_10, DAY_12)),
+                repository.findReservedPeriods("room-1", DAY_10.plusSeconds(3600), DAY_14));
+
+        booking.setBookingState(BookingState.CANCELLED);
+        repository.save(booking);
+        assertTrue(repository.findAvailableRooms(null, DAY_10, DAY_12).contains("room-1"));
+        assertTrue(repository.findReservedPeriods("room-1", DAY_10, DAY_14).isEmpty());
+    }
+
+    @Test
+    void forEachAndForEachId_visitEveryBookingWhateverItsState() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+        Booking cancelled = newBooking("b2", "room-1", DAY_12, DAY_14);
+        cancelled.setBookingState(BookingState.CANCELLED);
+        repository.save(cancelled);
+        Booking stateless = newBooking("b3", "room-2", DAY_10, DAY_12);
+        stateless.setBookingState(null);
+        repository.save(stateless);
+
+        List<Booking> visited = new ArrayList<>();
+        repository.forEach(visited::add);
+
+        assertEquals(List.of("b1", "b2", "b3"), bookingIds(visited));
+        List<String> ids = new ArrayList<>();
+        repository.forEachId(ids::add);
+        assertEquals(List.of("b1", "b2", "b3"), ids.stream().sorted().toList());
+    }
+
+    private static List<String> bookingIds(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getBookingId).sorted().toList();
+    }
+
+    static Booking newBooking(String bookingId, String roomId, Instant start, Instant finish) {
+        Client client = new Client();
+        client.setUserId("user-" + bookingId);
+        client.setName("Jane Doe");
+        client.setUserEmail(bookingId + "@example.com");
+        client.setUserPersonalId(1);
+        client.setCellphone(1);
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setRoomId(roomId);
+        booking.setStartDate(start);
+        booking.setFinishDate(finish);
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+}
@@ -0,0 +1,60 @@
+package eci.arcn.project.booking.booking_event.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RoomOccupancyIndexTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+    private static final Instant DAY_12 = Instant.parse("2030-01-12T00:00:00Z");
+    private static final Instant DAY_14 = Instant.parse("2030-01-14T00:00:00Z");
+    private static final Instant DAY_80 = Instant.parse("2030-03-21T00:00:00Z");
+
+    private RoomOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex();
+    }
+
+    @Test
+    void occupiedDays_excludeRoomFromDayAlignedSearch() {
+        index.occupy("room-1", DAY_10, DAY_12);
+        index.occupy("room-2", DAY_12, DAY_80);
+
+        assertEquals(List.of("room-2"), index.findAvailableRooms(null, DAY_10, DAY_12, room -> fail()));
+        assertEquals(List.of("room-1", "room-3"),
+                index.findAvailableRooms(List.of("room-1", "room-2", "room-3"), DAY_14, DAY_80, room -> fail()));
+    }
+
+    @Test
+    void partiallyCoveredDays_areSettledByExactCheck() {
+        index.occupy("room-1", DAY_10, DAY_10.plusSeconds(3600));
+
+        assertEquals(List.of("room-1"),
+                index.findAvailableRooms(null, DAY_10.plusSeconds(7200), DAY_12, room -> true));
+        assertTrue(index.findAvailableRooms(null, DAY_10.plusSeconds(1800), DAY_12, room -> false).isEmpty());
+    }
+
+    @Test
+    void releasingOneOfTwoBookingsOnSameDay_keepsDayOccupied() {
+        index.occupy("room-1", DAY_10, DAY_10.plusSeconds(3600));
+        index.occupy("room-1", DAY_10.plusSeconds(7200), DAY_12);
+        index.release("room-1", DAY_10, DAY_10.plusSeconds(3600));
+
+        assertTrue(index.findAvailableRooms(null, DAY_10, DAY_12, room -> fail()).isEmpty());
+
+        index.release("room-1", DAY_10.plusSeconds(7200), DAY_12);
+        assertEquals(List.of("room-1"), index.findAvailableRooms(null, DAY_10, DAY_14, room -> fail()));
+    }
+
+    private static boolean fail() {
+        throw new AssertionError("Exact check not expected for a day-aligned search");
+    }
+}
@@ -0,0 +1,174 @@
+package eci.arcn.project.booking.booking_event.repository.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+
+class ColumnarBookingRepositoryTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+    private static final Instant DAY_12 = Instant.parse("2030-01-12T00:00:00Z");
+    private static final Instant DAY_14 = Instant.parse("2030-01-14T00:00:00Z");
+
+    private ColumnarBookingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarBookingRepository();
+    }
+
+    @Test
+    void savedBooking_isMaterializedAsEqualCopy() {
+        Booking booking = newBooking(UUID.randomUUID().toString(), "room-1", DAY_10, DAY_12);
+        booking.setCreatedDate(DAY_10.minusMillis(1));
+        booking.setRefundAmount(25.5);
+        repository.save(booking);
+
+        Booking found = repository.findById(booking.getBookingId());
+        assertEquals(booking, found);
+        assertNotSame(booking, found);
+        assertNull(repository.findById(UUID.randomUUID().toString()));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void cancelledOrMovedBooking_releasesItsPeriod() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        assertTrue(repository.saveIfAvailable(booking));
+        assertFalse(repository.saveIfAvailable(newBooking("b2", "room-1", DAY_10, DAY_14)));
+
+        booking.setStartDate(DAY_12);
+        booking.setFinishDate(DAY_14);
+        assertTrue(repository.saveIfAvailable(booking));
+        assertTrue(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_12, DAY_14));
+
+        booking.setBookingState(BookingState.CANCELLED);
+        repository.save(booking);
+        assertTrue(repository.isRoomAvailable("room-1", DAY_10, DAY_14));
+    }
+
+    @Test
+    void emptyPeriod_isNotIndexedAndDoesNotHideEarlierPeriod() {
+        assertTrue(repository.saveIfAvailable(newBooking("y", "room-1", DAY_10, DAY_14)));
+        assertTrue(repository.saveIfAvailable(newBooking("z", "room-1", DAY_10, DAY_10)));
+        assertTrue(repository.saveIfAvailable(newBooking("v", "room-1", DAY_12, DAY_12.plusNanos(1000))));
+
+        assertFalse(repository.saveIfAvailable(newBooking("w", "room-1", DAY_12, DAY_12.plusSeconds(3600))));
+        assertFalse(repository.isRoomAvailable("room-1", DAY_12, DAY_14));
+        assertEquals(List.of(new TimeWindow(DAY_10, DAY_14)), repository.findReservedPeriods("room-1", DAY_10, DAY_14));
+    }
+
+    @Test
+    void saveAllIfAvailable_checksStoreAndBatch() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        assertArrayEquals(new boolean[] {true, false}, repository.saveAllIfAvailable(List.of(
+                newBooking("b2", "room-2", DAY_10, DAY_12),
+                newBooking("b3", "room-1", DAY_10, DAY_14)), true));
+        assertNull(repository.findById("b2"));
+
+        assertArrayEquals(new boolean[] {true, false}, repository.saveAllIfAvailable(List.of(
+                newBooking("b2", "room-2", DAY_10, DAY_12),
+                newBooking("b3", "room-2", DAY_10, DAY_14)), false));
+        assertEquals("room-2", repository.findById("b2").getRoomId());
+        assertNull(repository.findById("b3"));
+    }
+
+    @Test
+    void resavedBookingWithNewClient_movesBetweenUserChains() {
+        Booking first = newBooking("b1", "room-1", DAY_10, DAY_12);
+        Booking second = newBooking("b2", "room-2", DAY_10, DAY_12);
+        second.setClient(first.getClient());
+        repository.saveAll(List.of(first, second));
+
+        Client other = new Client();
+        other.setUserId("user-other");
+        other.setUserEmail("other@example.com");
+        first.setClient(other);
+        repository.save(first);
+
+        assertEquals(List.of("b2"), bookingIds(repository.findByUserId("user-b1")));
+        assertEquals(List.of("b2"), bookingIds(repository.findByUserEmail("b1@example.com")));
+        assertEquals(List.of("b1"), bookingIds(repository.findByUserId("user-other")));
+        assertTrue(repository.findByUserId("unknown").isEmpty());
+    }
+
+    @Test
+    void findByUserIdPage_followsBookingIdOrderAcrossUuidAndRawIds() {
+        List<String> ids = List.of(new UUID(2, 1).toString(), "b1", new UUID(-1, 0).toString(),
+                new UUID(1, 5).toString(), "00000000-zz");
+        for (String id : ids) {
+            Booking booking = newBooking(id, "room-" + id, DAY_10, DAY_12);
+            booking.getClient().setUserId("user-1");
+            repository.save(booking);
+        }
+        List<String> sorted = ids.stream().sorted().toList();
+
+        assertEquals(sorted.subList(0, 2), repository.findByUserId("user-1", null, 2).stream()
+                .map(Booking::getBookingId).toList());
+        assertEquals(sorted.subList(2, 5), repository.findByUserId("user-1", sorted.get(1), 5).stream()
+                .map(Booking::getBookingId).toList());
+        assertTrue(repository.findByUserId("user-1", sorted.get(4), 2).isEmpty());
+    }
+
+    @Test
+    void forEachAndForEachId_visitEveryRowAcrossScanBatches() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            String id = new UUID(0, i).toString();
+            Booking booking = newBooking(id, "room-" + i % 7, DAY_10, DAY_12);
+            booking.setBookingState(i % 5 == 0 ? null : BookingState.CANCELLED);
+            repository.save(booking);
+            ids.add(id);
+        }
+
+        List<Booking> visited = new ArrayList<>();
+        repository.forEach(visited::add);
+
+        assertEquals(ids.stream().sorted().toList(), bookingIds(visited));
+        assertNull(visited.get(0).getBookingState());
+        List<String> visitedIds = new ArrayList<>();
+        repository.forEachId(visitedIds::add);
+        assertEquals(ids, visitedIds);
+    }
+
+    private static List<String> bookingIds(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getBookingId).sorted().toList();
+    }
+
+    private static Booking newBooking(String bookingId, String roomId, Instant start, Instant finish) {
+        Client client = new Client();
+        client.setUserId("user-" + bookingId);
+        client.setName("Jane Doe");
+        client.setUserEmail(bookingId + "@example.com");
+        client.setUserPersonalId(1);
+        client.setCellphone(1);
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setRoomId(roomId);
+        booking.setStartDate(start);
+        booking.setFinishDate(finish);
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+}
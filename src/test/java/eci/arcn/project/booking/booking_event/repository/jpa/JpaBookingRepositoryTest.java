@@ -0,0 +1,167 @@
+package eci.arcn.project.booking.booking_event.repository.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+
+/**
+ * Runs JpaBookingRepository against the embedded H2 database in PostgreSQL mode.
+ *
+ * The schema comes from the JPA mapping, so the PostgreSQL exclusion constraint is not
+ * exercised here; availability relies on the overlap query only.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@TestPropertySource(properties = "spring.sql.init.mode=never")
+@Import(JpaBookingRepository.class)
+class JpaBookingRepositoryTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+    private static final Instant DAY_12 = Instant.parse("2030-01-12T00:00:00Z");
+    private static final Instant DAY_14 = Instant.parse("2030-01-14T00:00:00Z");
+
+    @Autowired
+    private JpaBookingRepository repository;
+
+    @Test
+    void savedBooking_isFoundByIdUserIdAndEmail() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        Booking found = repository.findById("b1");
+        assertEquals("room-1", found.getRoomId());
+        assertEquals(DAY_10, found.getStartDate());
+        assertEquals("Jane Doe", found.getClient().getName());
+        assertEquals(1, repository.findByUserId("user-b1").size());
+        assertEquals(1, repository.findByUserEmail("b1@example.com").size());
+        assertNull(repository.findById("unknown"));
+    }
+
+    @Test
+    void saveIfAvailable_rejectsOverlappingBooking() {
+        assertTrue(repository.saveIfAvailable(newBooking("b1", "room-1", DAY_10, DAY_12)));
+
+        assertFalse(repository.saveIfAvailable(newBooking("b2", "room-1", DAY_10, DAY_14)));
+        assertTrue(repository.saveIfAvailable(newBooking("b3", "room-1", DAY_12, DAY_14)));
+        assertTrue(repository.saveIfAvailable(newBooking("b4", "room-2", DAY_10, DAY_12)));
+    }
+
+    @Test
+    void saveIfAvailable_rethrowsIntegrityViolationsOtherThanOverlaps() {
+        assertTrue(repository.saveIfAvailable(newBooking("b1", "room-1", DAY_10, DAY_12)));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveIfAvailable(newBooking("b1", "room-2", DAY_10, DAY_12)));
+    }
+
+    @Test
+    void saveAllIfAvailable_checksBatchInOneQuery() {
+        repository.save(newBooking("b1", "room-1", DAY_10, DAY_12));
+
+        boolean[] available = repository.saveAllIfAvailable(List.of(
+                newBooking("b2", "room-1", DAY_10, DAY_14),
+                newBooking("b3", "room-2", DAY_10, DAY_12),
+                newBooking("b4", "room-2", DAY_12, DAY_14)), false);
+
+        assertArrayEquals(new boolean[] {false, true, true}, available);
+        assertNull(repository.findById("b2"));
+        assertEquals("room-2", repository.findById("b4").getRoomId());
+    }
+
+    @Test
+    void cancelledBooking_releasesRoom() {
+        Booking booking = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.saveIfAvailable(booking);
+
+        booking.setBookingState(BookingState.CANCELLED);
+        booking.setRefundAmount(100.0);
+        repository.save(booking);
+
+        assertTrue(repository.isRoomAvailable("room-1", DAY_10, DAY_12));
+        assertEquals(100.0, repository.findById("b1").getRefundAmount());
+    }
+
+    @Test
+    void saveAll_insertsNewAndUpdatesExistingBookings() {
+        Booking existing = newBooking("b1", "room-1", DAY_10, DAY_12);
+        repository.save(existing);
+
+        existing.setBookingState(BookingState.CONFIRMED);
+        repository.saveAll(List.of(existing, newBooking("b2", "room-2", DAY_10, DAY_12)));
+
+        assertEquals(BookingState.CONFIRMED, repository.findById("b1").getBookingState());
+        assertEquals("room-2", repository.findById("b2").getRoomId());
+    }
+
+    @Test
+    void findByUserEmailPage_followsBookingIdOrder() {
+        for (String id : List.of("b3", "b1", "b2")) {
+            Booking booking = newBooking(id, "room-" + id, DAY_10, DAY_12);
+            booking.getClient().setUserEmail("shared@example.com");
+            repository.save(booking);
+        }
+
+        List<Booking> first = repository.findByUserEmail("shared@example.com", null, 2);
+        List<Booking> second = repository.findByUserEmail("shared@example.com", "b2", 2);
+        assertEquals(List.of("b1", "b2"), first.stream().map(Booking::getBookingId).toList());
+        assertEquals(List.of("b3"), second.stream().map(Booking::getBookingId).toList());
+    }
+
+    @Test
+    void forEachAndForEachId_visitEveryBookingAcrossPages() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 1_001; i++) {
+            bookings.add(newBooking("b" + i, "room-" + i, DAY_10, DAY_12));
+        }
+        repository.saveAll(bookings);
+
+        List<String> visited = new ArrayList<>();
+        repository.forEach(booking -> visited.add(booking.getBookingId()));
+
+        List<String> ids = bookings.stream().map(Booking::getBookingId).sorted().toList();
+        assertEquals(ids, visited);
+        List<String> visitedIds = new ArrayList<>();
+        repository.forEachId(visitedIds::add);
+        assertEquals(ids, visitedIds);
+    }
+
+    private static Booking newBooking(String bookingId, String roomId, Instant start, Instant finish) {
+        Client client = new Client();
+        client.setUserId("user-" + bookingId);
+        client.setName("Jane Doe");
+        client.setUserEmail(bookingId + "@example.com");
+        client.setUserPersonalId(1);
+        client.setCellphone(1);
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCreatedDate(Instant.now());
+        booking.setRoomId(roomId);
+        booking.setStartDate(start);
+        booking.setFinishDate(finish);
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+}
@@ -0,0 +1,189 @@
+package eci.arcn.project.booking.booking_event.repository.wal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.repository.BookingJournal;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+
+class WalBookingJournalTest {
+
+    private static final Instant DAY_10 = Instant.parse("2030-01-10T00:00:00Z");
+    private static final Instant DAY_12 = Instant.parse("2030-01-12T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restart_restoresBookingsFromLog() {
+        WalBookingJournal journal = newJournal();
+        InMemoryBookingRepository repository = newRepository(journal);
+        Booking booking = newBooking("b1", "room-1");
+        repository.save(booking);
+        booking.setBookingState(BookingState.CANCELLED);
+        booking.setRefundAmount(20.0);
+        repository.save(booking);
+        repository.save(newBooking("b2", "room-1"));
+        journal.close();
+
+        InMemoryBookingRepository restored = newRepository(newJournal());
+
+        Booking cancelled = restored.findById("b1");
+        assertEquals(BookingState.CANCELLED, cancelled.getBookingState());
+        assertEquals(20.0, cancelled.getRefundAmount());
+        assertEquals("Jane Doe", cancelled.getClient().getName());
+        assertEquals(DAY_10, cancelled.getStartDate());
+        assertEquals(1, restored.findByUserEmail("b2@example.com").size());
+        assertFalse(restored.isRoomAvailable("room-1", DAY_10, DAY_12));
+    }
+
+    @Test
+    void restart_loadsSnapshotThenReplaysLogTail() throws IOException {
+        WalBookingJournal journal = newJournal();
+        InMemoryBookingRepository repository = newRepository(journal);
+        for (int i = 0; i < 100; i++) {
+            repository.save(newBooking("b" + i, "room-" + i));
+        }
+        journal.snapshot(allBookings(repository, 50));
+        journal.snapshot(allBookings(repository, 100));
+        repository.save(newBooking("after-snapshot", "room-x"));
+        journal.close();
+
+        assertEquals(1, countFiles("snapshot-"));
+
+        InMemoryBookingRepository restored = newRepository(newJournal());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("room-" + i, restored.findById("b" + i).getRoomId());
+        }
+        assertEquals("room-x", restored.findById("after-snapshot").getRoomId());
+        assertNull(restored.findById("unknown"));
+    }
+
+    @Test
+    void restart_keepsNewestVersionWhenRecordsWereAppendedOutOfOrder() {
+        WalBookingJournal journal = newJournal();
+        Booking created = newBooking("b1", "room-1");
+        created.setVersion(1);
+        Booking cancelled = newBooking("b1", "room-1");
+        cancelled.setBookingState(BookingState.CANCELLED);
+        cancelled.setVersion(2);
+        journal.append(cancelled);
+        journal.append(created);
+        journal.close();
+
+        InMemoryBookingRepository restored = newRepository(newJournal());
+
+        Booking booking = restored.findById("b1");
+        assertEquals(BookingState.CANCELLED, booking.getBookingState());
+        assertEquals(2, booking.getVersion());
+        assertTrue(restored.isRoomAvailable("room-1", DAY_10, DAY_12));
+    }
+
+    @Test
+    void restart_indexesFinalStateWhenAnotherBookingsCancellationWasAppendedLate() {
+        WalBookingJournal journal = newJournal();
+        Booking created = newBooking("b1", "room-1");
+        created.setVersion(1);
+        Booking cancelled = newBooking("b1", "room-1");
+        cancelled.setBookingState(BookingState.CANCELLED);
+        cancelled.setVersion(2);
+        Booking replacement = newBooking("b2", "room-1");
+        replacement.setVersion(1);
+        journal.append(created);
+        journal.append(replacement);
+        journal.append(cancelled);
+        journal.close();
+
+        InMemoryBookingRepository restored = newRepository(newJournal());
+
+        assertEquals(1, restored.reservationCount());
+        assertEquals(List.of("b2"), restored.findHoldingBookingIds(List.of("room-1"), DAY_10, DAY_12));
+    }
+
+    @Test
+    void restart_rebuildsIndexesThatFollowLaterSaves() {
+        WalBookingJournal journal = newJournal();
+        InMemoryBookingRepository repository = newRepository(journal);
+        for (int i = 0; i < 4; i++) {
+            repository.save(newBooking("b" + i, "room-" + i));
+        }
+        journal.close();
+
+        InMemoryBookingRepository restored = newRepository(newJournal());
+        assertEquals(4, restored.reservationCount());
+
+        Booking booking = restored.findHoldingBookingIds(List.of("room-0"), DAY_10, DAY_12).stream()
+                .map(restored::findById)
+                .findFirst()
+                .orElseThrow();
+        booking.setBookingState(BookingState.CANCELLED);
+        booking.getClient().setUserEmail("moved@example.com");
+        restored.save(booking);
+
+        assertTrue(restored.isRoomAvailable("room-0", DAY_10, DAY_12));
+        assertEquals(1, restored.findByUserEmail("moved@example.com").size());
+        assertTrue(restored.findByUserEmail(booking.getBookingId() + "@example.com").isEmpty());
+    }
+
+    private WalBookingJournal newJournal() {
+        return new WalBookingJournal(directory, 1024 * 1024, 1, 16, true, Duration.ofHours(1));
+    }
+
+    private static InMemoryBookingRepository newRepository(BookingJournal journal) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("bookingJournal", journal);
+        return new InMemoryBookingRepository(beanFactory.getBeanProvider(BookingJournal.class));
+    }
+
+    private static List<Booking> allBookings(InMemoryBookingRepository repository, int count) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bookings.add(repository.findById("b" + i));
+        }
+        return bookings;
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private static Booking newBooking(String bookingId, String roomId) {
+        Client client = new Client();
+        client.setUserId("user-" + bookingId);
+        client.setName("Jane Doe");
+        client.setUserEmail(bookingId + "@example.com");
+        client.setUserPersonalId(1);
+        client.setCellphone(1);
+
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCreatedDate(Instant.now());
+        booking.setRoomId(roomId);
+        booking.setStartDate(DAY_10);
+        booking.setFinishDate(DAY_12);
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+}
@@ -0,0 +1,205 @@
+package eci.arcn.project.booking.booking_event.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import eci.arcn.project.booking.booking_event.id.BloomBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
+import eci.arcn.project.booking.booking_event.repository.InMemoryBookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fires many overlapping create requests at the same rooms and dates.
+ *
+ * Every slot must end up with exactly one winner whatever the number of threads, and
+ * the reservations accepted by the repository must never overlap. The
+ * sweep over thread counts, which logs the throughput of each run so that machines can
+ * be compared, is tagged "stress" and only runs with the stress profile
+ * (mvn test -Pstress).
+ */
+@Slf4j
+class BookingConcurrencyTest {
+
+    private static final int ROOMS = 64;
+    private static final int SLOTS_PER_ROOM = 4;
+    private static final Instant FIRST_DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void overlappingCreates_haveExactlyOneWinnerPerSlot() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        RunResult winners = runCreates(newBookingService(), threads, 2_000);
+
+        assertOneWinnerPerSlot(winners);
+    }
+
+    @Test
+    @Tag("stress")
+    void overlappingCreates_throughputByThreadCount() throws Exception {
+        int requests = 8_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads : IntStream.of(1, 2, cores, cores * 2, cores * 4).distinct().sorted().toArray()) {
+            RunResult winners = runCreates(newBookingService(), threads, requests);
+
+            assertOneWinnerPerSlot(winners);
+            log.info("threads={} cores={} requests={} winners={} throughput={} req/s", threads, cores, requests,
+                    winners.slots.size(), Math.round(requests / (winners.elapsedNanos / 1e9)));
+        }
+    }
+
+    @Test
+    void zeroLengthAndOverlappingReservations_leaveRoomsDisjoint() throws Exception {
+        InMemoryBookingRepository repository = new InMemoryBookingRepository();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Booking> reserved = new ArrayList<>();
+        try {
+            List<Future<Booking>> futures = new ArrayList<>();
+            for (int i = 0; i < 4_000; i++) {
+                Booking booking = newReservation(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (booking.getStartDate().equals(booking.getFinishDate())) {
+                        // Empty periods hold nothing, on the unchecked path too
+                        repository.save(booking);
+                        return null;
+                    }
+                    return repository.saveIfAvailable(booking) ? booking : null;
+                }));
+            }
+            start.countDown();
+            for (Future<Booking> future : futures) {
+                Booking booking = future.get();
+                if (booking != null) {
+                    reserved.add(booking);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Instant end = FIRST_DAY.plus(Duration.ofDays(3));
+        for (int room = 0; room < ROOMS; room++) {
+            String roomId = "room-" + room;
+            List<TimeWindow> expected = reserved.stream()
+                    .filter(booking -> booking.getRoomId().equals(roomId))
+                    .map(booking -> new TimeWindow(booking.getStartDate(), booking.getFinishDate()))
+                    .sorted(Comparator.comparing(TimeWindow::start))
+                    .toList();
+            for (int i = 1; i < expected.size(); i++) {
+                assertFalse(expected.get(i).start().isBefore(expected.get(i - 1).finish()),
+                        "overlapping reservations on " + roomId);
+            }
+            assertEquals(expected, repository.findReservedPeriods(roomId, FIRST_DAY, end));
+        }
+        assertEquals(reserved.size(), repository.reservationCount());
+    }
+
+    private static BookingServiceImpl newBookingService() {
+        return new BookingServiceImpl(new InMemoryBookingRepository(), event -> { },
+                new BookingMetrics(new SimpleMeterRegistry()), new TimeOrderedBookingIdGenerator(),
+                new BloomBookingIdFilter(10_000, 0.01));
+    }
+
+    private static void assertOneWinnerPerSlot(RunResult winners) {
+        assertEquals(ROOMS * SLOTS_PER_ROOM, winners.slots.size(), "every slot must be booked");
+        winners.slots.forEach((slot, count) -> assertEquals(1, count.get(), "winners for slot " + slot));
+    }
+
+    private RunResult runCreates(BookingServiceImpl bookingService, int threads, int requests) throws Exception {
+        RunResult winners = new RunResult();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                int slot = i % (ROOMS * SLOTS_PER_ROOM);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.createBooking(newBooking(slot));
+                        winners.slots.computeIfAbsent(slot, s -> new AtomicInteger()).incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // Lost the race for this slot
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            winners.elapsedNanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        return winners;
+    }
+
+    /**
+     * Builds a booking for the given slot. Slots of the same room are adjacent, so
+     * requests only conflict with requests for the same slot.
+     */
+    private static Booking newBooking(int slot) {
+        Client client = new Client();
+        client.setUserId("user-" + slot);
+        client.setName("Jane Doe");
+        client.setUserEmail("user-" + slot + "@example.com");
+        client.setUserPersonalId(1);
+        client.setCellphone(1);
+
+        Instant start = FIRST_DAY.plus(Duration.ofDays(2L * (slot % SLOTS_PER_ROOM)));
+        Booking booking = new Booking();
+        booking.setRoomId("room-" + slot / SLOTS_PER_ROOM);
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofDays(2)));
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        return booking;
+    }
+
+    /**
+     * Builds the n-th reservation of the mixed run: a third of them are empty, the
+     * others last up to half a day and overlap their neighbours on the same room.
+     */
+    private static Booking newReservation(int n) {
+        Booking booking = newBooking(n);
+        Instant start = FIRST_DAY.plus(Duration.ofHours(n * 7L % 48));
+        booking.setBookingId("r" + n);
+        booking.setRoomId("room-" + n % ROOMS);
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofHours(n % 3 == 0 ? 0 : 1 + n % 12)));
+        booking.setBookingState(BookingState.PENDING);
+        return booking;
+    }
+
+    private static final class RunResult {
+        final ConcurrentHashMap<Integer, AtomicInteger> slots = new ConcurrentHashMap<>();
+        long elapsedNanos;
+    }
+}
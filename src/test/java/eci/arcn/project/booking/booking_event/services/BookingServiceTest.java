@@ -1,18 +1,68 @@
 package eci.arcn.project.booking.booking_event.services;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+
+import eci.arcn.project.booking.booking_event.id.BookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.BookingIdGenerator;
+import eci.arcn.project.booking.booking_event.id.PassThroughBookingIdFilter;
+import eci.arcn.project.booking.booking_event.id.TimeOrderedBookingIdGenerator;
+import eci.arcn.project.booking.booking_event.metrics.BookingMetrics;
+import eci.arcn.project.booking.booking_event.model.Booking;
+import eci.arcn.project.booking.booking_event.model.BookingState;
+import eci.arcn.project.booking.booking_event.model.Client;
+import eci.arcn.project.booking.booking_event.model.TimeWindow;
 import eci.arcn.project.booking.booking_event.repository.BookingRepository;
+import eci.arcn.project.booking.booking_event.service.BookingResult;
+import eci.arcn.project.booking.booking_event.service.BookingServiceImpl;
+import eci.arcn.project.booking.booking_event.service.CancellationResult;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTest{
 
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingMetrics metrics;
+
+    @Spy
+    private BookingIdGenerator idGenerator = new TimeOrderedBookingIdGenerator();
+
+    @Spy
+    private BookingIdFilter idFilter = new PassThroughBookingIdFilter();
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
     @Test
     void createBookingWithoutUserId_throwsException(){
 
@@ -74,20 +124,198 @@ class BookingServiceTest{
 
     }
 
+    @Test
+    void createBookingWithEmptyPeriod_throwsException(){
+        Booking booking = newBooking();
+        booking.setFinishDate(booking.getStartDate());
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(booking));
+        verify(bookingRepository, never()).saveIfAvailable(any());
+    }
+
     @Test //room is booked by another
     void createBookingWhenRoomIsUnavailable_throwsException(){
+        Booking booking = newBooking();
+        when(bookingRepository.saveIfAvailable(any())).thenReturn(false);
 
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(booking));
+        assertEquals(BookingState.UNAVAILABLE_ROOM, booking.getBookingState());
+        verify(bookingRepository, never()).save(any());
+        verify(metrics).recordCreateOutcome(BookingResult.Outcome.UNAVAILABLE_ROOM);
     }
 
 
     @Test
-    void cancelBookingWhenRoomIsUnavailable_updateBookingState(){
+    void createBookingsPartially_reportsEachOutcome(){
+        Booking invalid = newBooking();
+        invalid.setClient(null);
+        when(bookingRepository.saveAllIfAvailable(any(), eq(false))).thenReturn(new boolean[] {true, false});
 
+        List<BookingResult> results = bookingService.createBookings(List.of(newBooking(), invalid, newBooking()), false);
+
+        assertEquals(BookingResult.Outcome.CREATED, results.get(0).outcome());
+        assertEquals(BookingResult.Outcome.INVALID, results.get(1).outcome());
+        assertEquals(BookingResult.Outcome.UNAVAILABLE_ROOM, results.get(2).outcome());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
     }
 
+    @Test
+    void createBookingsAtomicallyWithInvalidBooking_savesNothing(){
+        Booking invalid = newBooking();
+        invalid.setStartDate(null);
 
+        List<BookingResult> results = bookingService.createBookings(List.of(newBooking(), invalid), true);
 
+        assertEquals(BookingResult.Outcome.ABORTED, results.get(0).outcome());
+        assertEquals(BookingResult.Outcome.INVALID, results.get(1).outcome());
+        verify(bookingRepository, never()).saveAllIfAvailable(any(), anyBoolean());
+    }
 
+    @Test
+    void getBookingsPage_returnsCursorOnlyWhenPageIsFull(){
+        Booking first = newBooking();
+        first.setBookingId("b1");
+        when(bookingRepository.findByUserId("user-1", null, 1)).thenReturn(List.of(first));
+        when(bookingRepository.findByUserId("user-1", "b1", 1)).thenReturn(List.of());
+
+        assertEquals("b1", bookingService.getBookingsByUserId("user-1", null, 1).nextCursor());
+        assertNull(bookingService.getBookingsByUserId("user-1", "b1", 1).nextCursor());
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getBookingsByUserId("user-1", null, 0));
+    }
+
+    @Test
+    void streamBookings_loadsPagesLazily(){
+        when(bookingRepository.findByUserEmail(eq("jane@example.com"), any(), anyInt())).thenReturn(List.of());
+
+        Stream<Booking> bookings = bookingService.streamBookingsByUserEmail("jane@example.com");
+
+        assertEquals(0, bookings.count());
+        verify(bookingRepository, times(1)).findByUserEmail(eq("jane@example.com"), any(), anyInt());
+    }
+
+    @Test
+    void findFreeWindows_returnsGapsBetweenReservedPeriods(){
+        Instant from = Instant.parse("2030-01-01T00:00:00Z");
+        Instant to = from.plus(Duration.ofDays(10));
+        when(bookingRepository.findReservedPeriods("room-1", from, to)).thenReturn(List.of(
+                new TimeWindow(from.minus(Duration.ofDays(1)), from.plus(Duration.ofDays(2))),
+                new TimeWindow(from.plus(Duration.ofDays(4)), from.plus(Duration.ofDays(5)))));
+
+        List<TimeWindow> windows = bookingService.findFreeWindows("room-1", from, to);
+
+        assertEquals(List.of(
+                new TimeWindow(from.plus(Duration.ofDays(2)), from.plus(Duration.ofDays(4))),
+                new TimeWindow(from.plus(Duration.ofDays(5)), to)), windows);
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findFreeWindows("room-1", from, from.plus(Duration.ofDays(400))));
+    }
 
-    
-}
\ No newline at end of file
+    @Test
+    void findAvailableRoomsWithBlankRoomId_throwsException(){
+        Instant from = Instant.parse("2030-01-01T00:00:00Z");
+        Instant to = from.plus(Duration.ofDays(2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findAvailableRooms(from, to, List.of("room-1", " ")));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findAvailableRooms(from, to, Arrays.asList("room-1", null)));
+        verify(bookingRepository, never()).findAvailableRooms(any(), any(), any());
+    }
+
+    @Test
+    void expireBooking_onlyExpiresPendingBookings(){
+        Booking pending = newBooking();
+        pending.setBookingId("b1");
+        pending.setBookingState(BookingState.PENDING);
+        Booking confirmed = newBooking();
+        confirmed.setBookingId("b2");
+        confirmed.setBookingState(BookingState.CONFIRMED);
+        when(bookingRepository.findById("b1")).thenReturn(pending);
+        when(bookingRepository.findById("b2")).thenReturn(confirmed);
+
+        assertEquals(true, bookingService.expireBooking("b1"));
+        assertEquals(false, bookingService.expireBooking("b2"));
+
+        assertEquals(BookingState.EXPIRED, pending.getBookingState());
+        verify(bookingRepository, times(1)).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void confirmExpiredBooking_throwsException(){
+        Booking booking = newBooking();
+        booking.setBookingId("b1");
+        booking.setBookingState(BookingState.EXPIRED);
+        when(bookingRepository.findById("b1")).thenReturn(booking);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmBooking("b1"));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelCancelledBooking_throwsException(){
+        Booking booking = newBooking();
+        booking.setBookingId("b1");
+        booking.setBookingState(BookingState.CANCELLED);
+        when(bookingRepository.findById("b1")).thenReturn(booking);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.cancelBooking("b1"));
+        assertThrows(IllegalStateException.class, () -> bookingService.rejectBooking("b1"));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelBookings_savesCancelledOnesInOneBatchAndReportsTheOthers(){
+        Booking pending = newBooking();
+        pending.setBookingId("b1");
+        pending.setBookingState(BookingState.PENDING);
+        Booking cancelled = newBooking();
+        cancelled.setBookingId("b2");
+        cancelled.setBookingState(BookingState.CANCELLED);
+        when(bookingRepository.findById("b1")).thenReturn(pending);
+        when(bookingRepository.findById("b2")).thenReturn(cancelled);
+
+        List<CancellationResult> results = bookingService.cancelBookings(List.of("b1", "b2", "b3", "b1"));
+
+        assertEquals(3, results.size());
+        assertEquals(new CancellationResult("b1", true, 100.0, null), results.get(0));
+        assertEquals(false, results.get(1).cancelled());
+        assertEquals("Booking not found", results.get(2).message());
+        assertEquals(BookingState.CANCELLED, pending.getBookingState());
+        verify(bookingRepository).saveAll(List.of(pending));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void getBookingUnknownToIdFilter_skipsRepository(){
+        when(idFilter.mightContain("missing")).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.getBookingById("missing"));
+        assertThrows(IllegalStateException.class, () -> bookingService.cancelBooking("missing"));
+        verify(bookingRepository, never()).findById(any());
+        verify(metrics, times(2)).recordIdLookup(BookingMetrics.IdLookup.REJECTED);
+    }
+
+    @Test
+    void cancelBookingWhenRoomIsUnavailable_updateBookingState(){
+
+    }
+
+    private static Booking newBooking() {
+        Client client = new Client();
+        client.setUserId("user-1");
+        client.setName("Jane Doe");
+        client.setUserEmail("jane@example.com");
+        client.setUserPersonalId(123);
+        client.setCellphone(456);
+
+        Instant start = Instant.now().plus(Duration.ofDays(10));
+        Booking booking = new Booking();
+        booking.setRoomId("room-1");
+        booking.setStartDate(start);
+        booking.setFinishDate(start.plus(Duration.ofDays(2)));
+        booking.setAmount(100.0);
+        booking.setClient(client);
+        return booking;
+    }
+}